@@ -0,0 +1,18 @@
+package org.ezra.customerservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    @Value("${app.kafka.topic.customer-limit-changed}")
+    private String customerLimitChangedTopic;
+
+    @Bean
+    public NewTopic customerLimitChangedTopic() {
+        return new NewTopic(customerLimitChangedTopic, 3, (short) 1);
+    }
+}
@@ -1,15 +1,23 @@
 package org.ezra.customerservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.ezra.customerservice.dto.CustomerPreCheckRequestDto;
+import org.ezra.customerservice.dto.CustomerPreCheckResponseDto;
 import org.ezra.customerservice.dto.CustomerRequestDto;
 import org.ezra.customerservice.dto.CustomerResponseDto;
+import org.ezra.customerservice.dto.CursorPageResponseDto;
 import org.ezra.customerservice.dto.UpdateLoanLimitRequestDto;
 import org.ezra.customerservice.service.CustomerService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -19,6 +27,7 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<CustomerResponseDto> createCustomer(
@@ -45,6 +54,29 @@ public class CustomerController {
         return ResponseEntity.ok(customers);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageResponseDto<CustomerResponseDto>> getCustomersPage(
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        return ResponseEntity.ok(customerService.getCustomersPage(afterId, size));
+    }
+
+    /**
+     * Exports all customers as newline-delimited JSON, written as they are read from the database.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCustomers() {
+        StreamingResponseBody body = outputStream -> customerService.streamAllCustomers(customer -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(customer));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PutMapping("/{customerId}/loan-limit")
     public ResponseEntity<CustomerResponseDto> updateCustomerLoanLimit(
             @PathVariable Long customerId,
@@ -64,4 +96,25 @@ public class CustomerController {
         boolean isEligible = customerService.checkLoanEligibility(customerId, requestedAmount);
         return ResponseEntity.ok(isEligible);
     }
-}
\ No newline at end of file
+
+    /**
+     * Slim profile, current limit and eligibility for the requested amount in a single read,
+     * used by lending-service before originating a loan.
+     */
+    @GetMapping("/{customerId}/pre-check")
+    public ResponseEntity<CustomerPreCheckResponseDto> preCheck(
+            @PathVariable Long customerId,
+            @RequestParam(value = "amount", required = false) BigDecimal requestedAmount) {
+        return ResponseEntity.ok(customerService.preCheck(customerId, requestedAmount));
+    }
+
+    /**
+     * Batch variant of {@link #preCheck}. Unknown customers are reported with found=false
+     * instead of failing the whole batch.
+     */
+    @PostMapping("/pre-check")
+    public ResponseEntity<List<CustomerPreCheckResponseDto>> preCheckBatch(
+            @RequestBody List<@Valid CustomerPreCheckRequestDto> requests) {
+        return ResponseEntity.ok(customerService.preCheckBatch(requests));
+    }
+}
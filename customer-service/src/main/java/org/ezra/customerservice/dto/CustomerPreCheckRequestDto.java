@@ -0,0 +1,20 @@
+package org.ezra.customerservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerPreCheckRequestDto {
+    @NotNull(message = "Customer ID cannot be null")
+    private Long customerId;
+
+    private BigDecimal amount;
+}
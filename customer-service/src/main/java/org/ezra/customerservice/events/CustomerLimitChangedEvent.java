@@ -0,0 +1,20 @@
+package org.ezra.customerservice.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerLimitChangedEvent {
+    private Long customerId;
+    private BigDecimal previousLimit;
+    private BigDecimal newLimit;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,42 @@
+package org.ezra.customerservice.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes loan limit changes to Kafka once the limit update has committed, so consumers
+ * that drop their cached copy never reload the pre-update limit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerLimitChangedEventProducer {
+    @Value("${app.kafka.topic.customer-limit-changed}")
+    private String customerLimitChangedTopic;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCustomerLimitChanged(CustomerLimitChangedEvent event) {
+        try {
+            kafkaTemplate.send(customerLimitChangedTopic, event.getCustomerId().toString(), objectMapper.writeValueAsString(event))
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            log.info("Published limit change for customer {} with offset=[{}]",
+                                    event.getCustomerId(), result.getRecordMetadata().offset());
+                        } else {
+                            log.error("Unable to publish limit change for customer {}: {}", event.getCustomerId(), ex.getMessage(), ex);
+                        }
+                    });
+        } catch (JsonProcessingException e) {
+            log.error("Unable to serialize limit change for customer {}", event.getCustomerId(), e);
+        }
+    }
+}
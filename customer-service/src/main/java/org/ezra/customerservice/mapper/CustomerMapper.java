@@ -1,12 +1,15 @@
 package org.ezra.customerservice.mapper;
 
+import org.ezra.customerservice.dto.CustomerPreCheckResponseDto;
 import org.ezra.customerservice.dto.CustomerRequestDto;
 import org.ezra.customerservice.dto.CustomerResponseDto;
 import org.ezra.customerservice.dto.LoanLimitChangeDto;
 import org.ezra.customerservice.entity.Customer;
 import org.ezra.customerservice.entity.LoanLimitChange;
+import org.ezra.customerservice.repository.CustomerSummaryView;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.stream.Collectors;
@@ -42,6 +45,20 @@ public class CustomerMapper {
     }
 
 
+    public CustomerPreCheckResponseDto toPreCheckResponseDto(CustomerSummaryView customer, BigDecimal requestedAmount, boolean eligible) {
+        return CustomerPreCheckResponseDto.builder()
+                .customerId(customer.getId())
+                .found(true)
+                .firstName(customer.getFirstName())
+                .lastName(customer.getLastName())
+                .email(customer.getEmail())
+                .currentLoanLimit(customer.getCurrentLoanLimit())
+                .requestedAmount(requestedAmount)
+                .eligible(eligible)
+                .build();
+    }
+
+
     public LoanLimitChangeDto toLoanLimitChangeDto(LoanLimitChange loanLimitChange) {
         if (loanLimitChange == null) {
             return null;
@@ -1,17 +1,35 @@
 package org.ezra.customerservice.repository;
 
 
+import jakarta.persistence.QueryHint;
 import org.ezra.customerservice.entity.Customer;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    int STREAM_FETCH_SIZE = 100;
+
     Optional<Customer> findByEmail(String email);
 
 
     boolean existsByEmail(String email);
 
     boolean existsByPhoneNumber(String phoneNumber);
+
+    Optional<CustomerSummaryView> findSummaryById(Long id);
+
+    List<CustomerSummaryView> findSummaryByIdIn(Collection<Long> ids);
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + CustomerRepository.STREAM_FETCH_SIZE))
+    Stream<Customer> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
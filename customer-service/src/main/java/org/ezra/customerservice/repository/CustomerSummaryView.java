@@ -0,0 +1,19 @@
+package org.ezra.customerservice.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Slim customer projection that skips the financial summary and the loan limit history.
+ */
+public interface CustomerSummaryView {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    BigDecimal getCurrentLoanLimit();
+}
@@ -1,11 +1,15 @@
 package org.ezra.customerservice.service;
 
+import org.ezra.customerservice.dto.CustomerPreCheckRequestDto;
+import org.ezra.customerservice.dto.CustomerPreCheckResponseDto;
 import org.ezra.customerservice.dto.CustomerRequestDto;
 import org.ezra.customerservice.dto.CustomerResponseDto;
+import org.ezra.customerservice.dto.CursorPageResponseDto;
 import org.ezra.customerservice.dto.UpdateLoanLimitRequestDto;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CustomerService {
 
@@ -17,7 +21,15 @@ public interface CustomerService {
 
     List<CustomerResponseDto> getAllCustomers();
 
+    CursorPageResponseDto<CustomerResponseDto> getCustomersPage(Long afterId, int size);
+
+    void streamAllCustomers(Consumer<CustomerResponseDto> consumer);
+
     CustomerResponseDto updateCustomerLoanLimit(Long customerId, UpdateLoanLimitRequestDto updateRequest);
 
     boolean checkLoanEligibility(Long customerId, BigDecimal requestedAmount);
+
+    CustomerPreCheckResponseDto preCheck(Long customerId, BigDecimal requestedAmount);
+
+    List<CustomerPreCheckResponseDto> preCheckBatch(List<CustomerPreCheckRequestDto> requests);
 }
@@ -1,31 +1,52 @@
 package org.ezra.customerservice.service.impl;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
-import org.apache.kafka.common.errors.ResourceNotFoundException;
+import org.ezra.customerservice.dto.CustomerPreCheckRequestDto;
+import org.ezra.customerservice.dto.CustomerPreCheckResponseDto;
 import org.ezra.customerservice.dto.CustomerRequestDto;
 import org.ezra.customerservice.dto.CustomerResponseDto;
+import org.ezra.customerservice.dto.CursorPageResponseDto;
 import org.ezra.customerservice.dto.UpdateLoanLimitRequestDto;
 import org.ezra.customerservice.entity.Customer;
 import org.ezra.customerservice.entity.LoanLimitChange;
+import org.ezra.customerservice.events.CustomerLimitChangedEvent;
+import org.ezra.customerservice.exception.ResourceNotFoundException;
 import org.ezra.customerservice.exception.ValidationException;
 import org.ezra.customerservice.mapper.CustomerMapper;
 import org.ezra.customerservice.repository.CustomerRepository;
+import org.ezra.customerservice.repository.CustomerSummaryView;
 import org.ezra.customerservice.repository.LoanLimitHistoryRepository;
 import org.ezra.customerservice.service.CustomerService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
+    private static final int PRE_CHECK_QUERY_CHUNK = 500;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final CustomerRepository customerRepository;
     private final LoanLimitHistoryRepository loanLimitHistoryRepository;
     private final CustomerMapper customerMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     @Transactional
@@ -78,11 +99,60 @@ public class CustomerServiceImpl implements CustomerService {
     @Transactional(readOnly = true)
     public List<CustomerResponseDto> getAllCustomers() {
         return customerRepository.findAll().stream()
-                .peek(customer -> customer.getLoanLimitHistory().size())
                 .map(customerMapper::toCustomerResponseDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page ordered by id. Loan limit histories of the page are loaded in batches
+     * (default_batch_fetch_size) rather than one query per customer.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<CustomerResponseDto> getCustomersPage(Long afterId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        List<Customer> customers = customerRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, Limit.of(size + 1));
+        boolean hasMore = customers.size() > size;
+        List<CustomerResponseDto> items = customers.stream()
+                .limit(size)
+                .map(customerMapper::toCustomerResponseDto)
+                .collect(Collectors.toList());
+        return CursorPageResponseDto.<CustomerResponseDto>builder()
+                .items(items)
+                .nextCursor(hasMore ? items.getLast().getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Streams every customer in id order from a scrolling query. Rows are mapped in chunks of the
+     * fetch size so each chunk's histories load in one batch, then the persistence context is
+     * cleared, keeping memory use constant regardless of the number of customers.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCustomers(Consumer<CustomerResponseDto> consumer) {
+        try (Stream<Customer> customers = customerRepository.streamAllByOrderByIdAsc()) {
+            List<Customer> chunk = new ArrayList<>(CustomerRepository.STREAM_FETCH_SIZE);
+            customers.forEach(customer -> {
+                chunk.add(customer);
+                if (chunk.size() == CustomerRepository.STREAM_FETCH_SIZE) {
+                    flushChunk(chunk, consumer);
+                }
+            });
+            flushChunk(chunk, consumer);
+        }
+    }
+
+    private void flushChunk(List<Customer> chunk, Consumer<CustomerResponseDto> consumer) {
+        chunk.forEach(customer -> consumer.accept(customerMapper.toCustomerResponseDto(customer)));
+        chunk.clear();
+        entityManager.clear();
+    }
+
     @Override
     @Transactional
     public CustomerResponseDto updateCustomerLoanLimit(Long customerId, UpdateLoanLimitRequestDto updateRequest) {
@@ -110,6 +180,12 @@ public class CustomerServiceImpl implements CustomerService {
 
         customer.getLoanLimitHistory().add(limitChangeRecord);
         Customer updatedCustomer = customerRepository.save(customer);
+        eventPublisher.publishEvent(CustomerLimitChangedEvent.builder()
+                .customerId(customerId)
+                .previousLimit(previousLimit)
+                .newLimit(newLimit)
+                .changedAt(limitChangeRecord.getChangeTimestamp())
+                .build());
         return customerMapper.toCustomerResponseDto(updatedCustomer);
     }
 
@@ -118,9 +194,50 @@ public class CustomerServiceImpl implements CustomerService {
     public boolean checkLoanEligibility(Long customerId, BigDecimal requestedAmount) {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + customerId + " for eligibility check."));
+        return isWithinLimit(customer.getCurrentLoanLimit(), requestedAmount);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerPreCheckResponseDto preCheck(Long customerId, BigDecimal requestedAmount) {
+        CustomerSummaryView customer = customerRepository.findSummaryById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + customerId));
+        return customerMapper.toPreCheckResponseDto(customer, requestedAmount,
+                isWithinLimit(customer.getCurrentLoanLimit(), requestedAmount));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerPreCheckResponseDto> preCheckBatch(List<CustomerPreCheckRequestDto> requests) {
+        List<Long> customerIds = requests.stream()
+                .map(CustomerPreCheckRequestDto::getCustomerId)
+                .distinct()
+                .toList();
+        Map<Long, CustomerSummaryView> customers = new HashMap<>(customerIds.size());
+        for (int from = 0; from < customerIds.size(); from += PRE_CHECK_QUERY_CHUNK) {
+            List<Long> chunk = customerIds.subList(from, Math.min(customerIds.size(), from + PRE_CHECK_QUERY_CHUNK));
+            customerRepository.findSummaryByIdIn(chunk).forEach(customer -> customers.put(customer.getId(), customer));
+        }
+        List<CustomerPreCheckResponseDto> results = new ArrayList<>(requests.size());
+        for (CustomerPreCheckRequestDto request : requests) {
+            CustomerSummaryView customer = customers.get(request.getCustomerId());
+            if (customer == null) {
+                results.add(CustomerPreCheckResponseDto.builder()
+                        .customerId(request.getCustomerId())
+                        .requestedAmount(request.getAmount())
+                        .build());
+            } else {
+                results.add(customerMapper.toPreCheckResponseDto(customer, request.getAmount(),
+                        isWithinLimit(customer.getCurrentLoanLimit(), request.getAmount())));
+            }
+        }
+        return results;
+    }
+
+    private static boolean isWithinLimit(BigDecimal loanLimit, BigDecimal requestedAmount) {
         if (requestedAmount == null || requestedAmount.compareTo(BigDecimal.ZERO) <= 0) {
             return false;
         }
-        return customer.getCurrentLoanLimit().compareTo(requestedAmount) >= 0;
+        return loanLimit.compareTo(requestedAmount) >= 0;
     }
 }
@@ -1,8 +1,11 @@
 package org.ezra.customerservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ezra.customerservice.dto.CustomerPreCheckRequestDto;
+import org.ezra.customerservice.dto.CustomerPreCheckResponseDto;
 import org.ezra.customerservice.dto.CustomerRequestDto;
 import org.ezra.customerservice.dto.CustomerResponseDto;
+import org.ezra.customerservice.dto.CursorPageResponseDto;
 import org.ezra.customerservice.dto.UpdateLoanLimitRequestDto;
 import org.ezra.customerservice.service.CustomerService;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,15 +15,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 @WebMvcTest(CustomerController.class)
@@ -136,4 +145,77 @@ class CustomerControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("false"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void preCheck_returnsProfileLimitAndEligibility() throws Exception {
+        given(customerService.preCheck(1L, BigDecimal.valueOf(1500))).willReturn(CustomerPreCheckResponseDto.builder()
+                .customerId(1L)
+                .found(true)
+                .email("jane.controller@example.com")
+                .currentLoanLimit(BigDecimal.valueOf(2000))
+                .requestedAmount(BigDecimal.valueOf(1500))
+                .eligible(true)
+                .build());
+
+        mockMvc.perform(get("/api/v1/customers/{customerId}/pre-check", 1L)
+                        .param("amount", "1500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eligible", is(true)))
+                .andExpect(jsonPath("$.currentLoanLimit", is(2000)));
+    }
+
+    @Test
+    void preCheckBatch_returnsOneResultPerRequest() throws Exception {
+        List<CustomerPreCheckRequestDto> requests = List.of(
+                new CustomerPreCheckRequestDto(1L, BigDecimal.valueOf(100)),
+                new CustomerPreCheckRequestDto(99L, BigDecimal.valueOf(100)));
+        given(customerService.preCheckBatch(anyList())).willReturn(List.of(
+                CustomerPreCheckResponseDto.builder().customerId(1L).found(true).eligible(true).build(),
+                CustomerPreCheckResponseDto.builder().customerId(99L).found(false).build()));
+
+        mockMvc.perform(post("/api/v1/customers/pre-check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].eligible", is(true)))
+                .andExpect(jsonPath("$[1].found", is(false)));
+    }
+
+    @Test
+    void getCustomersPage_returnsItemsAndNextCursor() throws Exception {
+        given(customerService.getCustomersPage(10L, 1)).willReturn(CursorPageResponseDto.<CustomerResponseDto>builder()
+                .items(List.of(customerResponseDto))
+                .nextCursor(1L)
+                .hasMore(true)
+                .build());
+
+        mockMvc.perform(get("/api/v1/customers/page").param("afterId", "10").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].email", is("jane.controller@example.com")))
+                .andExpect(jsonPath("$.nextCursor", is(1)))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    @Test
+    void streamAllCustomers_writesOneJsonObjectPerLine() throws Exception {
+        willAnswer(inv -> {
+            Consumer<CustomerResponseDto> consumer = inv.getArgument(0);
+            consumer.accept(customerResponseDto);
+            consumer.accept(CustomerResponseDto.builder().id(2L).email("second@example.com").build());
+            return null;
+        }).given(customerService).streamAllCustomers(any());
+
+        MvcResult started = mockMvc.perform(get("/api/v1/customers/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], CustomerResponseDto.class).getId());
+        assertEquals("second@example.com", objectMapper.readValue(lines[1], CustomerResponseDto.class).getEmail());
+    }
+}
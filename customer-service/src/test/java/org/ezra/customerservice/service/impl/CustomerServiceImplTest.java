@@ -2,16 +2,22 @@ package org.ezra.customerservice.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import org.ezra.customerservice.dto.CustomerPreCheckRequestDto;
+import org.ezra.customerservice.dto.CustomerPreCheckResponseDto;
 import org.ezra.customerservice.dto.CustomerRequestDto;
 import org.ezra.customerservice.dto.CustomerResponseDto;
+import org.ezra.customerservice.dto.CursorPageResponseDto;
 import org.ezra.customerservice.dto.UpdateLoanLimitRequestDto;
 import org.ezra.customerservice.entity.Customer;
 import org.ezra.customerservice.entity.LoanLimitChange;
+import org.ezra.customerservice.events.CustomerLimitChangedEvent;
 import org.ezra.customerservice.exception.ResourceNotFoundException;
 import org.ezra.customerservice.exception.ValidationException;
 import org.ezra.customerservice.mapper.CustomerMapper;
 import org.ezra.customerservice.repository.CustomerRepository;
+import org.ezra.customerservice.repository.CustomerSummaryView;
 import org.ezra.customerservice.repository.LoanLimitHistoryRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,14 +26,22 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +57,9 @@ class CustomerServiceImplTest {
     @Mock
     private CustomerMapper customerMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
@@ -52,6 +69,9 @@ class CustomerServiceImplTest {
     @Captor
     private ArgumentCaptor<LoanLimitChange> loanLimitChangeCaptor;
 
+    @Captor
+    private ArgumentCaptor<CustomerLimitChangedEvent> limitChangedEventCaptor;
+
     private CustomerRequestDto customerRequestDto;
     private Customer customerEntity;
     private CustomerResponseDto customerResponseDto;
@@ -192,6 +212,12 @@ class CustomerServiceImplTest {
         assertEquals(customerEntity.getCurrentLoanLimit(), historyEntry.getPreviousLimit());
         assertEquals(BigDecimal.valueOf(1500), historyEntry.getNewLimit());
         assertEquals("Good repayment", historyEntry.getReason());
+
+        verify(eventPublisher).publishEvent(limitChangedEventCaptor.capture());
+        CustomerLimitChangedEvent event = limitChangedEventCaptor.getValue();
+        assertEquals(1L, event.getCustomerId());
+        assertEquals(customerEntity.getCurrentLoanLimit(), event.getPreviousLimit());
+        assertEquals(BigDecimal.valueOf(1500), event.getNewLimit());
     }
 
     @Test
@@ -212,6 +238,7 @@ class CustomerServiceImplTest {
 
         verify(customerRepository, never()).save(any(Customer.class));
         verify(loanLimitHistoryRepository, never()).save(any(LoanLimitChange.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
 
@@ -244,4 +271,116 @@ class CustomerServiceImplTest {
         assertFalse(customerService.checkLoanEligibility(1L, BigDecimal.valueOf(-100)));
         assertFalse(customerService.checkLoanEligibility(1L, null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void preCheck_returnsSlimProfileAndEligibilityFromSingleRead() {
+        when(customerRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(1L, 1000)));
+        stubPreCheckMapping();
+
+        CustomerPreCheckResponseDto result = customerService.preCheck(1L, BigDecimal.valueOf(800));
+
+        assertTrue(result.isFound());
+        assertTrue(result.isEligible());
+        assertEquals(BigDecimal.valueOf(1000), result.getCurrentLoanLimit());
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    void preCheck_customerNotFound_throwsResourceNotFound() {
+        when(customerRepository.findSummaryById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> customerService.preCheck(1L, BigDecimal.TEN));
+    }
+
+    @Test
+    void preCheckBatch_loadsCustomersOnceAndReportsUnknownIds() {
+        when(customerRepository.findSummaryByIdIn(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(summary(1L, 1000), summary(2L, 200)));
+        stubPreCheckMapping();
+
+        List<CustomerPreCheckResponseDto> results = customerService.preCheckBatch(List.of(
+                new CustomerPreCheckRequestDto(1L, BigDecimal.valueOf(500)),
+                new CustomerPreCheckRequestDto(2L, BigDecimal.valueOf(500)),
+                new CustomerPreCheckRequestDto(3L, BigDecimal.valueOf(500)),
+                new CustomerPreCheckRequestDto(1L, BigDecimal.valueOf(1500))));
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isEligible());
+        assertFalse(results.get(1).isEligible());
+        assertFalse(results.get(2).isFound());
+        assertEquals(3L, results.get(2).getCustomerId());
+        assertFalse(results.get(3).isEligible());
+        verify(customerRepository, times(1)).findSummaryByIdIn(any());
+    }
+
+    @Test
+    void getCustomersPage_returnsCursorOfLastItemWhenMoreRowsExist() {
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3)))
+                .thenReturn(List.of(customer(11L), customer(12L), customer(13L)));
+        when(customerMapper.toCustomerResponseDto(any(Customer.class)))
+                .thenAnswer(inv -> CustomerResponseDto.builder().id(inv.<Customer>getArgument(0).getId()).build());
+
+        CursorPageResponseDto<CustomerResponseDto> page = customerService.getCustomersPage(10L, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(12L, page.getNextCursor());
+    }
+
+    @Test
+    void getCustomersPage_lastPageHasNoCursor() {
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51))).thenReturn(List.of(customerEntity));
+        when(customerMapper.toCustomerResponseDto(customerEntity)).thenReturn(customerResponseDto);
+
+        CursorPageResponseDto<CustomerResponseDto> page = customerService.getCustomersPage(null, 50);
+
+        assertEquals(List.of(customerResponseDto), page.getItems());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getCustomersPage_invalidSize_throwsValidationException() {
+        assertThrows(ValidationException.class, () -> customerService.getCustomersPage(null, 0));
+        assertThrows(ValidationException.class, () -> customerService.getCustomersPage(null, 501));
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void streamAllCustomers_emitsEveryCustomerAndClearsContextPerChunk() {
+        EntityManager entityManager = mock(EntityManager.class);
+        ReflectionTestUtils.setField(customerService, "entityManager", entityManager);
+        int total = CustomerRepository.STREAM_FETCH_SIZE * 2 + 5;
+        when(customerRepository.streamAllByOrderByIdAsc())
+                .thenReturn(LongStream.rangeClosed(1, total).mapToObj(this::customer));
+        when(customerMapper.toCustomerResponseDto(any(Customer.class)))
+                .thenAnswer(inv -> CustomerResponseDto.builder().id(inv.<Customer>getArgument(0).getId()).build());
+        List<Long> emitted = new ArrayList<>();
+
+        customerService.streamAllCustomers(customer -> emitted.add(customer.getId()));
+
+        assertEquals(total, emitted.size());
+        assertEquals(1L, emitted.getFirst());
+        assertEquals((long) total, emitted.getLast());
+        verify(entityManager, times(3)).clear();
+    }
+
+    private Customer customer(Long id) {
+        return Customer.builder().id(id).email("customer" + id + "@example.com").build();
+    }
+
+    private void stubPreCheckMapping() {
+        CustomerMapper realMapper = new CustomerMapper();
+        when(customerMapper.toPreCheckResponseDto(any(CustomerSummaryView.class), any(), anyBoolean()))
+                .thenAnswer(inv -> realMapper.toPreCheckResponseDto(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2)));
+    }
+
+    private CustomerSummaryView summary(Long id, long limit) {
+        return new SpelAwareProxyProjectionFactory().createProjection(CustomerSummaryView.class, Map.of(
+                "id", id,
+                "firstName", "Test",
+                "lastName", "User",
+                "email", "customer" + id + "@example.com",
+                "currentLoanLimit", BigDecimal.valueOf(limit)));
+    }
+}
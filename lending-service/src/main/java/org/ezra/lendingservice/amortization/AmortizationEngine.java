@@ -0,0 +1,54 @@
+package org.ezra.lendingservice.amortization;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.AmortizationMethod;
+import org.ezra.lendingservice.exception.LoanProcessingException;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the strategy for each {@link AmortizationMethod} once at startup and applies the one a
+ * product selects to new installment loans. A product without a method is scheduled flat.
+ */
+@Component
+@Slf4j
+public class AmortizationEngine {
+
+    private final Map<AmortizationMethod, AmortizationStrategy> strategies = new EnumMap<>(AmortizationMethod.class);
+
+    public AmortizationEngine(List<AmortizationStrategy> amortizationStrategies) {
+        for (AmortizationStrategy strategy : amortizationStrategies) {
+            AmortizationStrategy previous = strategies.putIfAbsent(strategy.method(), strategy);
+            if (previous != null) {
+                throw new IllegalStateException("Amortization method " + strategy.method() + " is provided by both "
+                        + previous.getClass().getSimpleName() + " and " + strategy.getClass().getSimpleName());
+            }
+        }
+        for (AmortizationMethod method : AmortizationMethod.values()) {
+            if (!strategies.containsKey(method)) {
+                log.warn("No amortization strategy registered for method {}", method);
+            }
+        }
+    }
+
+    /**
+     * Replaces the loan's installments with the method's schedule and sets its first billing and
+     * final due dates.
+     */
+    public void applySchedule(Loan loan, AmortizationMethod method) {
+        AmortizationMethod resolved = method != null ? method : AmortizationMethod.FLAT;
+        AmortizationStrategy strategy = strategies.get(resolved);
+        if (strategy == null) {
+            throw new LoanProcessingException("Amortization method " + resolved + " is not supported.");
+        }
+        List<Installment> installments = strategy.schedule(loan);
+        loan.setInstallments(installments);
+        loan.setFinalDueDate(installments.getLast().getDueDate());
+        loan.setNextBillingDate(installments.getFirst().getDueDate());
+    }
+}
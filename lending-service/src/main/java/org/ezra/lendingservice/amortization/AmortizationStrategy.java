@@ -0,0 +1,19 @@
+package org.ezra.lendingservice.amortization;
+
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.AmortizationMethod;
+
+import java.util.List;
+
+/**
+ * Generates the installment schedule of one {@link AmortizationMethod}. Implementations read the
+ * loan's principal, rate, tenure, origination date and applied origination fees, and must not
+ * modify the loan.
+ */
+public interface AmortizationStrategy {
+
+    AmortizationMethod method();
+
+    List<Installment> schedule(Loan loan);
+}
@@ -0,0 +1,8 @@
+package org.ezra.lendingservice.amortization;
+
+/**
+ * Per-period figures for one (annual rate, tenure, tenure unit): the periodic interest rate and the
+ * level payment per unit of principal, {@code r / (1 - (1 + r)^-n)}, or {@code 1 / n} at zero rate.
+ */
+public record AnnuityFactor(double periodicRate, double paymentPerUnit) {
+}
@@ -0,0 +1,63 @@
+package org.ezra.lendingservice.amortization;
+
+import org.ezra.lendingservice.enums.TenureType;
+import org.ezra.lendingservice.money.MinorUnits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of {@link AnnuityFactor}s keyed by (annual rate to two decimals, tenure, tenure unit), so
+ * the power term is computed once per product rate and term rather than per schedule. Rates come
+ * from the product catalog, so the key space is small; past {@code maxSize} entries factors are
+ * still computed but no longer cached.
+ */
+@Component
+public class AnnuityFactors {
+
+    private static final double MONTHS_PER_YEAR = 12;
+    private static final double DAYS_PER_YEAR = 365; // Approx, as in the flat schedule
+
+    @Value("${app.amortization.factor-cache-size:4096}")
+    private int maxSize = 4096;
+
+    private final Map<Key, AnnuityFactor> factors = new ConcurrentHashMap<>();
+    private final AtomicLong computations = new AtomicLong();
+
+    public AnnuityFactor factor(BigDecimal annualRatePercent, int periods, TenureType unit) {
+        Key key = new Key(MinorUnits.unscaled(annualRatePercent, 2), periods, unit);
+        AnnuityFactor cached = factors.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        AnnuityFactor computed = compute(key);
+        if (factors.size() < maxSize) {
+            AnnuityFactor raced = factors.putIfAbsent(key, computed);
+            return raced != null ? raced : computed;
+        }
+        return computed;
+    }
+
+    long computations() {
+        return computations.get();
+    }
+
+    private AnnuityFactor compute(Key key) {
+        computations.incrementAndGet();
+        double periodsPerYear = key.unit() == TenureType.MONTHS ? MONTHS_PER_YEAR : DAYS_PER_YEAR;
+        double periodicRate = key.annualRateE4() / 10_000.0 / periodsPerYear;
+        if (periodicRate == 0) {
+            return new AnnuityFactor(0, 1.0 / key.periods());
+        }
+        // 1 - (1 + r)^-n, without the cancellation of computing the power directly for small r
+        double discount = -Math.expm1(-key.periods() * Math.log1p(periodicRate));
+        return new AnnuityFactor(periodicRate, periodicRate / discount);
+    }
+
+    private record Key(long annualRateE4, int periods, TenureType unit) {
+    }
+}
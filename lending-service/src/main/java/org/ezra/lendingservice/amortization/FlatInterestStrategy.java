@@ -0,0 +1,85 @@
+package org.ezra.lendingservice.amortization;
+
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.AmortizationMethod;
+import org.ezra.lendingservice.enums.TenureType;
+import org.ezra.lendingservice.money.MinorUnits;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flat-interest schedule: principal, simple interest and origination fees are each split
+ * evenly, with the last installment absorbing the rounding. Computed in minor units; the
+ * annual rate and the term in years are rounded to four decimals, so the total interest is
+ * exact in units of 10^-10 and only rounded to cents per installment.
+ */
+@Component
+public class FlatInterestStrategy implements AmortizationStrategy {
+
+    private static final long CENT_IN_E10 = 100_000_000L;
+
+    @Override
+    public AmortizationMethod method() {
+        return AmortizationMethod.FLAT;
+    }
+
+    @Override
+    public List<Installment> schedule(Loan loan) {
+        int numberOfInstallments = loan.getTenure();
+        long principal = MinorUnits.of(loan.getPrincipalAmount());
+        long principalPerInstallment = MinorUnits.divideHalfUp(principal, numberOfInstallments);
+        long annualRateE4 = MinorUnits.unscaled(loan.getInterestRate(), 2);
+        long periodsPerYear = loan.getTenureUnit() == TenureType.MONTHS ? 12 : 365; // Approx for days
+        long termInYearsE4 = MinorUnits.divideHalfUp(loan.getTenure() * 10_000L, periodsPerYear);
+        long rateTimesTermE8 = Math.multiplyExact(annualRateE4, termInYearsE4);
+        long totalOriginationFees = ScheduleRows.originationFees(loan);
+        long feePerInstallment = MinorUnits.divideHalfUp(totalOriginationFees, numberOfInstallments);
+        long lastPrincipal = principal - principalPerInstallment * (numberOfInstallments - 1);
+        long lastFee = totalOriginationFees - feePerInstallment * (numberOfInstallments - 1);
+
+        long interestPerInstallment;
+        long lastInterest;
+        long lastTotalDue;
+        // Headroom of 4 keeps the last row's E10 sum below Long.MAX_VALUE as well.
+        if (fitsInLong(principal, 4 * rateTimesTermE8) && fitsInLong(lastPrincipal + lastFee, 4 * CENT_IN_E10)) {
+            long totalInterestE10 = principal * rateTimesTermE8;
+            interestPerInstallment = MinorUnits.divideHalfUp(totalInterestE10, numberOfInstallments * CENT_IN_E10);
+            long lastInterestE10 = totalInterestE10 - interestPerInstallment * (numberOfInstallments - 1) * CENT_IN_E10;
+            lastInterest = MinorUnits.divideHalfUp(lastInterestE10, CENT_IN_E10);
+            lastTotalDue = MinorUnits.divideHalfUp((lastPrincipal + lastFee) * CENT_IN_E10 + lastInterestE10, CENT_IN_E10);
+        } else {
+            // Long terms on large principals exceed a long in units of 10^-10; same rounding, wider arithmetic.
+            BigInteger cent = BigInteger.valueOf(CENT_IN_E10);
+            BigInteger totalInterestE10 = BigInteger.valueOf(principal).multiply(BigInteger.valueOf(rateTimesTermE8));
+            interestPerInstallment = divideHalfUp(totalInterestE10, cent.multiply(BigInteger.valueOf(numberOfInstallments)));
+            BigInteger lastInterestE10 = totalInterestE10
+                    .subtract(BigInteger.valueOf(interestPerInstallment).multiply(BigInteger.valueOf(numberOfInstallments - 1)).multiply(cent));
+            lastInterest = divideHalfUp(lastInterestE10, cent);
+            lastTotalDue = divideHalfUp(BigInteger.valueOf(lastPrincipal + lastFee).multiply(cent).add(lastInterestE10), cent);
+        }
+
+        List<Installment> installments = new ArrayList<>(numberOfInstallments);
+        for (int i = 1; i < numberOfInstallments; i++) {
+            installments.add(ScheduleRows.installment(loan, i, principalPerInstallment, interestPerInstallment, feePerInstallment,
+                    principalPerInstallment + feePerInstallment + interestPerInstallment));
+        }
+        installments.add(ScheduleRows.installment(loan, numberOfInstallments, lastPrincipal, lastInterest, lastFee, lastTotalDue));
+        return installments;
+    }
+
+    private static boolean fitsInLong(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return (high == 0 && low >= 0) || (high == -1 && low < 0);
+    }
+
+    private static long divideHalfUp(BigInteger dividend, BigInteger divisor) {
+        return new BigDecimal(dividend).divide(new BigDecimal(divisor), 0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
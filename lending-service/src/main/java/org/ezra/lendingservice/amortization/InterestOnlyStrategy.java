@@ -0,0 +1,46 @@
+package org.ezra.lendingservice.amortization;
+
+import lombok.RequiredArgsConstructor;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.AmortizationMethod;
+import org.ezra.lendingservice.money.MinorUnits;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interest-only schedule: every installment charges one period's interest on the full principal,
+ * computed once, and the principal is repaid with the last installment.
+ */
+@Component
+@RequiredArgsConstructor
+public class InterestOnlyStrategy implements AmortizationStrategy {
+
+    private final AnnuityFactors annuityFactors;
+
+    @Override
+    public AmortizationMethod method() {
+        return AmortizationMethod.INTEREST_ONLY;
+    }
+
+    @Override
+    public List<Installment> schedule(Loan loan) {
+        int numberOfInstallments = loan.getTenure();
+        long principal = MinorUnits.of(loan.getPrincipalAmount());
+        AnnuityFactor factor = annuityFactors.factor(loan.getInterestRate(), numberOfInstallments, loan.getTenureUnit());
+        long interest = Math.round(principal * factor.periodicRate());
+        long totalOriginationFees = ScheduleRows.originationFees(loan);
+        long feePerInstallment = MinorUnits.divideHalfUp(totalOriginationFees, numberOfInstallments);
+        List<Installment> installments = new ArrayList<>(numberOfInstallments);
+        for (int i = 1; i <= numberOfInstallments; i++) {
+            boolean last = i == numberOfInstallments;
+            long currentPrincipal = last ? principal : 0;
+            long currentFee = last ? totalOriginationFees - feePerInstallment * (numberOfInstallments - 1) : feePerInstallment;
+            installments.add(ScheduleRows.installment(loan, i, currentPrincipal, interest, currentFee,
+                    currentPrincipal + interest + currentFee));
+        }
+        return installments;
+    }
+}
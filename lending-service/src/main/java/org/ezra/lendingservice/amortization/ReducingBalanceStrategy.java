@@ -0,0 +1,52 @@
+package org.ezra.lendingservice.amortization;
+
+import lombok.RequiredArgsConstructor;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.AmortizationMethod;
+import org.ezra.lendingservice.money.MinorUnits;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Annuity (EMI) schedule: a level payment of principal plus interest, with each period's interest
+ * charged on the outstanding balance and rounded to cents. The payment comes from the cached
+ * {@link AnnuityFactor}, so a row is one multiplication and a subtraction. The last installment
+ * clears whatever balance the rounding left, so the principal components add up exactly.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReducingBalanceStrategy implements AmortizationStrategy {
+
+    private final AnnuityFactors annuityFactors;
+
+    @Override
+    public AmortizationMethod method() {
+        return AmortizationMethod.REDUCING_BALANCE;
+    }
+
+    @Override
+    public List<Installment> schedule(Loan loan) {
+        int numberOfInstallments = loan.getTenure();
+        long principal = MinorUnits.of(loan.getPrincipalAmount());
+        AnnuityFactor factor = annuityFactors.factor(loan.getInterestRate(), numberOfInstallments, loan.getTenureUnit());
+        double periodicRate = factor.periodicRate();
+        long payment = Math.round(principal * factor.paymentPerUnit());
+        long totalOriginationFees = ScheduleRows.originationFees(loan);
+        long feePerInstallment = MinorUnits.divideHalfUp(totalOriginationFees, numberOfInstallments);
+        long balance = principal;
+        List<Installment> installments = new ArrayList<>(numberOfInstallments);
+        for (int i = 1; i <= numberOfInstallments; i++) {
+            boolean last = i == numberOfInstallments;
+            long interest = Math.round(balance * periodicRate);
+            long currentPrincipal = last ? balance : Math.min(Math.max(payment - interest, 0), balance);
+            balance -= currentPrincipal;
+            long currentFee = last ? totalOriginationFees - feePerInstallment * (numberOfInstallments - 1) : feePerInstallment;
+            installments.add(ScheduleRows.installment(loan, i, currentPrincipal, interest, currentFee,
+                    currentPrincipal + interest + currentFee));
+        }
+        return installments;
+    }
+}
@@ -0,0 +1,51 @@
+package org.ezra.lendingservice.amortization;
+
+import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.enums.TenureType;
+import org.ezra.lendingservice.money.MinorUnits;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Row-building steps shared by the amortization strategies, in minor units.
+ */
+final class ScheduleRows {
+
+    private ScheduleRows() {
+    }
+
+    static long originationFees(Loan loan) {
+        long total = 0;
+        for (AppliedFee appliedFee : loan.getAppliedFees()) {
+            if (appliedFee.getFeeType() == FeeType.SERVICE_FEE) {
+                total = Math.addExact(total, MinorUnits.of(appliedFee.getAmount()));
+            }
+        }
+        return total;
+    }
+
+    static LocalDate dueDate(Loan loan, int installmentNumber) {
+        return loan.getTenureUnit() == TenureType.MONTHS
+                ? loan.getOriginationDate().plusMonths(installmentNumber)
+                : loan.getOriginationDate().plusDays(installmentNumber);
+    }
+
+    static Installment installment(Loan loan, int installmentNumber, long principal, long interest, long fee, long totalDue) {
+        return Installment.builder()
+                .loan(loan)
+                .installmentNumber(installmentNumber)
+                .dueDate(dueDate(loan, installmentNumber))
+                .principalComponent(MinorUnits.toBigDecimal(principal))
+                .interestComponent(MinorUnits.toBigDecimal(interest))
+                .feeComponent(MinorUnits.toBigDecimal(fee))
+                .totalAmountDue(MinorUnits.toBigDecimal(totalDue))
+                .amountPaid(BigDecimal.ZERO)
+                .status(InstallmentStatus.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package org.ezra.lendingservice.catalog;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.ezra.lendingservice.entity.LoanProduct;
+import org.ezra.lendingservice.enums.AmortizationMethod;
+import org.ezra.lendingservice.enums.FeeApplicationTime;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.TenureType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of a loan product with its fee rules indexed by {@link FeeType} and
+ * {@link FeeApplicationTime}, so fee lookups are map reads instead of scans over the configuration
+ * list. Rules within one index entry keep their configuration order.
+ */
+@Getter
+public final class CatalogProduct {
+
+    private final Long id;
+    private final String name;
+    private final BigDecimal minAmount;
+    private final BigDecimal maxAmount;
+    private final BigDecimal interestRate;
+    private final TenureType tenureType;
+    private final Integer minTenure;
+    private final Integer maxTenure;
+    private final AmortizationMethod amortizationMethod;
+    private final List<FeeRule> feeRules;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<FeeType, List<FeeRule>> rulesByType;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<FeeType, Map<FeeApplicationTime, List<FeeRule>>> rulesByTypeAndTime;
+
+    private CatalogProduct(LoanProduct product) {
+        this.id = product.getId();
+        this.name = product.getName();
+        this.minAmount = product.getMinAmount();
+        this.maxAmount = product.getMaxAmount();
+        this.interestRate = product.getInterestRate();
+        this.tenureType = product.getTenureType();
+        this.minTenure = product.getMinTenure();
+        this.maxTenure = product.getMaxTenure();
+        this.amortizationMethod = product.getAmortizationMethod() != null
+                ? product.getAmortizationMethod()
+                : AmortizationMethod.FLAT;
+        this.feeRules = product.getFeeConfigurations() == null
+                ? List.of()
+                : product.getFeeConfigurations().stream().map(FeeRule::from).toList();
+
+        Map<FeeType, List<FeeRule>> byType = new EnumMap<>(FeeType.class);
+        Map<FeeType, Map<FeeApplicationTime, List<FeeRule>>> byTypeAndTime = new EnumMap<>(FeeType.class);
+        for (FeeRule rule : feeRules) {
+            byType.computeIfAbsent(rule.feeType(), type -> new ArrayList<>()).add(rule);
+            if (rule.applicationTime() != null) {
+                byTypeAndTime.computeIfAbsent(rule.feeType(), type -> new EnumMap<>(FeeApplicationTime.class))
+                        .computeIfAbsent(rule.applicationTime(), time -> new ArrayList<>())
+                        .add(rule);
+            }
+        }
+        byType.replaceAll((type, rules) -> List.copyOf(rules));
+        byTypeAndTime.replaceAll((type, byTime) -> {
+            byTime.replaceAll((time, rules) -> List.copyOf(rules));
+            return Collections.unmodifiableMap(byTime);
+        });
+        this.rulesByType = Collections.unmodifiableMap(byType);
+        this.rulesByTypeAndTime = Collections.unmodifiableMap(byTypeAndTime);
+    }
+
+    public static CatalogProduct from(LoanProduct product) {
+        return new CatalogProduct(product);
+    }
+
+    public List<FeeRule> feeRules(FeeType feeType) {
+        return rulesByType.getOrDefault(feeType, List.of());
+    }
+
+    public List<FeeRule> feeRules(FeeType feeType, FeeApplicationTime applicationTime) {
+        Map<FeeApplicationTime, List<FeeRule>> byTime = rulesByTypeAndTime.get(feeType);
+        return byTime == null ? List.of() : byTime.getOrDefault(applicationTime, List.of());
+    }
+}
@@ -0,0 +1,36 @@
+package org.ezra.lendingservice.catalog;
+
+import org.ezra.lendingservice.entity.FeeConfiguration;
+import org.ezra.lendingservice.enums.FeeApplicationTime;
+import org.ezra.lendingservice.enums.FeeCalculationType;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.money.MinorUnits;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable copy of a {@link FeeConfiguration} held by the {@link ProductCatalog}.
+ * {@code feeAmountMinorUnits} is the fee amount rounded HALF_UP to two decimals, without the
+ * decimal point: cents for fixed fees, and the rate in 1/10000ths for percentage fees.
+ */
+public record FeeRule(Long id,
+                      FeeType feeType,
+                      FeeCalculationType calculationType,
+                      BigDecimal feeAmount,
+                      long feeAmountMinorUnits,
+                      FeeApplicationTime applicationTime,
+                      Integer daysAfterDueForLateFee,
+                      String conditions) {
+
+    public static FeeRule from(FeeConfiguration configuration) {
+        return new FeeRule(
+                configuration.getId(),
+                configuration.getFeeType(),
+                configuration.getCalculationType(),
+                configuration.getFeeAmount(),
+                MinorUnits.of(configuration.getFeeAmount()),
+                configuration.getApplicationTime(),
+                configuration.getDaysAfterDueForLateFee(),
+                configuration.getConditions());
+    }
+}
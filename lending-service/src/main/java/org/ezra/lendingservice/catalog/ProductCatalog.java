@@ -0,0 +1,148 @@
+package org.ezra.lendingservice.catalog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.entity.LoanProduct;
+import org.ezra.lendingservice.exception.ResourceNotFoundException;
+import org.ezra.lendingservice.repository.LoanProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, versioned in-memory snapshot of all loan products, so origination and the sweep read
+ * products and fee rules without querying. Local writes invalidate the snapshot once they commit
+ * and the next lookup rebuilds it; readers keep the previous snapshot while another thread
+ * rebuilds. An unknown product id (e.g. created on another instance) triggers a rebuild at most
+ * once per {@code app.product-catalog.miss-refresh-interval-ms}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCatalog {
+
+    private final LoanProductRepository loanProductRepository;
+
+    @Value("${app.product-catalog.miss-refresh-interval-ms:5000}")
+    private long missRefreshIntervalMs;
+
+    LongSupplier ticker = System::nanoTime;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final AtomicLong requestedGeneration = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+    private volatile long lastMissReloadAt;
+    private volatile boolean missReloaded;
+
+    public Optional<CatalogProduct> find(Long productId) {
+        if (productId == null) {
+            return Optional.empty();
+        }
+        CatalogProduct product = current().products().get(productId);
+        if (product == null && reloadOnMiss()) {
+            product = current().products().get(productId);
+        }
+        return Optional.ofNullable(product);
+    }
+
+    public CatalogProduct require(Long productId) {
+        return find(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("LoanProduct not found with ID: " + productId));
+    }
+
+    public long version() {
+        return current().version();
+    }
+
+    /**
+     * Marks the snapshot stale once the surrounding transaction commits, or immediately when there
+     * is none. The rebuild happens on the next lookup.
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        requestedGeneration.incrementAndGet();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reloadLock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = reload(null);
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+        } else if (current.generation() < requestedGeneration.get() && reloadLock.tryLock()) {
+            try {
+                current = snapshot;
+                if (current.generation() < requestedGeneration.get()) {
+                    current = reload(current);
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private boolean reloadOnMiss() {
+        reloadLock.lock();
+        try {
+            long now = ticker.getAsLong();
+            if (missReloaded && now - lastMissReloadAt < TimeUnit.MILLISECONDS.toNanos(missRefreshIntervalMs)) {
+                return false;
+            }
+            missReloaded = true;
+            lastMissReloadAt = now;
+            reload(snapshot);
+            return true;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Must be called while holding {@link #reloadLock}.
+     */
+    private Snapshot reload(Snapshot previous) {
+        long generation = requestedGeneration.get();
+        List<LoanProduct> products = loanProductRepository.findAll();
+        Map<Long, CatalogProduct> byId = products.stream()
+                .map(CatalogProduct::from)
+                .collect(Collectors.toUnmodifiableMap(CatalogProduct::getId, Function.identity()));
+        Snapshot loaded = new Snapshot(previous == null ? 1 : previous.version() + 1, generation, byId);
+        snapshot = loaded;
+        log.info("Loaded product catalog version {} with {} products.", loaded.version(), byId.size());
+        return loaded;
+    }
+
+    private record Snapshot(long version, long generation, Map<Long, CatalogProduct> products) {
+    }
+}
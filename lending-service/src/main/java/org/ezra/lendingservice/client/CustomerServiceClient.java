@@ -1,13 +1,18 @@
 package org.ezra.lendingservice.client;
 
+import org.ezra.lendingservice.dto.CustomerPreCheckRequestDto;
+import org.ezra.lendingservice.dto.CustomerPreCheckResponseDto;
 import org.ezra.lendingservice.dto.CustomerResponseDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @FeignClient(name = "customer-service", path = "/api/v1/customers", fallback = CustomerServiceClientFallback.class)
 public interface CustomerServiceClient {
@@ -18,4 +23,11 @@ public interface CustomerServiceClient {
     @GetMapping("/{customerId}/check-eligibility")
     ResponseEntity<Boolean> isCustomerEligible(@PathVariable("customerId") Long customerId,
                                                @RequestParam("amount") BigDecimal requestedAmount);
-}
\ No newline at end of file
+
+    @GetMapping("/{customerId}/pre-check")
+    ResponseEntity<CustomerPreCheckResponseDto> preCheck(@PathVariable("customerId") Long customerId,
+                                                         @RequestParam(value = "amount", required = false) BigDecimal requestedAmount);
+
+    @PostMapping("/pre-check")
+    ResponseEntity<List<CustomerPreCheckResponseDto>> preCheckBatch(@RequestBody List<CustomerPreCheckRequestDto> requests);
+}
@@ -1,12 +1,15 @@
 package org.ezra.lendingservice.client;
 
 
+import org.ezra.lendingservice.dto.CustomerPreCheckRequestDto;
+import org.ezra.lendingservice.dto.CustomerPreCheckResponseDto;
 import org.ezra.lendingservice.dto.CustomerResponseDto;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Component
 public class CustomerServiceClientFallback implements CustomerServiceClient {
@@ -19,4 +22,14 @@ public class CustomerServiceClientFallback implements CustomerServiceClient {
     public ResponseEntity<Boolean> isCustomerEligible(Long customerId, BigDecimal requestedAmount) {
         return ResponseEntity.ok(false);
     }
+
+    @Override
+    public ResponseEntity<CustomerPreCheckResponseDto> preCheck(Long customerId, BigDecimal requestedAmount) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+    }
+
+    @Override
+    public ResponseEntity<List<CustomerPreCheckResponseDto>> preCheckBatch(List<CustomerPreCheckRequestDto> requests) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+    }
 }
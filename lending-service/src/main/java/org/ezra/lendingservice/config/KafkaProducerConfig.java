@@ -1,40 +1,107 @@
 package org.ezra.lendingservice.config;
 
-import com.fasterxml.jackson.databind.ser.std.StringSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.ezra.lendingservice.enums.ProducerProfile;
+import org.ezra.lendingservice.events.NotificationEventDto;
+import org.ezra.lendingservice.events.NotificationEventSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Two producer profiles for notification events. LOW_LATENCY sends immediately and backs interactive
+ * requests; THROUGHPUT lingers to fill larger compressed batches and backs bulk work such as the
+ * overdue sweep. Both are idempotent with acks=all, and both publish the Kafka client metrics to
+ * Micrometer tagged with their profile.
+ */
 @Configuration
 public class KafkaProducerConfig {
 
     @Value(value = "${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${app.kafka.producer.max-in-flight:5}")
+    private int maxInFlight;
+
+    @Value("${app.kafka.producer.low-latency.linger-ms:0}")
+    private int lowLatencyLingerMs;
+
+    @Value("${app.kafka.producer.low-latency.batch-size:16384}")
+    private int lowLatencyBatchSize;
+
+    @Value("${app.kafka.producer.low-latency.compression:none}")
+    private String lowLatencyCompression;
+
+    @Value("${app.kafka.producer.throughput.linger-ms:20}")
+    private int throughputLingerMs;
+
+    @Value("${app.kafka.producer.throughput.batch-size:131072}")
+    private int throughputBatchSize;
+
+    @Value("${app.kafka.producer.throughput.compression:lz4}")
+    private String throughputCompression;
+
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        Map<String, Object> props = new HashMap<>();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        return new DefaultKafkaProducerFactory<>(props);
+    @Primary
+    public ProducerFactory<String, NotificationEventDto> producerFactory(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return profileFactory(ProducerProfile.LOW_LATENCY, lowLatencyLingerMs, lowLatencyBatchSize, lowLatencyCompression,
+                objectMapper, meterRegistry);
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public ProducerFactory<String, NotificationEventDto> throughputProducerFactory(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return profileFactory(ProducerProfile.THROUGHPUT, throughputLingerMs, throughputBatchSize, throughputCompression,
+                objectMapper, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public KafkaTemplate<String, NotificationEventDto> kafkaTemplate(
+            @Qualifier("producerFactory") ProducerFactory<String, NotificationEventDto> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    @Bean
+    public KafkaTemplate<String, NotificationEventDto> throughputKafkaTemplate(
+            @Qualifier("throughputProducerFactory") ProducerFactory<String, NotificationEventDto> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
     }
 
     @Bean
     public NewTopic createTopic() {
         return new NewTopic("notification-events", 3, (short) 1);
     }
+
+    private ProducerFactory<String, NotificationEventDto> profileFactory(ProducerProfile profile, int lingerMs, int batchSize,
+                                                                       String compression, ObjectMapper objectMapper,
+                                                                       MeterRegistry meterRegistry) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.CLIENT_ID_CONFIG, "lending-service-" + profile.name().toLowerCase().replace('_', '-'));
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlight);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        DefaultKafkaProducerFactory<String, NotificationEventDto> factory =
+                new DefaultKafkaProducerFactory<>(props, new StringSerializer(), new NotificationEventSerializer(objectMapper));
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry, List.of(Tag.of("profile", profile.name()))));
+        return factory;
+    }
 }
@@ -1,16 +1,30 @@
 package org.ezra.lendingservice.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.ezra.lendingservice.dto.BulkRepaymentItemDto;
+import org.ezra.lendingservice.dto.CursorPageResponseDto;
 import org.ezra.lendingservice.dto.LoanApplicationRequestDto;
 import org.ezra.lendingservice.dto.LoanResponseDto;
 import org.ezra.lendingservice.dto.RepaymentRequestDto;
 import org.ezra.lendingservice.dto.RepaymentResponseDto;
+import org.ezra.lendingservice.enums.LoanView;
+import org.ezra.lendingservice.exception.ValidationException;
+import org.ezra.lendingservice.service.BulkRepaymentService;
 import org.ezra.lendingservice.service.LoanService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -19,6 +33,11 @@ import java.util.List;
 public class LoanController {
 
     private final LoanService loanService;
+    private final BulkRepaymentService bulkRepaymentService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.bulk-repayment.max-items:50000}")
+    private int maxBulkRepaymentItems;
 
     @PostMapping("/apply")
     public ResponseEntity<LoanResponseDto> applyForLoan(
@@ -28,17 +47,49 @@ public class LoanController {
     }
 
     @GetMapping("/{loanId}")
-    public ResponseEntity<LoanResponseDto> getLoanById(@PathVariable Long loanId) {
-        LoanResponseDto loanResponse = loanService.getLoanById(loanId);
+    public ResponseEntity<LoanResponseDto> getLoanById(
+            @PathVariable Long loanId,
+            @RequestParam(value = "view", defaultValue = "detail") String view) {
+        LoanResponseDto loanResponse = loanService.getLoanById(loanId, LoanView.fromParam(view));
         return ResponseEntity.ok(loanResponse);
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<LoanResponseDto>> getLoansByCustomerId(@PathVariable Long customerId) {
-        List<LoanResponseDto> loans = loanService.getLoansByCustomerId(customerId);
+    public ResponseEntity<List<LoanResponseDto>> getLoansByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(value = "view", defaultValue = "detail") String view) {
+        List<LoanResponseDto> loans = loanService.getLoansByCustomerId(customerId, LoanView.fromParam(view));
         return ResponseEntity.ok(loans);
     }
 
+    @GetMapping("/customer/{customerId}/page")
+    public ResponseEntity<CursorPageResponseDto<LoanResponseDto>> getLoansPageByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestParam(value = "view", defaultValue = "detail") String view) {
+        return ResponseEntity.ok(loanService.getLoansPageByCustomerId(customerId, afterId, size, LoanView.fromParam(view)));
+    }
+
+    /**
+     * Newline-delimited JSON export of the customer's loans, written as they are read.
+     */
+    @GetMapping(value = "/customer/{customerId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLoansByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(value = "view", defaultValue = "detail") String view) {
+        LoanView loanView = LoanView.fromParam(view);
+        StreamingResponseBody body = outputStream -> loanService.streamLoansByCustomerId(customerId, loanView, loan -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(loan));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PostMapping("/{loanId}/disburse")
     public ResponseEntity<LoanResponseDto> disburseLoan(@PathVariable Long loanId) {
         LoanResponseDto loanResponse = loanService.disburseLoan(loanId);
@@ -58,4 +109,46 @@ public class LoanController {
         RepaymentResponseDto repaymentResponse = loanService.processRepayment(loanId, repaymentRequestDto);
         return ResponseEntity.ok(repaymentResponse);
     }
-}
+
+    /**
+     * Settlement batch upload: one repayment per NDJSON line, answered with one NDJSON result per line
+     * as each loan's repayments are applied. Results carry the line index of the item they answer.
+     * The whole batch is read before the response starts, so a malformed or oversized batch is a 400.
+     */
+    @PostMapping(value = "/repayments/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> processRepayments(InputStream requestBody) {
+        List<BulkRepaymentItemDto> items = readItems(requestBody);
+        StreamingResponseBody body = outputStream -> bulkRepaymentService.processBatch(items, result -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(result));
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @PostMapping("/admin/process-overdue")
+    public ResponseEntity<String> triggerOverdueProcessing() {
+        loanService.processOverdueLoans();
+        return ResponseEntity.ok("Overdue loan processing job triggered manually.");
+    }
+
+    private List<BulkRepaymentItemDto> readItems(InputStream requestBody) {
+        List<BulkRepaymentItemDto> items = new ArrayList<>();
+        try (MappingIterator<BulkRepaymentItemDto> lines = objectMapper.readerFor(BulkRepaymentItemDto.class).readValues(requestBody)) {
+            while (lines.hasNextValue()) {
+                if (items.size() == maxBulkRepaymentItems) {
+                    throw new ValidationException("Repayment batch exceeds the limit of " + maxBulkRepaymentItems + " items.");
+                }
+                items.add(lines.nextValue());
+            }
+        } catch (IOException e) {
+            throw new ValidationException("Malformed repayment batch at item " + items.size() + ": " + e.getMessage());
+        }
+        return items;
+    }
+}
\ No newline at end of file
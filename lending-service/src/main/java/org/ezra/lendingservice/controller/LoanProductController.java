@@ -3,6 +3,7 @@ package org.ezra.lendingservice.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.ezra.lendingservice.dto.CursorPageResponseDto;
 import org.ezra.lendingservice.dto.LoanProductRequestDto;
 import org.ezra.lendingservice.dto.LoanProductResponseDto;
 import org.ezra.lendingservice.service.LoanProductService;
@@ -36,4 +37,11 @@ public class LoanProductController {
         List<LoanProductResponseDto> products = loanProductService.getAllLoanProducts();
         return ResponseEntity.ok(products);
     }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageResponseDto<LoanProductResponseDto>> getLoanProductsPage(
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        return ResponseEntity.ok(loanProductService.getLoanProductsPage(afterId, size));
+    }
 }
@@ -0,0 +1,26 @@
+package org.ezra.lendingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.ezra.lendingservice.enums.LoanStatus;
+import org.ezra.lendingservice.enums.RepaymentItemStatus;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRepaymentResultDto {
+    private int index;
+    private Long loanId;
+    private String transactionReference;
+    private RepaymentItemStatus status;
+    private Long repaymentId;
+    private BigDecimal amountApplied;
+    private BigDecimal outstandingAmount;
+    private LoanStatus loanStatus;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package org.ezra.lendingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerPreCheckRequestDto {
+    private Long customerId;
+    private BigDecimal amount;
+}
@@ -0,0 +1,23 @@
+package org.ezra.lendingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerPreCheckResponseDto {
+    private Long customerId;
+    private boolean found;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private BigDecimal currentLoanLimit;
+    private BigDecimal requestedAmount;
+    private boolean eligible;
+}
@@ -1,5 +1,6 @@
 package org.ezra.lendingservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,5 +17,6 @@ public class CustomerResponseDto {
     private String firstName;
     private String lastName;
     private String email;
+    @JsonAlias("currentLoanLimit")
     private BigDecimal loanLimit;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package org.ezra.lendingservice.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
@@ -22,6 +23,7 @@ public class LoanApplicationRequestDto {
 
     @NotNull(message = "Loan amount cannot be null")
     @Positive(message = "Loan amount must be positive")
+    @Digits(integer = 13, fraction = 2, message = "Loan amount must have at most 13 integer digits and 2 decimal places")
     private BigDecimal amount;
 
     @NotNull(message = "Tenure cannot be null")
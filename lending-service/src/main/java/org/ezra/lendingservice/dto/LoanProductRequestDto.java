@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.ezra.lendingservice.enums.AmortizationMethod;
 import org.ezra.lendingservice.enums.TenureType;
 
 import java.math.BigDecimal;
@@ -45,6 +46,8 @@ public class LoanProductRequestDto {
     @Positive(message = "Maximum tenure must be positive")
     private Integer maxTenure;
 
+    private AmortizationMethod amortizationMethod;
+
     @NotEmpty(message = "Fee configurations cannot be empty")
     @Valid
     private List<FeeConfigurationDto> feeConfigurations;
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.ezra.lendingservice.enums.AmortizationMethod;
 import org.ezra.lendingservice.enums.TenureType;
 
 import java.math.BigDecimal;
@@ -22,5 +23,6 @@ public class LoanProductResponseDto {
     private TenureType tenureType;
     private Integer minTenure;
     private Integer maxTenure;
+    private AmortizationMethod amortizationMethod;
     private List<FeeConfigurationDto> feeConfigurations;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package org.ezra.lendingservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -30,7 +31,9 @@ public class LoanResponseDto {
     private LocalDate finalDueDate;
     private LoanStatus status;
     private boolean isInstallmentLoan;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<InstallmentDto> installments;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<AppliedFeeDto> appliedFees;
     private LocalDate nextBillingDate;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package org.ezra.lendingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.ezra.lendingservice.enums.SweepRunStatus;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SweepReportDto {
+    private Long sweepRunId;
+    private LocalDate businessDate;
+    private SweepRunStatus status;
+    private int attempts;
+    private int partitions;
+    private long loansMarkedOverdue;
+    private long loansProcessed;
+    private long loansFailed;
+    private long partitionsFailed;
+    private long durationMillis;
+    private double loansPerSecond;
+}
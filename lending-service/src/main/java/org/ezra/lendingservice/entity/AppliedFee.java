@@ -18,7 +18,8 @@ import java.time.LocalDate;
 @Builder
 public class AppliedFee {
     @Id
-    //@GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "applied_fee_seq")
+    @SequenceGenerator(name = "applied_fee_seq", sequenceName = "APPLIED_FEE_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -37,6 +38,18 @@ public class AppliedFee {
 
     private String reason;
 
+    /**
+     * Late fees are keyed by (loan, fee configuration, fee period), the period being the due date
+     * the fee is charged for; a unique index on the key lets each late fee be applied only once.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "installment_id")
+    private Installment installment;
+
+    private Long feeConfigurationId;
+
+    private LocalDate feePeriod;
+
     @Builder.Default
     private boolean paid = false;
 }
\ No newline at end of file
@@ -18,7 +18,8 @@ import java.math.BigDecimal;
 @Builder
 public class FeeConfiguration {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fee_configuration_seq")
+    @SequenceGenerator(name = "fee_configuration_seq", sequenceName = "FEE_CONFIGURATION_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -14,13 +14,26 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = Loan.SUMMARY_GRAPH, attributeNodes = @NamedAttributeNode("loanProduct"))
+@NamedEntityGraph(name = Loan.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("loanProduct"),
+        @NamedAttributeNode("installments")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Loan {
+    public static final String SUMMARY_GRAPH = "Loan.summary";
+    /**
+     * Applied fees are left to batch fetching: joining a second list alongside installments
+     * would multiply the rows (and Hibernate rejects fetching two bags at once).
+     */
+    public static final String DETAIL_GRAPH = "Loan.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_seq")
+    @SequenceGenerator(name = "loan_seq", sequenceName = "LOAN_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -72,6 +85,16 @@ public class Loan {
     @Builder.Default
     private List<AppliedFee> appliedFees = new ArrayList<>();
 
+    /**
+     * Daily-fee accrual watermark: the last day daily fees have been charged for and the running
+     * total charged, so accrual never has to read the applied-fee history.
+     */
+    private LocalDate dailyFeeAccruedThrough;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private BigDecimal dailyFeeAccruedTotal = BigDecimal.ZERO;
+
     private LocalDate nextBillingDate;
     private String consolidatedBillingCycleId;
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.ezra.lendingservice.enums.AmortizationMethod;
 import org.ezra.lendingservice.enums.TenureType;
 
 import java.math.BigDecimal;
@@ -18,7 +19,8 @@ import java.util.List;
 @Builder
 public class LoanProduct {
     @Id
-    //@GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_product_seq")
+    @SequenceGenerator(name = "loan_product_seq", sequenceName = "LOAN_PRODUCT_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -40,6 +42,11 @@ public class LoanProduct {
     @Column(nullable = false)
     private Integer maxTenure;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private AmortizationMethod amortizationMethod = AmortizationMethod.FLAT;
+
     @OneToMany(mappedBy = "loanProduct", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     @Builder.Default
     private List<FeeConfiguration> feeConfigurations = new ArrayList<>();
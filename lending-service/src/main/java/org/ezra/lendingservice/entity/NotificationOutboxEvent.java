@@ -0,0 +1,49 @@
+package org.ezra.lendingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.ezra.lendingservice.enums.ProducerProfile;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "NOTIFICATION_OUTBOX_SEQ", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String eventId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    private Long customerId;
+
+    @Lob
+    private String payload;
+
+    @Column(nullable = false)
+    private long eventTimestamp;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProducerProfile producerProfile;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Set while a relay is sending the row; an expired claim (e.g. after a crash) is sent again.
+     */
+    private LocalDateTime claimedUntil;
+}
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @Builder
 public class Repayment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "repayment_seq")
+    @SequenceGenerator(name = "repayment_seq", sequenceName = "REPAYMENT_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,5 +35,7 @@ public class Repayment {
     private LocalDateTime paymentDateTime;
 
     private String paymentMethod;
+
+    @Column(unique = true)
     private String transactionReference;
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package org.ezra.lendingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SweepCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sweep_run_id", nullable = false)
+    private SweepRun sweepRun;
+
+    @Column(nullable = false)
+    private Integer partitionIndex;
+
+    @Column(nullable = false)
+    private Long lowerBound;
+
+    @Column(nullable = false)
+    private Long upperBound;
+
+    @Column(nullable = false)
+    private Long lastProcessedId;
+
+    private long loansProcessed;
+
+    private boolean completed;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package org.ezra.lendingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.ezra.lendingservice.enums.SweepRunStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SweepRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate businessDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SweepRunStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Builder.Default
+    private int attempts = 1;
+
+    private int partitions;
+    private long loansProcessed;
+    private long loansFailed;
+    private long partitionsFailed;
+    private long durationMillis;
+    private double loansPerSecond;
+}
@@ -0,0 +1,13 @@
+package org.ezra.lendingservice.enums;
+
+/**
+ * How an installment loan's schedule splits principal and interest. FLAT charges simple interest
+ * on the original principal in equal parts; REDUCING_BALANCE charges each period's interest on the
+ * outstanding balance with equal (annuity) payments; INTEREST_ONLY defers all principal to the
+ * last installment.
+ */
+public enum AmortizationMethod {
+    FLAT,
+    REDUCING_BALANCE,
+    INTEREST_ONLY
+}
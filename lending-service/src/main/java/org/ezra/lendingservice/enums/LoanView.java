@@ -0,0 +1,22 @@
+package org.ezra.lendingservice.enums;
+
+import org.ezra.lendingservice.exception.ValidationException;
+
+import java.util.Locale;
+
+/**
+ * How much of a loan a read returns. SUMMARY omits the installment schedule and applied fees;
+ * DETAIL includes both.
+ */
+public enum LoanView {
+    SUMMARY,
+    DETAIL;
+
+    public static LoanView fromParam(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown view '" + value + "'. Expected summary or detail.");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package org.ezra.lendingservice.enums;
+
+public enum ProducerProfile {
+    LOW_LATENCY,
+    THROUGHPUT
+}
@@ -0,0 +1,5 @@
+package org.ezra.lendingservice.enums;
+
+public enum RepaymentItemStatus {
+    APPLIED, DUPLICATE, REJECTED
+}
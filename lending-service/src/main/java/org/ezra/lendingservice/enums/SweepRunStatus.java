@@ -0,0 +1,5 @@
+package org.ezra.lendingservice.enums;
+
+public enum SweepRunStatus {
+    RUNNING, COMPLETED, PARTIALLY_FAILED, FAILED
+}
@@ -0,0 +1,34 @@
+package org.ezra.lendingservice.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.service.CustomerProfileService;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the local customer profile cache in step with limit changes made in customer-service.
+ * Every instance joins its own consumer group so each one sees every change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerLimitChangedListener {
+
+    private final CustomerProfileService customerProfileService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = "${app.kafka.topic.customer-limit-changed}",
+            groupId = "${spring.application.name}-customer-cache-${random.uuid}")
+    public void onCustomerLimitChanged(String message) {
+        try {
+            CustomerLimitChangedEventDto event = objectMapper.readValue(message, CustomerLimitChangedEventDto.class);
+            log.info("Customer {} loan limit changed from {} to {}.", event.getCustomerId(), event.getPreviousLimit(), event.getNewLimit());
+            customerProfileService.applyLimitChange(event.getCustomerId(), event.getNewLimit());
+        } catch (JsonProcessingException e) {
+            log.error("Discarding unreadable customer limit change event: {}", message, e);
+        }
+    }
+}
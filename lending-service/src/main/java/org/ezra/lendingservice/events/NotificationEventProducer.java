@@ -1,56 +1,36 @@
 package org.ezra.lendingservice.events;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.enums.ProducerProfile;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 @Service
-@RequiredArgsConstructor
-@Slf4j
 public class NotificationEventProducer {
     @Value("${app.kafka.topic.notification-events}")
     private String notificationEventsTopic;
-    private final KafkaTemplate<String, String> kafkaTemplate;
-
-    public void sendNotificationEvent(NotificationEventDto eventDto) {
-        if (eventDto.getEventId() == null) {
-            eventDto.setEventId(UUID.randomUUID().toString());
-        }
-        if (eventDto.getTimestamp() == 0) {
-            eventDto.setTimestamp(System.currentTimeMillis());
-        }
-        try {
-            log.info("Producing notification event: Type='{}', CustomerId='{}', EventId='{}' to topic '{}'",
-                    eventDto.getEventType(), eventDto.getCustomerId(), eventDto.getEventId(), notificationEventsTopic);
-            CompletableFuture<SendResult<String, String>> future =
-                    kafkaTemplate.send(notificationEventsTopic, eventDto.getEventId(), payloadToString(eventDto));
-            future.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    log.info("Sent message=[{}] with offset=[{}]", eventDto.getEventId(), result.getRecordMetadata().offset());
-                } else {
-                    log.error("Unable to send message=[{}] due to : {}", eventDto.getEventId(), ex.getMessage(), ex);
-                }
-            });
-        } catch (Exception e) {
-            log.error("Unable to send message=[{}]", eventDto.getEventId(), e);
-        }
-
+    private final Map<ProducerProfile, KafkaTemplate<String, NotificationEventDto>> templates = new EnumMap<>(ProducerProfile.class);
 
+    public NotificationEventProducer(@Qualifier("kafkaTemplate") KafkaTemplate<String, NotificationEventDto> kafkaTemplate,
+                                     @Qualifier("throughputKafkaTemplate") KafkaTemplate<String, NotificationEventDto> throughputKafkaTemplate) {
+        templates.put(ProducerProfile.LOW_LATENCY, kafkaTemplate);
+        templates.put(ProducerProfile.THROUGHPUT, throughputKafkaTemplate);
     }
 
-
-    private String payloadToString(NotificationEventDto notification) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.writeValueAsString(notification);
+    /**
+     * Sends an event and hands back the broker acknowledgement. Events are keyed by customer so one
+     * customer's notifications share a partition; they only keep the order they were sent in while
+     * they go through the same profile, which {@link org.ezra.lendingservice.scheduler.NotificationOutboxRelay}
+     * ensures for its sends.
+     */
+    public CompletableFuture<SendResult<String, NotificationEventDto>> publish(NotificationEventDto eventDto, ProducerProfile profile) {
+        String key = eventDto.getCustomerId() != null ? eventDto.getCustomerId().toString() : eventDto.getEventId();
+        return templates.get(profile).send(notificationEventsTopic, key, eventDto);
     }
-
-
 }
@@ -0,0 +1,39 @@
+package org.ezra.lendingservice.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Kafka value serializer for {@link NotificationEventDto}. The writer is built once from a shared
+ * mapper and warmed up on construction, so no per-event introspection or mapper setup is done.
+ */
+public class NotificationEventSerializer implements Serializer<NotificationEventDto> {
+
+    private final ObjectWriter writer;
+
+    public NotificationEventSerializer(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(NotificationEventDto.class);
+        try {
+            writer.writeValueAsBytes(NotificationEventDto.builder().payload(Map.of()).build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to initialise notification event serializer", e);
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, NotificationEventDto event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            return writer.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Unable to serialize notification event " + event.getEventId(), e);
+        }
+    }
+}
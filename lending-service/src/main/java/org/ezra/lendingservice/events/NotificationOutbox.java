@@ -0,0 +1,62 @@
+package org.ezra.lendingservice.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.ezra.lendingservice.entity.NotificationOutboxEvent;
+import org.ezra.lendingservice.enums.ProducerProfile;
+import org.ezra.lendingservice.repository.NotificationOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Records notification events in the outbox table as part of the caller's transaction. Nothing
+ * reaches Kafka here; {@link org.ezra.lendingservice.scheduler.NotificationOutboxRelay} publishes
+ * committed rows, so rolled-back work never emits events and requests never wait on the broker.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(NotificationEventDto event) {
+        enqueue(event, ProducerProfile.LOW_LATENCY);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(NotificationEventDto event, ProducerProfile profile) {
+        if (event.getEventId() == null) {
+            event.setEventId(UUID.randomUUID().toString());
+        }
+        if (event.getTimestamp() == 0) {
+            event.setTimestamp(System.currentTimeMillis());
+        }
+        notificationOutboxRepository.save(NotificationOutboxEvent.builder()
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .customerId(event.getCustomerId())
+                .payload(writePayload(event))
+                .eventTimestamp(event.getTimestamp())
+                .producerProfile(profile)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private String writePayload(NotificationEventDto event) {
+        if (event.getPayload() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Notification payload of event " + event.getEventId() + " is not serializable", e);
+        }
+    }
+}
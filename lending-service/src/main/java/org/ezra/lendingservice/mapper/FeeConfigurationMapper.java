@@ -1,6 +1,6 @@
 package org.ezra.lendingservice.mapper;
 
-
+import org.ezra.lendingservice.catalog.FeeRule;
 import org.ezra.lendingservice.dto.FeeConfigurationDto;
 import org.ezra.lendingservice.entity.FeeConfiguration;
 import org.ezra.lendingservice.entity.LoanProduct;
@@ -22,6 +22,19 @@ public class FeeConfigurationMapper {
                 .build();
     }
 
+    public FeeConfigurationDto toDto(FeeRule rule) {
+        if (rule == null) return null;
+        return FeeConfigurationDto.builder()
+                .id(rule.id())
+                .feeType(rule.feeType())
+                .calculationType(rule.calculationType())
+                .value(rule.feeAmount())
+                .applicationTime(rule.applicationTime())
+                .daysAfterDueForLateFee(rule.daysAfterDueForLateFee())
+                .conditions(rule.conditions())
+                .build();
+    }
+
     public FeeConfiguration toEntity(FeeConfigurationDto dto, LoanProduct product) {
         if (dto == null) return null;
         return FeeConfiguration.builder()
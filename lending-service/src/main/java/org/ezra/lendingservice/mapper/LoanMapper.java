@@ -1,8 +1,11 @@
 package org.ezra.lendingservice.mapper;
 
 import lombok.RequiredArgsConstructor;
+import org.ezra.lendingservice.catalog.ProductCatalog;
+import org.ezra.lendingservice.dto.LoanProductResponseDto;
 import org.ezra.lendingservice.dto.LoanResponseDto;
 import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.LoanView;
 import org.springframework.stereotype.Component;
 
 import java.util.stream.Collectors;
@@ -14,13 +17,22 @@ public class LoanMapper {
     private final LoanProductMapper loanProductMapper;
     private final InstallmentMapper installmentMapper;
     private final AppliedFeeMapper appliedFeeMapper;
+    private final ProductCatalog productCatalog;
 
-    public LoanResponseDto toDto(Loan entity) {
+    public LoanResponseDto toDto(Loan entity, LoanView view) {
+        return view == LoanView.SUMMARY ? toSummaryDto(entity) : toDto(entity);
+    }
+
+    /**
+     * Maps the loan without its installment schedule and applied fees, so neither lazy
+     * collection is initialised.
+     */
+    public LoanResponseDto toSummaryDto(Loan entity) {
         if (entity == null) return null;
-        LoanResponseDto dto = LoanResponseDto.builder()
+        return LoanResponseDto.builder()
                 .id(entity.getId())
                 .customerId(entity.getCustomerId())
-                .loanProduct(loanProductMapper.toDto(entity.getLoanProduct()))
+                .loanProduct(toProductDto(entity))
                 .principalAmount(entity.getPrincipalAmount())
                 .interestRate(entity.getInterestRate())
                 .totalRepaidAmount(entity.getTotalRepaidAmount())
@@ -34,7 +46,22 @@ public class LoanMapper {
                 .isInstallmentLoan(entity.isInstallmentLoan())
                 .nextBillingDate(entity.getNextBillingDate())
                 .build();
+    }
 
+    /**
+     * Maps the product from the catalog when it is known there, which avoids initialising the
+     * product reference (and its fee configurations) per loan.
+     */
+    private LoanProductResponseDto toProductDto(Loan entity) {
+        if (entity.getLoanProduct() == null) return null;
+        return productCatalog.find(entity.getLoanProduct().getId())
+                .map(loanProductMapper::toDto)
+                .orElseGet(() -> loanProductMapper.toDto(entity.getLoanProduct()));
+    }
+
+    public LoanResponseDto toDto(Loan entity) {
+        LoanResponseDto dto = toSummaryDto(entity);
+        if (dto == null) return null;
         if (entity.getInstallments() != null) {
             dto.setInstallments(entity.getInstallments().stream()
                     .map(installmentMapper::toDto)
@@ -1,9 +1,11 @@
 package org.ezra.lendingservice.mapper;
 
 import lombok.RequiredArgsConstructor;
+import org.ezra.lendingservice.catalog.CatalogProduct;
 import org.ezra.lendingservice.dto.LoanProductRequestDto;
 import org.ezra.lendingservice.dto.LoanProductResponseDto;
 import org.ezra.lendingservice.entity.LoanProduct;
+import org.ezra.lendingservice.enums.AmortizationMethod;
 import org.springframework.stereotype.Component;
 
 import java.util.stream.Collectors;
@@ -25,12 +27,31 @@ public class LoanProductMapper {
                 .tenureType(entity.getTenureType())
                 .minTenure(entity.getMinTenure())
                 .maxTenure(entity.getMaxTenure())
+                .amortizationMethod(entity.getAmortizationMethod())
                 .feeConfigurations(entity.getFeeConfigurations().stream()
                         .map(feeConfigurationMapper::toDto)
                         .collect(Collectors.toList()))
                 .build();
     }
 
+    public LoanProductResponseDto toDto(CatalogProduct product) {
+        if (product == null) return null;
+        return LoanProductResponseDto.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .minAmount(product.getMinAmount())
+                .maxAmount(product.getMaxAmount())
+                .interestRate(product.getInterestRate())
+                .tenureType(product.getTenureType())
+                .minTenure(product.getMinTenure())
+                .maxTenure(product.getMaxTenure())
+                .amortizationMethod(product.getAmortizationMethod())
+                .feeConfigurations(product.getFeeRules().stream()
+                        .map(feeConfigurationMapper::toDto)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     public LoanProduct toEntity(LoanProductRequestDto dto) {
         if (dto == null) return null;
         LoanProduct product = LoanProduct.builder()
@@ -41,6 +62,7 @@ public class LoanProductMapper {
                 .tenureType(dto.getTenureType())
                 .minTenure(dto.getMinTenure())
                 .maxTenure(dto.getMaxTenure())
+                .amortizationMethod(dto.getAmortizationMethod() != null ? dto.getAmortizationMethod() : AmortizationMethod.FLAT)
                 .build();
         if (dto.getFeeConfigurations() != null) {
             product.setFeeConfigurations(dto.getFeeConfigurations().stream()
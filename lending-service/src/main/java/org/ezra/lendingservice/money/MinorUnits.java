@@ -0,0 +1,80 @@
+package org.ezra.lendingservice.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents), used by the fee and schedule
+ * calculations instead of intermediate {@link BigDecimal}s. Amounts enter through
+ * {@link #of(BigDecimal)} and leave through {@link #toBigDecimal(long)}; every division rounds
+ * {@link RoundingMode#HALF_UP}, i.e. ties away from zero. Results that do not fit in a
+ * {@code long} throw {@link ArithmeticException}.
+ */
+public final class MinorUnits {
+
+    public static final int SCALE = 2;
+
+    private static final int MAX_INTEGER_DIGITS = 16;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * The amount in minor units, rounded HALF_UP when it has more than two decimals.
+     */
+    public static long of(BigDecimal amount) {
+        return unscaled(amount, SCALE);
+    }
+
+    /**
+     * The value rounded HALF_UP to {@code scale} decimals, without its decimal point. A percentage
+     * at scale 2 has the same digits as the percentage divided by 100 at scale 4.
+     */
+    public static long unscaled(BigDecimal value, int scale) {
+        BigDecimal scaled = value.scale() == scale ? value : value.setScale(scale, RoundingMode.HALF_UP);
+        return scaled.unscaledValue().longValueExact();
+    }
+
+    /**
+     * Whether {@link #of(BigDecimal)} represents the amount without rounding and with room to
+     * multiply by rates.
+     */
+    public static boolean isExact(BigDecimal amount) {
+        if (amount.precision() - amount.scale() > MAX_INTEGER_DIGITS) {
+            return false;
+        }
+        return amount.scale() <= SCALE || amount.stripTrailingZeros().scale() <= SCALE;
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        long absRemainder = Math.abs(remainder);
+        if (absRemainder >= Math.abs(divisor) - absRemainder) {
+            quotient += (dividend ^ divisor) < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * {@code a * b / divisor} rounded HALF_UP, exact even when the product exceeds a {@code long}.
+     */
+    public static long multiplyDivideHalfUp(long a, long b, long divisor) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return divideHalfUp(low, divisor);
+        }
+        return new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)))
+                .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+}
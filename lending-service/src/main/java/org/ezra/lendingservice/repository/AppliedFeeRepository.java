@@ -1,10 +1,14 @@
 package org.ezra.lendingservice.repository;
 
 import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.enums.FeeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface AppliedFeeRepository extends JpaRepository<AppliedFee, Long> {
-    @Query("SELECT MAX(a.id) FROM AppliedFee a")
-    Long findMaxId();
-}
\ No newline at end of file
+    List<AppliedFee> findByLoanIdAndPaidFalseAndFeeTypeNotOrderByIdAsc(Long loanId, FeeType feeType);
+
+    boolean existsByLoanIdAndFeeConfigurationIdAndFeePeriod(Long loanId, Long feeConfigurationId, LocalDate feePeriod);
+}
@@ -2,12 +2,36 @@ package org.ezra.lendingservice.repository;
 
 import org.ezra.lendingservice.entity.Installment;
 import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.enums.LoanStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface InstallmentRepository extends JpaRepository<Installment, Long> {
     List<Installment> findByLoanIdAndStatusOrderByDueDateAsc(Long loanId, InstallmentStatus status);
     List<Installment> findByStatusAndDueDateBeforeOrderByDueDateAsc(InstallmentStatus status, LocalDate date);
-}
\ No newline at end of file
+    List<Installment> findByLoanIdAndStatusInOrderByDueDateAscInstallmentNumberAsc(Long loanId, Collection<InstallmentStatus> statuses);
+
+    /**
+     * Loans in the given statuses with an unpaid installment in {@code status} that fell due before
+     * {@code date}; served by the status and due-date indexes.
+     */
+    @Query("SELECT DISTINCT i.loan.id FROM Installment i WHERE i.status = :status AND i.dueDate < :date"
+            + " AND i.amountPaid < i.totalAmountDue AND i.loan.status IN :loanStatuses ORDER BY i.loan.id ASC")
+    List<Long> findLoanIdsWithUnpaidDueBefore(@Param("status") InstallmentStatus status,
+                                              @Param("date") LocalDate date,
+                                              @Param("loanStatuses") Collection<LoanStatus> loanStatuses);
+
+    @Modifying
+    @Query("UPDATE Installment i SET i.status = :to WHERE i.loan.id IN :loanIds AND i.status = :from"
+            + " AND i.dueDate < :date AND i.amountPaid < i.totalAmountDue")
+    int updateStatusOfUnpaidDueBefore(@Param("loanIds") Collection<Long> loanIds,
+                                      @Param("date") LocalDate date,
+                                      @Param("from") InstallmentStatus from,
+                                      @Param("to") InstallmentStatus to);
+}
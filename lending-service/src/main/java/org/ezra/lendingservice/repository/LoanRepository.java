@@ -1,12 +1,94 @@
 package org.ezra.lendingservice.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.ezra.lendingservice.entity.Loan;
 import org.ezra.lendingservice.enums.LoanStatus;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LoanRepository extends JpaRepository<Loan, Long> {
-    List<Loan> findByCustomerId(Long customerId);
+    int STREAM_FETCH_SIZE = 100;
+
+    /**
+     * Loans the fee sweep visits: overdue loans, which may owe late fees, and open loans of
+     * products that charge daily fees.
+     */
+    String FEE_SWEEP_SCOPE = "(l.status = org.ezra.lendingservice.enums.LoanStatus.OVERDUE"
+            + " OR (l.status = org.ezra.lendingservice.enums.LoanStatus.OPEN AND l.loanProduct.id IN"
+            + " (SELECT f.loanProduct.id FROM FeeConfiguration f WHERE f.feeType = org.ezra.lendingservice.enums.FeeType.DAILY_FEE)))";
+
+    @EntityGraph(Loan.SUMMARY_GRAPH)
+    List<Loan> findSummariesByCustomerIdOrderByIdAsc(Long customerId);
+
+    @EntityGraph(Loan.DETAIL_GRAPH)
+    List<Loan> findDetailsByCustomerIdOrderByIdAsc(Long customerId);
+
+    @EntityGraph(Loan.DETAIL_GRAPH)
+    Optional<Loan> findDetailById(Long id);
+
+    @EntityGraph(Loan.SUMMARY_GRAPH)
+    List<Loan> findByCustomerIdAndIdGreaterThanOrderByIdAsc(Long customerId, Long afterId, Limit limit);
+
+    @EntityGraph(Loan.SUMMARY_GRAPH)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + LoanRepository.STREAM_FETCH_SIZE))
+    Stream<Loan> streamByCustomerIdOrderByIdAsc(Long customerId);
+
     List<Loan> findByStatusIn(List<LoanStatus> statusList);
+
+    @Query("SELECT MIN(l.id) FROM Loan l WHERE " + FEE_SWEEP_SCOPE)
+    Long findMinFeeSweepId();
+
+    @Query("SELECT MAX(l.id) FROM Loan l WHERE " + FEE_SWEEP_SCOPE)
+    Long findMaxFeeSweepId();
+
+    @Query("SELECT l.id FROM Loan l WHERE " + FEE_SWEEP_SCOPE + " AND l.id > :afterId AND l.id <= :upToId ORDER BY l.id ASC")
+    List<Long> findFeeSweepIds(@Param("afterId") Long afterId,
+                               @Param("upToId") Long upToId,
+                               Pageable pageable);
+
+    @Query("SELECT l.id FROM Loan l WHERE l.isInstallmentLoan = false AND l.status = :status"
+            + " AND l.finalDueDate < :date AND l.outstandingAmount > 0 ORDER BY l.id ASC")
+    List<Long> findLumpSumIdsDueBefore(@Param("status") LoanStatus status, @Param("date") LocalDate date);
+
+    /**
+     * Reads and row-locks the loans among {@code ids} still in {@code status}, so a status update
+     * in the same transaction changes exactly the rows returned.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OverdueCandidate> findByIdInAndStatus(Collection<Long> ids, LoanStatus status);
+
+    @Modifying
+    @Query("UPDATE Loan l SET l.status = :to WHERE l.id IN :ids AND l.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") LoanStatus from, @Param("to") LoanStatus to);
+
+    /**
+     * Loads a sweep chunk with its installments. The product is left as an uninitialised reference;
+     * fee rules come from the product catalog.
+     */
+    @Query("SELECT DISTINCT l FROM Loan l LEFT JOIN FETCH l.installments WHERE l.id IN :ids ORDER BY l.id ASC")
+    List<Loan> findAllForSweepByIdIn(@Param("ids") List<Long> ids);
+
+    interface OverdueCandidate {
+        Long getId();
+
+        Long getCustomerId();
+
+        BigDecimal getOutstandingAmount();
+    }
 }
@@ -0,0 +1,24 @@
+package org.ezra.lendingservice.repository;
+
+import jakarta.persistence.LockModeType;
+import org.ezra.lendingservice.entity.NotificationOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEvent, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM NotificationOutboxEvent e ORDER BY e.id ASC")
+    List<NotificationOutboxEvent> lockOldest(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxEvent e SET e.claimedUntil = null WHERE e.id IN :ids")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+}
@@ -2,6 +2,15 @@ package org.ezra.lendingservice.repository;
 
 import org.ezra.lendingservice.entity.Repayment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RepaymentRepository extends JpaRepository<Repayment, Long> {
+
+    Optional<Repayment> findByTransactionReference(String transactionReference);
+
+    @Query("select r.transactionReference from Repayment r where r.transactionReference is not null")
+    Stream<String> streamTransactionReferences();
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package org.ezra.lendingservice.repository;
+
+import org.ezra.lendingservice.entity.SweepCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SweepCheckpointRepository extends JpaRepository<SweepCheckpoint, Long> {
+    List<SweepCheckpoint> findBySweepRunIdAndCompletedFalseOrderByPartitionIndexAsc(Long sweepRunId);
+
+    @Modifying
+    @Query("UPDATE SweepCheckpoint c SET c.lastProcessedId = :loanId, c.loansProcessed = c.loansProcessed + :processed, " +
+            "c.updatedAt = :now WHERE c.id = :checkpointId AND c.lastProcessedId < :loanId")
+    int advance(@Param("checkpointId") Long checkpointId, @Param("loanId") Long loanId,
+                @Param("processed") long processed, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COALESCE(SUM(c.loansProcessed), 0) FROM SweepCheckpoint c WHERE c.sweepRun.id = :sweepRunId")
+    long sumLoansProcessed(@Param("sweepRunId") Long sweepRunId);
+
+    @Modifying
+    @Query("UPDATE SweepCheckpoint c SET c.completed = true, c.updatedAt = :now WHERE c.id = :checkpointId")
+    int markCompleted(@Param("checkpointId") Long checkpointId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,23 @@
+package org.ezra.lendingservice.repository;
+
+import org.ezra.lendingservice.entity.SweepFailedLoan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SweepFailedLoanRepository extends JpaRepository<SweepFailedLoan, Long> {
+    Optional<SweepFailedLoan> findBySweepRunIdAndLoanId(Long sweepRunId, Long loanId);
+
+    @Query("SELECT f.loanId FROM SweepFailedLoan f WHERE f.sweepRun.id = :sweepRunId ORDER BY f.loanId ASC")
+    List<Long> findLoanIdsBySweepRunId(@Param("sweepRunId") Long sweepRunId);
+
+    long countBySweepRunId(Long sweepRunId);
+
+    @Modifying
+    @Query("DELETE FROM SweepFailedLoan f WHERE f.sweepRun.id = :sweepRunId AND f.loanId = :loanId")
+    int deleteBySweepRunIdAndLoanId(@Param("sweepRunId") Long sweepRunId, @Param("loanId") Long loanId);
+}
@@ -0,0 +1,14 @@
+package org.ezra.lendingservice.repository;
+
+import org.ezra.lendingservice.entity.SweepRun;
+import org.ezra.lendingservice.enums.SweepRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface SweepRunRepository extends JpaRepository<SweepRun, Long> {
+    Optional<SweepRun> findFirstByBusinessDateAndStatusNotOrderByIdDesc(LocalDate businessDate, SweepRunStatus status);
+
+    Optional<SweepRun> findFirstByStatusOrderByIdDesc(SweepRunStatus status);
+}
@@ -1,12 +1,47 @@
 package org.ezra.lendingservice.scheduler;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.exception.LoanProcessingException;
+import org.ezra.lendingservice.service.LoanSweepService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+
 @Component
+@RequiredArgsConstructor
+@Slf4j
 public class LoanSweepJob {
-    @Scheduled(cron = "0 0 0 * * *")
+
+    private final LoanSweepService loanSweepService;
+
+    @Value("${app.sweep.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    @Scheduled(cron = "${app.sweep.cron:0 0 0 * * *}")
     public void sweepOverdueLoans() {
-        // service.findOverdueLoansAndApplyFees();
+        try {
+            loanSweepService.sweepOverdueLoans(LocalDate.now());
+        } catch (LoanProcessingException e) {
+            log.warn("Scheduled overdue loan sweep skipped: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedSweep() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        try {
+            loanSweepService.resumeInterruptedRun()
+                    .ifPresent(report -> log.info("Interrupted sweep run {} resumed and finished with status {}.",
+                            report.getSweepRunId(), report.getStatus()));
+        } catch (LoanProcessingException e) {
+            log.warn("Resuming interrupted sweep skipped: {}", e.getMessage());
+        }
     }
 }
@@ -0,0 +1,180 @@
+package org.ezra.lendingservice.scheduler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.entity.NotificationOutboxEvent;
+import org.ezra.lendingservice.enums.ProducerProfile;
+import org.ezra.lendingservice.events.NotificationEventDto;
+import org.ezra.lendingservice.events.NotificationEventProducer;
+import org.ezra.lendingservice.repository.NotificationOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the notification outbox to Kafka. Each batch is claimed in a short transaction that locks
+ * the oldest rows and stamps them with a lease, so no row lock is held while waiting for the
+ * broker. The batch is then sent without waiting in between, the acknowledgements are awaited, and
+ * the delivered rows are deleted in one statement. Rows go out in id order, which is not commit
+ * order: ids come from a pooled sequence, so events written by concurrent transactions can be sent
+ * in either order, even for one customer. What the relay keeps is its own send order. The two
+ * producer profiles batch independently, so a customer's unacknowledged sends are kept on one of
+ * them: before a customer's event goes out on the other profile the relay waits for the sends
+ * already made. Rows are only deleted up to the first failed send and the rest are released, so on
+ * a broker error later events are sent again rather than overtaking the failed one
+ * (at-least-once). While another relay holds an unexpired claim on the oldest rows this relay
+ * backs off, which keeps instances from overtaking each other; a claim left behind by a crash
+ * expires after {@code app.outbox.claim-lease-ms}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxRelay {
+
+    private static final TypeReference<Map<String, String>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationEventProducer notificationEventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${app.outbox.claim-lease-ms:60000}")
+    private long claimLeaseMs;
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:500}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    int relayBatch() {
+        List<NotificationOutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<SendResult<String, NotificationEventDto>>> sends = new ArrayList<>(batch.size());
+        Map<Long, ProducerProfile> profileInFlight = new HashMap<>();
+        int acknowledged = 0;
+        boolean stopped = false;
+        for (NotificationOutboxEvent event : batch) {
+            Long customerId = event.getCustomerId();
+            if (customerId != null
+                    && profileInFlight.getOrDefault(customerId, event.getProducerProfile()) != event.getProducerProfile()) {
+                acknowledged = awaitAcknowledgements(batch, sends, acknowledged);
+                if (acknowledged < sends.size()) {
+                    stopped = true;
+                    break;
+                }
+                profileInFlight.clear();
+            }
+            if (customerId != null) {
+                profileInFlight.put(customerId, event.getProducerProfile());
+            }
+            sends.add(notificationEventProducer.publish(toDto(event), event.getProducerProfile()));
+        }
+        if (!stopped) {
+            acknowledged = awaitAcknowledgements(batch, sends, acknowledged);
+        }
+        List<Long> delivered = batch.subList(0, acknowledged).stream()
+                .map(NotificationOutboxEvent::getId)
+                .toList();
+        List<Long> undelivered = batch.subList(acknowledged, batch.size()).stream()
+                .map(NotificationOutboxEvent::getId)
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                notificationOutboxRepository.deleteAllByIdInBatch(delivered);
+            }
+            if (!undelivered.isEmpty()) {
+                notificationOutboxRepository.releaseClaims(undelivered);
+            }
+        });
+        log.debug("Relayed {} of {} outbox events.", delivered.size(), batch.size());
+        return delivered.size() == batch.size() ? batch.size() : 0;
+    }
+
+    /**
+     * Waits for the sends from {@code from} on, in order, and returns the index of the first one
+     * that was not acknowledged, or the number of sends when all were.
+     */
+    private int awaitAcknowledgements(List<NotificationOutboxEvent> batch,
+                                      List<CompletableFuture<SendResult<String, NotificationEventDto>>> sends, int from) {
+        for (int i = from; i < sends.size(); i++) {
+            NotificationOutboxEvent event = batch.get(i);
+            try {
+                sends.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return i;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Outbox event {} ({}) not acknowledged, retrying from it on the next run: {}",
+                        event.getEventId(), event.getEventType(), e.getMessage());
+                return i;
+            }
+        }
+        return sends.size();
+    }
+
+    /**
+     * Locks the oldest rows and leases them to this relay; the locks are released when the claiming
+     * transaction commits. Returns nothing while another relay's claim on those rows is still live.
+     */
+    List<NotificationOutboxEvent> claimBatch() {
+        List<NotificationOutboxEvent> batch = notificationOutboxRepository.lockOldest(PageRequest.of(0, batchSize));
+        LocalDateTime now = LocalDateTime.now();
+        if (batch.stream().anyMatch(event -> event.getClaimedUntil() != null && event.getClaimedUntil().isAfter(now))) {
+            log.debug("Oldest outbox events are claimed by another relay; backing off.");
+            return List.of();
+        }
+        LocalDateTime claimedUntil = now.plus(Duration.ofMillis(claimLeaseMs));
+        batch.forEach(event -> event.setClaimedUntil(claimedUntil));
+        return batch;
+    }
+
+    private NotificationEventDto toDto(NotificationOutboxEvent event) {
+        return NotificationEventDto.builder()
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .customerId(event.getCustomerId())
+                .payload(readPayload(event))
+                .timestamp(event.getEventTimestamp())
+                .build();
+    }
+
+    private Map<String, String> readPayload(NotificationOutboxEvent event) {
+        if (event.getPayload() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload in outbox event " + event.getEventId(), e);
+        }
+    }
+}
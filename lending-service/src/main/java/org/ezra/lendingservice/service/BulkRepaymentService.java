@@ -0,0 +1,11 @@
+package org.ezra.lendingservice.service;
+
+import org.ezra.lendingservice.dto.BulkRepaymentItemDto;
+import org.ezra.lendingservice.dto.BulkRepaymentResultDto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BulkRepaymentService {
+    void processBatch(List<BulkRepaymentItemDto> items, Consumer<BulkRepaymentResultDto> results);
+}
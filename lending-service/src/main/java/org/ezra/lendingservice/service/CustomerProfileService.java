@@ -0,0 +1,16 @@
+package org.ezra.lendingservice.service;
+
+import org.ezra.lendingservice.dto.CustomerResponseDto;
+
+import java.math.BigDecimal;
+
+public interface CustomerProfileService {
+
+    CustomerResponseDto getCustomer(Long customerId);
+
+    boolean isEligible(CustomerResponseDto customer, BigDecimal requestedAmount);
+
+    void applyLimitChange(Long customerId, BigDecimal newLimit);
+
+    void evict(Long customerId);
+}
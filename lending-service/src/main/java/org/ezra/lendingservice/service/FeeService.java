@@ -1,18 +1,21 @@
 package org.ezra.lendingservice.service;
 
+import org.ezra.lendingservice.catalog.FeeRule;
 import org.ezra.lendingservice.entity.AppliedFee;
 import org.ezra.lendingservice.entity.FeeConfiguration;
 import org.ezra.lendingservice.entity.Installment;
 import org.ezra.lendingservice.entity.Loan;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 public interface FeeService {
     BigDecimal calculateFeeAmount(BigDecimal baseAmount, FeeConfiguration feeConfig);
+    BigDecimal calculateFeeAmount(BigDecimal baseAmount, FeeRule feeRule);
     List<AppliedFee> applyOriginationFees(Loan loan);
-    Optional<AppliedFee> applyLateFeeIfNeeded(Loan loan, Installment installment);
-    Optional<AppliedFee> applyLateFeeIfNeeded(Loan loan);
-    void applyDailyFees(Loan loan);
+    Optional<AppliedFee> applyLateFeeIfNeeded(Loan loan, Installment installment, LocalDate today);
+    Optional<AppliedFee> applyLateFeeIfNeeded(Loan loan, LocalDate today);
+    Optional<AppliedFee> applyDailyFees(Loan loan, LocalDate today);
 }
\ No newline at end of file
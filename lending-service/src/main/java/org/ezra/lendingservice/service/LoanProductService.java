@@ -1,5 +1,6 @@
 package org.ezra.lendingservice.service;
 
+import org.ezra.lendingservice.dto.CursorPageResponseDto;
 import org.ezra.lendingservice.dto.LoanProductRequestDto;
 import org.ezra.lendingservice.dto.LoanProductResponseDto;
 
@@ -9,4 +10,5 @@ public interface LoanProductService {
     LoanProductResponseDto createLoanProduct(LoanProductRequestDto productDto);
     LoanProductResponseDto getLoanProductById(Long id);
     List<LoanProductResponseDto> getAllLoanProducts();
+    CursorPageResponseDto<LoanProductResponseDto> getLoanProductsPage(Long afterId, int size);
 }
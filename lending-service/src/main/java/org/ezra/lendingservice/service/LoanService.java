@@ -1,15 +1,20 @@
 package org.ezra.lendingservice.service;
 
 import org.ezra.lendingservice.dto.*;
+import org.ezra.lendingservice.enums.LoanView;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface LoanService {
     LoanResponseDto applyForLoan(LoanApplicationRequestDto applicationDto);
-    LoanResponseDto getLoanById(Long loanId);
-    List<LoanResponseDto> getLoansByCustomerId(Long customerId);
+    LoanResponseDto getLoanById(Long loanId, LoanView view);
+    List<LoanResponseDto> getLoansByCustomerId(Long customerId, LoanView view);
+    CursorPageResponseDto<LoanResponseDto> getLoansPageByCustomerId(Long customerId, Long afterId, int size, LoanView view);
+    void streamLoansByCustomerId(Long customerId, LoanView view, Consumer<LoanResponseDto> consumer);
     LoanResponseDto disburseLoan(Long loanId);
     LoanResponseDto cancelLoan(Long loanId);
     RepaymentResponseDto processRepayment(Long loanId, RepaymentRequestDto repaymentDto);
+    List<BulkRepaymentResultDto> processRepayments(Long loanId, List<RepaymentRequestDto> repayments);
     void processOverdueLoans();
 }
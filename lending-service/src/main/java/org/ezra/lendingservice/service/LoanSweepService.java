@@ -0,0 +1,11 @@
+package org.ezra.lendingservice.service;
+
+import org.ezra.lendingservice.dto.SweepReportDto;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface LoanSweepService {
+    SweepReportDto sweepOverdueLoans(LocalDate businessDate);
+    Optional<SweepReportDto> resumeInterruptedRun();
+}
@@ -0,0 +1,194 @@
+package org.ezra.lendingservice.service.impl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.dto.BulkRepaymentItemDto;
+import org.ezra.lendingservice.dto.BulkRepaymentResultDto;
+import org.ezra.lendingservice.dto.RepaymentRequestDto;
+import org.ezra.lendingservice.enums.RepaymentItemStatus;
+import org.ezra.lendingservice.exception.LoanProcessingException;
+import org.ezra.lendingservice.exception.ValidationException;
+import org.ezra.lendingservice.service.BulkRepaymentService;
+import org.ezra.lendingservice.service.LoanService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a settlement batch grouped by loan. Items failing Bean Validation are rejected up front.
+ * Each loan's items run in batch order in one transaction on the shared {@link BulkRepaymentWorkers},
+ * different loans run in parallel, and results are handed to the caller's thread as each loan
+ * finishes, so a slow loan never holds back the results of the others. A batch keeps at most one
+ * loan per worker in flight, so a large batch does not queue ahead of concurrent ones.
+ * A transaction reference is applied at most once per batch: later items repeating it are held
+ * back before grouping and answered from the first item's result, whichever loan they name.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkRepaymentServiceImpl implements BulkRepaymentService {
+
+    private final LoanService loanService;
+    private final RepaymentReferenceFilter repaymentReferenceFilter;
+    private final Validator validator;
+    private final BulkRepaymentWorkers workers;
+
+    @Value("${app.bulk-repayment.max-items:50000}")
+    private int maxItems;
+
+    @Override
+    public void processBatch(List<BulkRepaymentItemDto> items, Consumer<BulkRepaymentResultDto> results) {
+        if (items.size() > maxItems) {
+            throw new ValidationException("Repayment batch has " + items.size() + " items; the limit is " + maxItems + ".");
+        }
+        Map<Long, List<Integer>> indexesByLoan = new LinkedHashMap<>();
+        Map<String, Integer> firstIndexByReference = new HashMap<>();
+        Map<Integer, List<Integer>> repeatsByFirstIndex = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            Set<ConstraintViolation<BulkRepaymentItemDto>> violations = validator.validate(items.get(i));
+            if (!violations.isEmpty()) {
+                results.accept(rejected(i, items.get(i), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+                continue;
+            }
+            Long loanId = items.get(i).getLoanId();
+            String reference = items.get(i).getTransactionReference();
+            if (StringUtils.hasText(reference)) {
+                Integer firstIndex = firstIndexByReference.putIfAbsent(reference, i);
+                if (firstIndex != null) {
+                    repeatsByFirstIndex.computeIfAbsent(firstIndex, index -> new ArrayList<>()).add(i);
+                    continue;
+                }
+            }
+            indexesByLoan.computeIfAbsent(loanId, id -> new ArrayList<>()).add(i);
+        }
+        if (indexesByLoan.isEmpty()) {
+            return;
+        }
+        log.info("Applying {} repayments across {} loans with {} workers.", items.size(), indexesByLoan.size(), workers.size());
+
+        CompletionService<List<BulkRepaymentResultDto>> completed = new ExecutorCompletionService<>(workers::execute);
+        Iterator<Map.Entry<Long, List<Integer>>> pending = indexesByLoan.entrySet().iterator();
+        try {
+            int inFlight = 0;
+            while (inFlight > 0 || pending.hasNext()) {
+                if (inFlight < workers.size() && pending.hasNext()) {
+                    Map.Entry<Long, List<Integer>> loan = pending.next();
+                    completed.submit(() -> applyLoan(loan.getKey(), loan.getValue(), items));
+                    inFlight++;
+                    continue;
+                }
+                List<BulkRepaymentResultDto> loanResults = completed.take().get();
+                inFlight--;
+                for (BulkRepaymentResultDto result : loanResults) {
+                    results.accept(result);
+                    for (int repeat : repeatsByFirstIndex.getOrDefault(result.getIndex(), List.of())) {
+                        results.accept(repeatOf(repeat, items.get(repeat), result));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoanProcessingException("Repayment batch was interrupted.");
+        } catch (ExecutionException e) {
+            throw new LoanProcessingException("Repayment batch failed: " + e.getCause().getMessage());
+        }
+    }
+
+    private List<BulkRepaymentResultDto> applyLoan(Long loanId, List<Integer> indexes, List<BulkRepaymentItemDto> items) {
+        List<BulkRepaymentResultDto> results = new ArrayList<>(indexes.size());
+        try {
+            List<BulkRepaymentResultDto> applied = processLoanRepayments(loanId, indexes, items);
+            for (int i = 0; i < indexes.size(); i++) {
+                BulkRepaymentResultDto result = applied.get(i);
+                result.setIndex(indexes.get(i));
+                results.add(result);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Repayments for loan {} still conflict with stored transaction references: {}", loanId, e.getMessage());
+            for (int index : indexes) {
+                results.add(rejected(index, items.get(index),
+                        "Transaction reference conflicts with a repayment being processed concurrently; retry the item."));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Repayments for loan {} rejected: {}", loanId, e.getMessage());
+            for (int index : indexes) {
+                results.add(rejected(index, items.get(index), e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * A reference stored since the group was checked (a concurrent request, or another instance whose
+     * references this instance's filter has not seen) rolls the loan's transaction back on the unique
+     * index. Marking the group's references as seen forces a database lookup on the retry, so the
+     * conflicting items come back as DUPLICATE while the rest are applied.
+     */
+    private List<BulkRepaymentResultDto> processLoanRepayments(Long loanId, List<Integer> indexes, List<BulkRepaymentItemDto> items) {
+        try {
+            return loanService.processRepayments(loanId, repaymentRequests(indexes, items));
+        } catch (DataIntegrityViolationException e) {
+            for (int index : indexes) {
+                String reference = items.get(index).getTransactionReference();
+                if (StringUtils.hasText(reference)) {
+                    repaymentReferenceFilter.add(reference);
+                }
+            }
+            return loanService.processRepayments(loanId, repaymentRequests(indexes, items));
+        }
+    }
+
+    private static List<RepaymentRequestDto> repaymentRequests(List<Integer> indexes, List<BulkRepaymentItemDto> items) {
+        List<RepaymentRequestDto> repayments = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            repayments.add(items.get(index).toRepaymentRequest());
+        }
+        return repayments;
+    }
+
+    private BulkRepaymentResultDto repeatOf(int index, BulkRepaymentItemDto item, BulkRepaymentResultDto first) {
+        if (first.getStatus() == RepaymentItemStatus.REJECTED) {
+            return rejected(index, item, "Duplicate of rejected item " + first.getIndex() + ": " + first.getMessage());
+        }
+        return BulkRepaymentResultDto.builder()
+                .index(index)
+                .loanId(first.getLoanId())
+                .transactionReference(item.getTransactionReference())
+                .status(RepaymentItemStatus.DUPLICATE)
+                .repaymentId(first.getRepaymentId())
+                .amountApplied(first.getAmountApplied())
+                .outstandingAmount(first.getOutstandingAmount())
+                .loanStatus(first.getLoanStatus())
+                .message("Repayment with this transaction reference was already processed as item " + first.getIndex() + ".")
+                .build();
+    }
+
+    private BulkRepaymentResultDto rejected(int index, BulkRepaymentItemDto item, String message) {
+        return BulkRepaymentResultDto.builder()
+                .index(index)
+                .loanId(item.getLoanId())
+                .transactionReference(item.getTransactionReference())
+                .status(RepaymentItemStatus.REJECTED)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package org.ezra.lendingservice.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Worker threads shared by every bulk repayment batch. Each worker holds a database connection
+ * while it applies one loan's repayments, so the pool is capped at half of the Hikari pool no matter
+ * how many batches arrive at once, leaving the other half to interactive requests and the sweep.
+ * Deliberately not an {@code Executor} bean, which would replace Spring's application task executor.
+ */
+@Component
+@Slf4j
+public class BulkRepaymentWorkers {
+
+    private final ExecutorService executor;
+    private final int size;
+
+    public BulkRepaymentWorkers(@Value("${app.bulk-repayment.worker-threads:4}") int workerThreads,
+                                @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        this.size = Math.max(1, Math.min(workerThreads, maximumPoolSize / 2));
+        if (size < workerThreads) {
+            log.warn("Bulk repayment workers capped at {} (configured {}) to leave connections in a pool of {}.",
+                    size, workerThreads, maximumPoolSize);
+        }
+        this.executor = Executors.newFixedThreadPool(size, Thread.ofPlatform().name("bulk-repayment-", 0).factory());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
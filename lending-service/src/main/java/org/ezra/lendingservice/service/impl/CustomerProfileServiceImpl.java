@@ -0,0 +1,170 @@
+package org.ezra.lendingservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.client.CustomerServiceClient;
+import org.ezra.lendingservice.dto.CustomerPreCheckResponseDto;
+import org.ezra.lendingservice.dto.CustomerResponseDto;
+import org.ezra.lendingservice.exception.ResourceNotFoundException;
+import org.ezra.lendingservice.service.CustomerProfileService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-evicting cache of customer profiles and loan limits in front of customer-service.
+ * Misses are loaded through the slim pre-check endpoint.
+ * Entries are refreshed by customer-limit-changed events, so the TTL only bounds staleness for
+ * changes that never reach this instance. Eligibility is decided from the cached limit using the
+ * same rule as customer-service, which makes a cache hit a single local lookup.
+ * A change event bumps a version for its customer even when nothing is cached, and a miss only
+ * stores what it loaded if that version did not move while the load was in flight; otherwise it
+ * loads again, so a profile read before the change is never cached after it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerProfileServiceImpl implements CustomerProfileService {
+
+    private final CustomerServiceClient customerServiceClient;
+
+    @Value("${app.customer-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${app.customer-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private static final int VERSION_STRIPES = 1024;
+
+    LongSupplier ticker = System::nanoTime;
+
+    private final AtomicLongArray changeVersions = new AtomicLongArray(VERSION_STRIPES);
+
+    private final Map<Long, CachedProfile> profiles = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedProfile> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    @Override
+    public CustomerResponseDto getCustomer(Long customerId) {
+        CustomerResponseDto cached = lookup(customerId);
+        if (cached != null) {
+            return cached;
+        }
+        CustomerResponseDto customer = null;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            long version = changeVersions.get(stripe(customerId));
+            customer = load(customerId);
+            if (storeIfUnchanged(customerId, customer, version)) {
+                return customer;
+            }
+            log.debug("Loan limit of customer {} changed while its profile was loading; reloading.", customerId);
+        }
+        return customer;
+    }
+
+    @Override
+    public boolean isEligible(CustomerResponseDto customer, BigDecimal requestedAmount) {
+        if (customer.getLoanLimit() == null) {
+            ResponseEntity<Boolean> response = customerServiceClient.isCustomerEligible(customer.getId(), requestedAmount);
+            return response.getStatusCode().is2xxSuccessful() && Boolean.TRUE.equals(response.getBody());
+        }
+        if (requestedAmount == null || requestedAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            return false;
+        }
+        return customer.getLoanLimit().compareTo(requestedAmount) >= 0;
+    }
+
+    @Override
+    public void applyLimitChange(Long customerId, BigDecimal newLimit) {
+        synchronized (profiles) {
+            changeVersions.incrementAndGet(stripe(customerId));
+            CachedProfile current = profiles.get(customerId);
+            if (current == null) {
+                return;
+            }
+            CustomerResponseDto customer = current.customer();
+            store(customerId, CustomerResponseDto.builder()
+                    .id(customer.getId())
+                    .firstName(customer.getFirstName())
+                    .lastName(customer.getLastName())
+                    .email(customer.getEmail())
+                    .loanLimit(newLimit)
+                    .build());
+        }
+        log.debug("Refreshed cached loan limit of customer {}.", customerId);
+    }
+
+    @Override
+    public void evict(Long customerId) {
+        synchronized (profiles) {
+            changeVersions.incrementAndGet(stripe(customerId));
+            profiles.remove(customerId);
+        }
+    }
+
+    private CustomerResponseDto load(Long customerId) {
+        ResponseEntity<CustomerPreCheckResponseDto> response = customerServiceClient.preCheck(customerId, null);
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new ResourceNotFoundException("Customer not found with ID: " + customerId + " or customer service unavailable.");
+        }
+        return toProfile(response.getBody());
+    }
+
+    private boolean storeIfUnchanged(Long customerId, CustomerResponseDto customer, long version) {
+        synchronized (profiles) {
+            if (changeVersions.get(stripe(customerId)) != version) {
+                return false;
+            }
+            store(customerId, customer);
+            return true;
+        }
+    }
+
+    private static int stripe(Long customerId) {
+        return Long.hashCode(customerId) & (VERSION_STRIPES - 1);
+    }
+
+    private CustomerResponseDto lookup(Long customerId) {
+        synchronized (profiles) {
+            CachedProfile cached = profiles.get(customerId);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt() - ticker.getAsLong() <= 0) {
+                profiles.remove(customerId);
+                return null;
+            }
+            return cached.customer();
+        }
+    }
+
+    private void store(Long customerId, CustomerResponseDto customer) {
+        long expiresAt = ticker.getAsLong() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+        synchronized (profiles) {
+            profiles.put(customerId, new CachedProfile(customer, expiresAt));
+        }
+    }
+
+    private static CustomerResponseDto toProfile(CustomerPreCheckResponseDto preCheck) {
+        return CustomerResponseDto.builder()
+                .id(preCheck.getCustomerId())
+                .firstName(preCheck.getFirstName())
+                .lastName(preCheck.getLastName())
+                .email(preCheck.getEmail())
+                .loanLimit(preCheck.getCurrentLoanLimit())
+                .build();
+    }
+
+    private record CachedProfile(CustomerResponseDto customer, long expiresAt) {
+    }
+}
@@ -2,11 +2,15 @@ package org.ezra.lendingservice.service.impl;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.catalog.CatalogProduct;
+import org.ezra.lendingservice.catalog.FeeRule;
+import org.ezra.lendingservice.catalog.ProductCatalog;
 import org.ezra.lendingservice.entity.AppliedFee;
 import org.ezra.lendingservice.entity.FeeConfiguration;
 import org.ezra.lendingservice.entity.Installment;
 import org.ezra.lendingservice.entity.Loan;
 import org.ezra.lendingservice.enums.*;
+import org.ezra.lendingservice.money.MinorUnits;
 import org.ezra.lendingservice.repository.AppliedFeeRepository;
 import org.ezra.lendingservice.service.FeeService;
 import org.springframework.stereotype.Service;
@@ -26,14 +30,24 @@ import java.util.Optional;
 public class FeeServiceImpl implements FeeService {
 
     private final AppliedFeeRepository appliedFeeRepository;
+    private final ProductCatalog productCatalog;
 
     @Override
     public BigDecimal calculateFeeAmount(BigDecimal baseAmount, FeeConfiguration feeConfig) {
-        if (feeConfig.getCalculationType() == FeeCalculationType.FIXED) {
-            return feeConfig.getFeeAmount().setScale(2, RoundingMode.HALF_UP);
-        } else if (feeConfig.getCalculationType() == FeeCalculationType.PERCENTAGE) {
-            BigDecimal percentage = feeConfig.getFeeAmount().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-            return baseAmount.multiply(percentage).setScale(2, RoundingMode.HALF_UP);
+        return calculateFeeAmount(baseAmount, FeeRule.from(feeConfig));
+    }
+
+    @Override
+    public BigDecimal calculateFeeAmount(BigDecimal baseAmount, FeeRule feeRule) {
+        if (feeRule.calculationType() == FeeCalculationType.FIXED) {
+            return MinorUnits.toBigDecimal(feeRule.feeAmountMinorUnits());
+        } else if (feeRule.calculationType() == FeeCalculationType.PERCENTAGE) {
+            // The percentage divided by 100 at four decimals, as a count of 1/10000ths.
+            long rateE4 = feeRule.feeAmountMinorUnits();
+            if (MinorUnits.isExact(baseAmount)) {
+                return MinorUnits.toBigDecimal(MinorUnits.multiplyDivideHalfUp(MinorUnits.of(baseAmount), rateE4, 10_000));
+            }
+            return baseAmount.multiply(BigDecimal.valueOf(rateE4, 4)).setScale(2, RoundingMode.HALF_UP);
         }
         return BigDecimal.ZERO;
     }
@@ -44,75 +58,80 @@ public class FeeServiceImpl implements FeeService {
         List<AppliedFee> appliedFees = new ArrayList<>();
         BigDecimal totalOriginationFees = BigDecimal.ZERO;
 
-        for (FeeConfiguration feeConfig : loan.getLoanProduct().getFeeConfigurations()) {
-            if (feeConfig.getFeeType() == FeeType.SERVICE_FEE &&
-                    (feeConfig.getApplicationTime() == FeeApplicationTime.ORIGINATION ||
-                            feeConfig.getApplicationTime() == FeeApplicationTime.POST_DISBURSEMENT)) {
-
-                BigDecimal feeAmount = calculateFeeAmount(loan.getPrincipalAmount(), feeConfig);
-                Long currentId = appliedFeeRepository.findMaxId();
-                AppliedFee appliedFee = AppliedFee.builder()
-                        .loan(loan)
-                        .feeType(feeConfig.getFeeType())
-                        .amount(feeAmount)
-                        .dateApplied(LocalDate.now())
-                        .reason("Origination Service Fee")
-                        .paid(false)
-                        .id(currentId + 1)
-                        .build();
-                appliedFees.add(appliedFeeRepository.save(appliedFee));
-                totalOriginationFees = totalOriginationFees.add(feeAmount);
-            }
+        CatalogProduct product = productOf(loan);
+        List<FeeRule> originationRules = new ArrayList<>(product.feeRules(FeeType.SERVICE_FEE, FeeApplicationTime.ORIGINATION));
+        originationRules.addAll(product.feeRules(FeeType.SERVICE_FEE, FeeApplicationTime.POST_DISBURSEMENT));
+        for (FeeRule feeRule : originationRules) {
+            BigDecimal feeAmount = calculateFeeAmount(loan.getPrincipalAmount(), feeRule);
+            AppliedFee appliedFee = AppliedFee.builder()
+                    .loan(loan)
+                    .feeType(feeRule.feeType())
+                    .amount(feeAmount)
+                    .dateApplied(loan.getOriginationDate())
+                    .reason("Origination Service Fee")
+                    .paid(false)
+                    .build();
+            appliedFees.add(appliedFeeRepository.save(appliedFee));
+            totalOriginationFees = totalOriginationFees.add(feeAmount);
         }
         loan.setOutstandingAmount(loan.getOutstandingAmount().add(totalOriginationFees));
         return appliedFees;
     }
 
+    private CatalogProduct productOf(Loan loan) {
+        return productCatalog.require(loan.getLoanProduct().getId());
+    }
 
-    private Optional<AppliedFee> applyLateFeeInternal(Loan loan, BigDecimal overdueAmount, String reasonSuffix, FeeConfiguration feeConfig) {
-        BigDecimal lateFeeAmount = calculateFeeAmount(overdueAmount, feeConfig);
+    /**
+     * Charges the late fee for {@code feePeriod}, the due date that was missed, unless this rule
+     * already charged it. The lookup hits the unique late-fee key, which also rejects a duplicate
+     * inserted by a concurrent sweep.
+     */
+    private Optional<AppliedFee> applyLateFeeInternal(Loan loan, Installment installment, LocalDate feePeriod,
+                                                      BigDecimal overdueAmount, String reasonSuffix, FeeRule feeRule,
+                                                      LocalDate today) {
+        if (appliedFeeRepository.existsByLoanIdAndFeeConfigurationIdAndFeePeriod(loan.getId(), feeRule.id(), feePeriod)) {
+            log.debug("Late fee {} for loan {} period {} already applied.", feeRule.id(), loan.getId(), feePeriod);
+            return Optional.empty();
+        }
+        BigDecimal lateFeeAmount = calculateFeeAmount(overdueAmount, feeRule);
         if (lateFeeAmount.compareTo(BigDecimal.ZERO) > 0) {
-            Long currentId = appliedFeeRepository.findMaxId();
             AppliedFee lateFee = AppliedFee.builder()
                     .loan(loan)
                     .feeType(FeeType.LATE_FEE)
                     .amount(lateFeeAmount)
-                    .dateApplied(LocalDate.now())
+                    .dateApplied(today)
                     .reason("Late Fee - " + reasonSuffix)
+                    .installment(installment)
+                    .feeConfigurationId(feeRule.id())
+                    .feePeriod(feePeriod)
                     .paid(false)
-                    .id(currentId + 1)
                     .build();
             appliedFeeRepository.save(lateFee);
             loan.setOutstandingAmount(loan.getOutstandingAmount().add(lateFeeAmount));
-            loan.getAppliedFees().add(lateFee);
             return Optional.of(lateFee);
         }
         return Optional.empty();
     }
 
+    private static boolean isLateFeeDue(FeeRule feeRule, LocalDate dueDate, LocalDate today) {
+        return feeRule.daysAfterDueForLateFee() != null
+                && ChronoUnit.DAYS.between(dueDate, today) >= feeRule.daysAfterDueForLateFee();
+    }
 
     @Override
     @Transactional
-    public Optional<AppliedFee> applyLateFeeIfNeeded(Loan loan, Installment installment) {
+    public Optional<AppliedFee> applyLateFeeIfNeeded(Loan loan, Installment installment, LocalDate today) {
         if (installment.getStatus() != InstallmentStatus.OVERDUE) {
             return Optional.empty();
         }
-        for (FeeConfiguration feeConfig : loan.getLoanProduct().getFeeConfigurations()) {
-            if (feeConfig.getFeeType() == FeeType.LATE_FEE && feeConfig.getDaysAfterDueForLateFee() != null) {
-                long daysOverdue = ChronoUnit.DAYS.between(installment.getDueDate(), LocalDate.now());
-                if (daysOverdue >= feeConfig.getDaysAfterDueForLateFee()) {
-                    boolean alreadyApplied = loan.getAppliedFees().stream()
-                            .anyMatch(af -> af.getFeeType() == FeeType.LATE_FEE &&
-                                    af.getReason() != null &&
-                                    af.getReason().contains("Installment #" + installment.getInstallmentNumber()) &&
-                                    af.getDateApplied().isAfter(installment.getDueDate().plusDays(feeConfig.getDaysAfterDueForLateFee() - 1)) // Simple check
-                            );
-                    if (!alreadyApplied) {
-                        BigDecimal overdueAmount = installment.getTotalAmountDue().subtract(installment.getAmountPaid());
-                        return applyLateFeeInternal(loan, overdueAmount, "Installment #" + installment.getInstallmentNumber(), feeConfig);
-                    } else {
-                        log.debug("Late fee for installment {} already applied recently.", installment.getId());
-                    }
+        for (FeeRule feeRule : productOf(loan).feeRules(FeeType.LATE_FEE)) {
+            if (isLateFeeDue(feeRule, installment.getDueDate(), today)) {
+                BigDecimal overdueAmount = installment.getTotalAmountDue().subtract(installment.getAmountPaid());
+                Optional<AppliedFee> lateFee = applyLateFeeInternal(loan, installment, installment.getDueDate(), overdueAmount,
+                        "Installment #" + installment.getInstallmentNumber(), feeRule, today);
+                if (lateFee.isPresent()) {
+                    return lateFee;
                 }
             }
         }
@@ -121,28 +140,18 @@ public class FeeServiceImpl implements FeeService {
 
     @Override
     @Transactional
-    public Optional<AppliedFee> applyLateFeeIfNeeded(Loan loan) {
+    public Optional<AppliedFee> applyLateFeeIfNeeded(Loan loan, LocalDate today) {
         if (loan.getStatus() != LoanStatus.OVERDUE || loan.isInstallmentLoan()) {
             return Optional.empty();
         }
         log.debug("Checking late fee for overdue lump sum loan ID: {}", loan.getId());
 
-        for (FeeConfiguration feeConfig : loan.getLoanProduct().getFeeConfigurations()) {
-            if (feeConfig.getFeeType() == FeeType.LATE_FEE && feeConfig.getDaysAfterDueForLateFee() != null) {
-                long daysOverdue = ChronoUnit.DAYS.between(loan.getFinalDueDate(), LocalDate.now());
-                if (daysOverdue >= feeConfig.getDaysAfterDueForLateFee()) {
-                    boolean alreadyApplied = loan.getAppliedFees().stream()
-                            .anyMatch(af -> af.getFeeType() == FeeType.LATE_FEE &&
-                                    af.getReason() != null &&
-                                    af.getReason().contains("Lump Sum") && // Be more specific if needed
-                                    af.getDateApplied().isAfter(loan.getFinalDueDate().plusDays(feeConfig.getDaysAfterDueForLateFee() - 1))
-                            );
-                    if (!alreadyApplied) {
-                        BigDecimal overdueAmount = loan.getOutstandingAmount(); // Or principal + interest due if calculated differently
-                        return applyLateFeeInternal(loan, overdueAmount, "Lump Sum", feeConfig);
-                    } else {
-                        log.debug("Late fee for lump sum loan {} already applied recently.", loan.getId());
-                    }
+        for (FeeRule feeRule : productOf(loan).feeRules(FeeType.LATE_FEE)) {
+            if (isLateFeeDue(feeRule, loan.getFinalDueDate(), today)) {
+                BigDecimal overdueAmount = loan.getOutstandingAmount(); // Or principal + interest due if calculated differently
+                Optional<AppliedFee> lateFee = applyLateFeeInternal(loan, null, loan.getFinalDueDate(), overdueAmount, "Lump Sum", feeRule, today);
+                if (lateFee.isPresent()) {
+                    return lateFee;
                 }
             }
         }
@@ -150,42 +159,53 @@ public class FeeServiceImpl implements FeeService {
     }
 
 
+    /**
+     * Accrues daily fees from the loan's watermark up to {@code today}. Days missed since the last
+     * accrual are caught up in one entry, compounding day by day on the outstanding amount as the
+     * daily runs would have. A loan that has never accrued is charged for {@code today} only.
+     */
     @Override
     @Transactional
-    public void applyDailyFees(Loan loan) {
+    public Optional<AppliedFee> applyDailyFees(Loan loan, LocalDate today) {
         if (loan.getStatus() != LoanStatus.OVERDUE && loan.getStatus() != LoanStatus.OPEN) {
-            return;
+            return Optional.empty();
+        }
+        LocalDate accruedThrough = loan.getDailyFeeAccruedThrough();
+        if (accruedThrough != null && !accruedThrough.isBefore(today)) {
+            log.debug("Daily fee for loan {} already accrued through {}.", loan.getId(), accruedThrough);
+            return Optional.empty();
         }
-        log.debug("Checking daily fees for loan ID: {}", loan.getId());
-
-        for (FeeConfiguration feeConfig : loan.getLoanProduct().getFeeConfigurations()) {
-            if (feeConfig.getFeeType() == FeeType.DAILY_FEE) {
-                if (loan.getOutstandingAmount().compareTo(BigDecimal.ZERO) > 0) {
-                    LocalDate today = LocalDate.now();
-                    boolean alreadyAppliedToday = loan.getAppliedFees().stream()
-                            .anyMatch(af -> af.getFeeType() == FeeType.DAILY_FEE && af.getDateApplied().equals(today));
-                    if (!alreadyAppliedToday) {
-                        BigDecimal dailyFeeAmount = calculateFeeAmount(loan.getOutstandingAmount(), feeConfig);
-                        if (dailyFeeAmount.compareTo(BigDecimal.ZERO) > 0) {
-                            Long currentId = appliedFeeRepository.findMaxId();
-                            AppliedFee dailyFee = AppliedFee.builder()
-                                    .loan(loan)
-                                    .feeType(FeeType.DAILY_FEE)
-                                    .amount(dailyFeeAmount)
-                                    .dateApplied(today)
-                                    .reason("Daily Accrued Fee")
-                                    .paid(false)
-                                    .id(currentId + 1)
-                                    .build();
-                            appliedFeeRepository.save(dailyFee);
-                            loan.setOutstandingAmount(loan.getOutstandingAmount().add(dailyFeeAmount));
-                            loan.getAppliedFees().add(dailyFee);
-                        }
-                    } else {
-                        log.debug("Daily fee for loan {} already applied today.", loan.getId());
-                    }
+        List<FeeRule> dailyRules = productOf(loan).feeRules(FeeType.DAILY_FEE);
+        if (dailyRules.isEmpty()) {
+            return Optional.empty();
+        }
+        long days = accruedThrough == null ? 1 : ChronoUnit.DAYS.between(accruedThrough, today);
+        BigDecimal outstanding = loan.getOutstandingAmount();
+        BigDecimal accrued = BigDecimal.ZERO;
+        for (long day = 0; day < days && outstanding.compareTo(BigDecimal.ZERO) > 0; day++) {
+            for (FeeRule feeRule : dailyRules) {
+                BigDecimal dailyFeeAmount = calculateFeeAmount(outstanding, feeRule);
+                if (dailyFeeAmount.compareTo(BigDecimal.ZERO) > 0) {
+                    outstanding = outstanding.add(dailyFeeAmount);
+                    accrued = accrued.add(dailyFeeAmount);
                 }
             }
         }
+        loan.setDailyFeeAccruedThrough(today);
+        if (accrued.compareTo(BigDecimal.ZERO) <= 0) {
+            return Optional.empty();
+        }
+        AppliedFee dailyFee = AppliedFee.builder()
+                .loan(loan)
+                .feeType(FeeType.DAILY_FEE)
+                .amount(accrued)
+                .dateApplied(today)
+                .reason(days == 1 ? "Daily Accrued Fee" : "Daily Accrued Fee - " + days + " days to " + today)
+                .paid(false)
+                .build();
+        appliedFeeRepository.save(dailyFee);
+        loan.setOutstandingAmount(outstanding);
+        loan.setDailyFeeAccruedTotal(loan.getDailyFeeAccruedTotal().add(accrued));
+        return Optional.of(dailyFee);
     }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package org.ezra.lendingservice.service.impl;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.catalog.ProductCatalog;
+import org.ezra.lendingservice.dto.CursorPageResponseDto;
 import org.ezra.lendingservice.dto.LoanProductRequestDto;
 import org.ezra.lendingservice.dto.LoanProductResponseDto;
 import org.ezra.lendingservice.entity.LoanProduct;
@@ -10,6 +12,7 @@ import org.ezra.lendingservice.exception.ValidationException;
 import org.ezra.lendingservice.mapper.LoanProductMapper;
 import org.ezra.lendingservice.repository.LoanProductRepository;
 import org.ezra.lendingservice.service.LoanProductService;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +23,11 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 @Slf4j
 public class LoanProductServiceImpl implements LoanProductService {
+    private static final int MAX_PAGE_SIZE = 500;
 
     private final LoanProductRepository loanProductRepository;
     private final LoanProductMapper loanProductMapper;
+    private final ProductCatalog productCatalog;
 
     @Override
     @Transactional
@@ -37,9 +42,8 @@ public class LoanProductServiceImpl implements LoanProductService {
             throw new ValidationException("Min tenure cannot be greater than max tenure.");
         }
         LoanProduct loanProduct = loanProductMapper.toEntity(productDto);
-        Long currentId = loanProductRepository.findMaxId();
-        loanProduct.setId(currentId + 1);
         LoanProduct savedProduct = loanProductRepository.save(loanProduct);
+        productCatalog.invalidateAfterCommit();
         return loanProductMapper.toDto(savedProduct);
     }
 
@@ -59,4 +63,24 @@ public class LoanProductServiceImpl implements LoanProductService {
                 .map(loanProductMapper::toDto)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<LoanProductResponseDto> getLoanProductsPage(Long afterId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        List<LoanProduct> products = loanProductRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, Limit.of(size + 1));
+        boolean hasMore = products.size() > size;
+        List<LoanProductResponseDto> items = products.stream()
+                .limit(size)
+                .map(loanProductMapper::toDto)
+                .collect(Collectors.toList());
+        return CursorPageResponseDto.<LoanProductResponseDto>builder()
+                .items(items)
+                .nextCursor(hasMore ? items.getLast().getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+}
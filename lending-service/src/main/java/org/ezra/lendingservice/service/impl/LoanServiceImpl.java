@@ -1,69 +1,83 @@
 package org.ezra.lendingservice.service.impl;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
-import org.ezra.lendingservice.client.CustomerServiceClient;
+import org.ezra.lendingservice.amortization.AmortizationEngine;
+import org.ezra.lendingservice.catalog.CatalogProduct;
+import org.ezra.lendingservice.catalog.ProductCatalog;
 import org.ezra.lendingservice.dto.*;
 import org.ezra.lendingservice.entity.*;
-import org.ezra.lendingservice.enums.FeeType;
-import org.ezra.lendingservice.enums.InstallmentStatus;
 import org.ezra.lendingservice.enums.LoanStatus;
+import org.ezra.lendingservice.enums.LoanView;
+import org.ezra.lendingservice.enums.RepaymentItemStatus;
 import org.ezra.lendingservice.enums.TenureType;
 import org.ezra.lendingservice.events.NotificationEventDto;
-import org.ezra.lendingservice.events.NotificationEventProducer;
+import org.ezra.lendingservice.events.NotificationOutbox;
 import org.ezra.lendingservice.exception.LoanProcessingException;
 import org.ezra.lendingservice.exception.ResourceNotFoundException;
 import org.ezra.lendingservice.exception.ValidationException;
 import org.ezra.lendingservice.mapper.LoanMapper;
 import org.ezra.lendingservice.mapper.RepaymentMapper;
-import org.ezra.lendingservice.repository.InstallmentRepository;
 import org.ezra.lendingservice.repository.LoanProductRepository;
 import org.ezra.lendingservice.repository.LoanRepository;
 import org.ezra.lendingservice.repository.RepaymentRepository;
+import org.ezra.lendingservice.service.CustomerProfileService;
 import org.ezra.lendingservice.service.FeeService;
 import org.ezra.lendingservice.service.LoanService;
-import org.springframework.http.ResponseEntity;
+import org.ezra.lendingservice.service.LoanSweepService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class LoanServiceImpl implements LoanService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String DUPLICATE_REPAYMENT_MESSAGE = "Repayment with this transaction reference was already processed.";
 
     private final LoanRepository loanRepository;
     private final LoanProductRepository loanProductRepository;
-    private final InstallmentRepository installmentRepository;
+    private final ProductCatalog productCatalog;
     private final RepaymentRepository repaymentRepository;
+    private final RepaymentAllocator repaymentAllocator;
+    private final RepaymentReferenceFilter repaymentReferenceFilter;
     private final FeeService feeService;
-    private final CustomerServiceClient customerServiceClient;
+    private final AmortizationEngine amortizationEngine;
+    private final CustomerProfileService customerProfileService;
     private final LoanMapper loanMapper;
     private final RepaymentMapper repaymentMapper;
-    private final NotificationEventProducer notificationEventProducer;
+    private final NotificationOutbox notificationOutbox;
+    private final LoanSweepService loanSweepService;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
 
     @Override
     @Transactional
     public LoanResponseDto applyForLoan(LoanApplicationRequestDto applicationDto) {
-        ResponseEntity<CustomerResponseDto> customerResponse = customerServiceClient.getCustomerById(applicationDto.getCustomerId());
-        if (!customerResponse.getStatusCode().is2xxSuccessful() || customerResponse.getBody() == null) {
-            throw new ResourceNotFoundException("Customer not found with ID: " + applicationDto.getCustomerId() + " or customer service unavailable.");
-        }
-        CustomerResponseDto customer = customerResponse.getBody();
-
-        ResponseEntity<Boolean> eligibilityResponse = customerServiceClient.isCustomerEligible(applicationDto.getCustomerId(), applicationDto.getAmount());
-        if (!eligibilityResponse.getStatusCode().is2xxSuccessful() || eligibilityResponse.getBody() == null || !eligibilityResponse.getBody()) {
+        CustomerResponseDto customer = customerProfileService.getCustomer(applicationDto.getCustomerId());
+        if (!customerProfileService.isEligible(customer, applicationDto.getAmount())) {
             throw new LoanProcessingException("Customer is not eligible for the requested loan amount or eligibility check failed.");
         }
-        LoanProduct product = loanProductRepository.findById(applicationDto.getProductId())
+        CatalogProduct product = productCatalog.find(applicationDto.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("LoanProduct not found with ID: " + applicationDto.getProductId()));
 
         if (applicationDto.getAmount().compareTo(product.getMinAmount()) < 0 ||
@@ -77,7 +91,7 @@ public class LoanServiceImpl implements LoanService {
 
         Loan loan = Loan.builder()
                 .customerId(applicationDto.getCustomerId())
-                .loanProduct(product)
+                .loanProduct(loanProductRepository.getReferenceById(product.getId()))
                 .principalAmount(applicationDto.getAmount())
                 .interestRate(product.getInterestRate())
                 .tenure(applicationDto.getTenure())
@@ -96,7 +110,7 @@ public class LoanServiceImpl implements LoanService {
         loan.getAppliedFees().addAll(originationFees);
 
         if (loan.isInstallmentLoan()) {
-            generateInstallmentSchedule(loan);
+            amortizationEngine.applySchedule(loan, product.getAmortizationMethod());
         } else {
             if (product.getTenureType() == TenureType.DAYS) {
                 loan.setFinalDueDate(loan.getOriginationDate().plusDays(loan.getTenure()));
@@ -106,92 +120,92 @@ public class LoanServiceImpl implements LoanService {
             loan.setNextBillingDate(loan.getFinalDueDate());
         }
         Loan savedLoan = loanRepository.save(loan);
-        sendLoanCreationNotification(savedLoan);
+        sendLoanCreationNotification(savedLoan, product.getName());
         return loanMapper.toDto(savedLoan);
     }
 
-    private void generateInstallmentSchedule(Loan loan) {
-        int numberOfInstallments = loan.getTenure();
-        BigDecimal totalLoanAmount = loan.getOutstandingAmount(); // Principal + Origination Fees
-        BigDecimal monthlyPrincipal = loan.getPrincipalAmount().divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
-        BigDecimal annualInterestRate = loan.getInterestRate().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-        BigDecimal loanTermInYears;
-        if (loan.getTenureUnit() == TenureType.MONTHS) {
-            loanTermInYears = BigDecimal.valueOf(loan.getTenure()).divide(BigDecimal.valueOf(12), 4, RoundingMode.HALF_UP);
-        } else {
-            loanTermInYears = BigDecimal.valueOf(loan.getTenure()).divide(BigDecimal.valueOf(365), 4, RoundingMode.HALF_UP); // Approx
-        }
-        BigDecimal totalSimpleInterest = loan.getPrincipalAmount().multiply(annualInterestRate).multiply(loanTermInYears);
-        BigDecimal perInstallmentInterest = totalSimpleInterest.divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
-        BigDecimal totalOriginationFees = loan.getAppliedFees().stream()
-                .filter(af -> af.getFeeType() == FeeType.SERVICE_FEE)
-                .map(AppliedFee::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal perInstallmentFee = totalOriginationFees.divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
-        LocalDate installmentDueDate;
-        List<Installment> installments = new ArrayList<>();
-        for (int i = 1; i <= numberOfInstallments; i++) {
-            if (loan.getTenureUnit() == TenureType.MONTHS) {
-                installmentDueDate = loan.getOriginationDate().plusMonths(i);
-            } else {
-                installmentDueDate = loan.getOriginationDate().plusDays(i);
-            }
-
-            BigDecimal currentPrincipal = (i == numberOfInstallments) ?
-                    loan.getPrincipalAmount().subtract(monthlyPrincipal.multiply(BigDecimal.valueOf(numberOfInstallments - 1))) : monthlyPrincipal;
-            BigDecimal currentInterest = (i == numberOfInstallments) ?
-                    totalSimpleInterest.subtract(perInstallmentInterest.multiply(BigDecimal.valueOf(numberOfInstallments - 1))) : perInstallmentInterest;
-            BigDecimal currentFee = (i == numberOfInstallments) ?
-                    totalOriginationFees.subtract(perInstallmentFee.multiply(BigDecimal.valueOf(numberOfInstallments - 1))) : perInstallmentFee;
-            Installment installment = Installment.builder()
-                    .loan(loan)
-                    .installmentNumber(i)
-                    .dueDate(installmentDueDate)
-                    .principalComponent(currentPrincipal)
-                    .interestComponent(currentInterest)
-                    .feeComponent(currentFee)
-                    .totalAmountDue(currentPrincipal.add(currentInterest).add(currentFee))
-                    .amountPaid(BigDecimal.ZERO)
-                    .status(InstallmentStatus.PENDING)
-                    .build();
-            installments.add(installment);
-        }
-        loan.setInstallments(installments);
-        loan.setFinalDueDate(installments.getLast().getDueDate());
-        loan.setNextBillingDate(installments.getFirst().getDueDate());
-    }
-
-    private void sendLoanCreationNotification(Loan loan) {
+    private void sendLoanCreationNotification(Loan loan, String productName) {
         NotificationEventDto event = NotificationEventDto.builder()
                 .eventType("LOAN_APPLICATION_SUBMITTED")
                 .customerId(loan.getCustomerId())
                 .payload(Map.of(
                         "loanId", loan.getId().toString(),
-                        "productName", loan.getLoanProduct().getName(),
+                        "productName", productName,
                         "amount", loan.getPrincipalAmount().toPlainString(),
                         "status", loan.getStatus().toString()
                 ))
                 .build();
-        notificationEventProducer.sendNotificationEvent(event);
+        notificationOutbox.enqueue(event);
     }
 
 
     @Override
     @Transactional(readOnly = true)
-    public LoanResponseDto getLoanById(Long loanId) {
-        Loan loan = loanRepository.findById(loanId)
-                .orElseThrow(() -> new ResourceNotFoundException("Loan not found with ID: " + loanId));
-        return loanMapper.toDto(loan);
+    public LoanResponseDto getLoanById(Long loanId, LoanView view) {
+        Optional<Loan> loan = view == LoanView.SUMMARY
+                ? loanRepository.findById(loanId)
+                : loanRepository.findDetailById(loanId);
+        return loanMapper.toDto(loan
+                .orElseThrow(() -> new ResourceNotFoundException("Loan not found with ID: " + loanId)), view);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<LoanResponseDto> getLoansByCustomerId(Long customerId) {
-        return loanRepository.findByCustomerId(customerId).stream()
-                .map(loanMapper::toDto)
+    public List<LoanResponseDto> getLoansByCustomerId(Long customerId, LoanView view) {
+        List<Loan> loans = view == LoanView.SUMMARY
+                ? loanRepository.findSummariesByCustomerIdOrderByIdAsc(customerId)
+                : loanRepository.findDetailsByCustomerIdOrderByIdAsc(customerId);
+        return loans.stream()
+                .map(loan -> loanMapper.toDto(loan, view))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<LoanResponseDto> getLoansPageByCustomerId(Long customerId, Long afterId, int size, LoanView view) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        List<Loan> loans = loanRepository.findByCustomerIdAndIdGreaterThanOrderByIdAsc(
+                customerId, afterId != null ? afterId : 0L, Limit.of(size + 1));
+        boolean hasMore = loans.size() > size;
+        List<LoanResponseDto> items = loans.stream()
+                .limit(size)
+                .map(loan -> loanMapper.toDto(loan, view))
+                .collect(Collectors.toList());
+        return CursorPageResponseDto.<LoanResponseDto>builder()
+                .items(items)
+                .nextCursor(hasMore ? items.getLast().getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Streams the customer's loans in id order, mapping them in chunks of the fetch size so their
+     * schedules and fees (detail view only) load in batches, and clearing the persistence context
+     * after each chunk.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamLoansByCustomerId(Long customerId, LoanView view, Consumer<LoanResponseDto> consumer) {
+        try (Stream<Loan> loans = loanRepository.streamByCustomerIdOrderByIdAsc(customerId)) {
+            List<Loan> chunk = new ArrayList<>(LoanRepository.STREAM_FETCH_SIZE);
+            loans.forEach(loan -> {
+                chunk.add(loan);
+                if (chunk.size() == LoanRepository.STREAM_FETCH_SIZE) {
+                    flushChunk(chunk, view, consumer);
+                }
+            });
+            flushChunk(chunk, view, consumer);
+        }
+    }
+
+    private void flushChunk(List<Loan> chunk, LoanView view, Consumer<LoanResponseDto> consumer) {
+        chunk.forEach(loan -> consumer.accept(loanMapper.toDto(loan, view)));
+        chunk.clear();
+        entityManager.clear();
+    }
+
     @Override
     @Transactional
     public LoanResponseDto disburseLoan(Long loanId) {
@@ -208,7 +222,7 @@ public class LoanServiceImpl implements LoanService {
                 .customerId(loan.getCustomerId())
                 .payload(Map.of("loanId", loan.getId().toString(), "disbursementDate", loan.getDisbursementDate().toString()))
                 .build();
-        notificationEventProducer.sendNotificationEvent(event);
+        notificationOutbox.enqueue(event);
 
         return loanMapper.toDto(savedLoan);
     }
@@ -227,7 +241,7 @@ public class LoanServiceImpl implements LoanService {
                     .customerId(loan.getCustomerId())
                     .payload(Map.of("loanId", loan.getId().toString()))
                     .build();
-            notificationEventProducer.sendNotificationEvent(event);
+            notificationOutbox.enqueue(event);
             return loanMapper.toDto(savedLoan);
         } else {
             throw new LoanProcessingException("Loan cannot be cancelled. Current status: " + loan.getStatus() +
@@ -235,15 +249,149 @@ public class LoanServiceImpl implements LoanService {
         }
     }
 
+    /**
+     * Applies one repayment in its own transaction. When the insert trips the unique transaction
+     * reference (a concurrent retry, or a reference stored by another instance that this instance's
+     * filter has not seen), that transaction is rolled back and the stored original is returned.
+     */
     @Override
-    @Transactional
     public RepaymentResponseDto processRepayment(Long loanId, RepaymentRequestDto repaymentDto) {
+        try {
+            return transactionTemplate.execute(status -> applySingleRepayment(loanId, repaymentDto));
+        } catch (DataIntegrityViolationException e) {
+            String reference = transactionReferenceOf(repaymentDto.getTransactionReference());
+            if (reference == null) {
+                throw e;
+            }
+            repaymentReferenceFilter.add(reference);
+            return transactionTemplate.execute(status -> repaymentRepository.findByTransactionReference(reference)
+                    .map(original -> repaymentMapper.toDto(original, DUPLICATE_REPAYMENT_MESSAGE))
+                    .orElseThrow(() -> new LoanProcessingException(
+                            "Repayment with transaction reference " + reference + " is already being processed.")));
+        }
+    }
+
+    private RepaymentResponseDto applySingleRepayment(Long loanId, RepaymentRequestDto repaymentDto) {
+        Optional<Repayment> original = findProcessedRepayment(repaymentDto.getTransactionReference());
+        if (original.isPresent()) {
+            return repaymentMapper.toDto(original.get(), DUPLICATE_REPAYMENT_MESSAGE);
+        }
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new ResourceNotFoundException("Loan not found with ID: " + loanId));
+        Repayment repayment = applyRepayment(loan, repaymentDto, LocalDate.now());
+        if (repayment.getTransactionReference() == null) {
+            repaymentRepository.save(repayment);
+        } else {
+            repaymentRepository.saveAndFlush(repayment);
+            repaymentReferenceFilter.add(repayment.getTransactionReference());
+        }
+        Loan updatedLoan = loanRepository.save(loan);
+        notificationOutbox.enqueue(repaymentReceivedEvent(updatedLoan, repayment.getAmount()));
+        return repaymentMapper.toDto(repayment, repaymentMessage(repayment.getAmount(), updatedLoan.getStatus()));
+    }
+
+    /**
+     * Applies a loan's repayments in the order given, loading and saving the loan once. A repayment
+     * that is rejected or repeats an already processed transaction reference leaves the loan untouched
+     * and the rest are still applied; the customer gets one notification for the total paid.
+     */
+    @Override
+    @Transactional
+    public List<BulkRepaymentResultDto> processRepayments(Long loanId, List<RepaymentRequestDto> repayments) {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new ResourceNotFoundException("Loan not found with ID: " + loanId));
+        LocalDate today = LocalDate.now();
+        List<BulkRepaymentResultDto> results = new ArrayList<>(repayments.size());
+        List<Repayment> applied = new ArrayList<>(repayments.size());
+        List<BulkRepaymentResultDto> appliedResults = new ArrayList<>(repayments.size());
+        Map<String, BulkRepaymentResultDto> appliedByReference = new HashMap<>();
+        List<BulkRepaymentResultDto> duplicatesInBatch = new ArrayList<>();
+        BigDecimal amountPaid = BigDecimal.ZERO;
+        for (RepaymentRequestDto repaymentDto : repayments) {
+            BulkRepaymentResultDto.BulkRepaymentResultDtoBuilder result = BulkRepaymentResultDto.builder()
+                    .loanId(loanId)
+                    .transactionReference(repaymentDto.getTransactionReference());
+            String reference = transactionReferenceOf(repaymentDto.getTransactionReference());
+            BulkRepaymentResultDto earlier = reference == null ? null : appliedByReference.get(reference);
+            if (earlier != null) {
+                BulkRepaymentResultDto duplicate = duplicateResult(result, earlier.getAmountApplied(), loan);
+                duplicatesInBatch.add(duplicate);
+                results.add(duplicate);
+                continue;
+            }
+            Optional<Repayment> original = findProcessedRepayment(reference);
+            if (original.isPresent()) {
+                results.add(duplicateResult(result.loanId(original.get().getLoan().getId()).repaymentId(original.get().getId()),
+                        original.get().getAmount(), loan));
+                continue;
+            }
+            try {
+                Repayment repayment = applyRepayment(loan, repaymentDto, today);
+                amountPaid = amountPaid.add(repayment.getAmount());
+                BulkRepaymentResultDto appliedResult = result
+                        .status(RepaymentItemStatus.APPLIED)
+                        .amountApplied(repayment.getAmount())
+                        .outstandingAmount(loan.getOutstandingAmount())
+                        .loanStatus(loan.getStatus())
+                        .message(repaymentMessage(repayment.getAmount(), loan.getStatus()))
+                        .build();
+                applied.add(repayment);
+                appliedResults.add(appliedResult);
+                results.add(appliedResult);
+                if (reference != null) {
+                    appliedByReference.put(reference, appliedResult);
+                }
+            } catch (ValidationException | LoanProcessingException e) {
+                results.add(result
+                        .status(RepaymentItemStatus.REJECTED)
+                        .outstandingAmount(loan.getOutstandingAmount())
+                        .loanStatus(loan.getStatus())
+                        .message(e.getMessage())
+                        .build());
+            }
+        }
+        if (!applied.isEmpty()) {
+            repaymentRepository.saveAll(applied);
+            for (int i = 0; i < applied.size(); i++) {
+                appliedResults.get(i).setRepaymentId(applied.get(i).getId());
+            }
+            for (BulkRepaymentResultDto duplicate : duplicatesInBatch) {
+                duplicate.setRepaymentId(appliedByReference.get(transactionReferenceOf(duplicate.getTransactionReference())).getRepaymentId());
+            }
+            appliedByReference.keySet().forEach(repaymentReferenceFilter::add);
+            notificationOutbox.enqueue(repaymentReceivedEvent(loanRepository.save(loan), amountPaid));
+        }
+        return results;
+    }
+
+    private Optional<Repayment> findProcessedRepayment(String transactionReference) {
+        String reference = transactionReferenceOf(transactionReference);
+        if (reference == null || !repaymentReferenceFilter.mightContain(reference)) {
+            return Optional.empty();
+        }
+        return repaymentRepository.findByTransactionReference(reference);
+    }
+
+    private static String transactionReferenceOf(String transactionReference) {
+        return StringUtils.hasText(transactionReference) ? transactionReference : null;
+    }
+
+    private BulkRepaymentResultDto duplicateResult(BulkRepaymentResultDto.BulkRepaymentResultDtoBuilder result,
+                                                   BigDecimal amount, Loan loan) {
+        return result
+                .status(RepaymentItemStatus.DUPLICATE)
+                .amountApplied(amount)
+                .outstandingAmount(loan.getOutstandingAmount())
+                .loanStatus(loan.getStatus())
+                .message(DUPLICATE_REPAYMENT_MESSAGE)
+                .build();
+    }
+
+    private Repayment applyRepayment(Loan loan, RepaymentRequestDto repaymentDto, LocalDate today) {
         if (loan.getStatus() == LoanStatus.CLOSED || loan.getStatus() == LoanStatus.WRITTEN_OFF || loan.getStatus() == LoanStatus.CANCELLED) {
             throw new LoanProcessingException("Cannot process repayment for loan in status: " + loan.getStatus());
         }
-        if (repaymentDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+        if (repaymentDto.getAmount() == null || repaymentDto.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
             throw new ValidationException("Repayment amount must be positive.");
         }
         if (repaymentDto.getAmount().compareTo(loan.getOutstandingAmount()) > 0) {
@@ -254,39 +402,10 @@ public class LoanServiceImpl implements LoanService {
                 .amount(repaymentDto.getAmount())
                 .paymentDateTime(LocalDateTime.now())
                 .paymentMethod(repaymentDto.getPaymentMethod())
-                .transactionReference(repaymentDto.getTransactionReference())
+                .transactionReference(transactionReferenceOf(repaymentDto.getTransactionReference()))
                 .build();
-        BigDecimal remainingRepaymentAmount = repaymentDto.getAmount();
-        List<AppliedFee> unpaidAdhocFees = loan.getAppliedFees().stream()
-                .filter(fee -> !fee.isPaid() && fee.getFeeType() != FeeType.SERVICE_FEE)
-                .toList();
-
-        for (AppliedFee fee : unpaidAdhocFees) {
-            if (remainingRepaymentAmount.compareTo(BigDecimal.ZERO) <= 0) break;
-            BigDecimal amountToPayFee = fee.getAmount().min(remainingRepaymentAmount);
-            fee.setPaid(true);
-            remainingRepaymentAmount = remainingRepaymentAmount.subtract(amountToPayFee);
-        }
-        if (loan.isInstallmentLoan()) {
-            List<Installment> pendingInstallments = installmentRepository.findByLoanIdAndStatusOrderByDueDateAsc(loanId, InstallmentStatus.PENDING);
-            List<Installment> overdueInstallments = installmentRepository.findByLoanIdAndStatusOrderByDueDateAsc(loanId, InstallmentStatus.OVERDUE);
-            List<Installment> dueInstallments = new ArrayList<>(overdueInstallments);
-            dueInstallments.addAll(pendingInstallments);
-            for (Installment inst : dueInstallments) {
-                if (remainingRepaymentAmount.compareTo(BigDecimal.ZERO) <= 0) break;
-                BigDecimal dueForInstallment = inst.getTotalAmountDue().subtract(inst.getAmountPaid());
-                BigDecimal paymentForThisInstallment = remainingRepaymentAmount.min(dueForInstallment);
-                inst.setAmountPaid(inst.getAmountPaid().add(paymentForThisInstallment));
-                remainingRepaymentAmount = remainingRepaymentAmount.subtract(paymentForThisInstallment);
-                if (inst.getAmountPaid().compareTo(inst.getTotalAmountDue()) >= 0) {
-                    inst.setStatus(InstallmentStatus.PAID);
-                    inst.setPaymentDate(LocalDate.now());
-                }
-                if (repayment.getInstallment() == null && paymentForThisInstallment.compareTo(BigDecimal.ZERO) > 0) {
-                    repayment.setInstallment(inst);
-                }
-            }
-        }
+        RepaymentAllocator.Allocation allocation = repaymentAllocator.allocate(loan, repaymentDto.getAmount(), today);
+        repayment.setInstallment(allocation.installment());
         loan.setTotalRepaidAmount(loan.getTotalRepaidAmount().add(repaymentDto.getAmount()));
         loan.setOutstandingAmount(loan.getOutstandingAmount().subtract(repaymentDto.getAmount()));
 
@@ -295,85 +414,40 @@ public class LoanServiceImpl implements LoanService {
             loan.setStatus(LoanStatus.CLOSED);
             loan.setNextBillingDate(null);
         } else {
-            if (loan.getStatus() == LoanStatus.OVERDUE) {
-                boolean hasOverdueInstallments = loan.getInstallments().stream()
-                        .anyMatch(i -> i.getStatus() == InstallmentStatus.OVERDUE && i.getDueDate().isBefore(LocalDate.now()));
-                if (!hasOverdueInstallments) {
-                    loan.setStatus(LoanStatus.OPEN);
-                }
+            if (loan.getStatus() == LoanStatus.OVERDUE && !allocation.overdue()) {
+                loan.setStatus(LoanStatus.OPEN);
+            }
+            if (allocation.nextBillingDate() != null) {
+                loan.setNextBillingDate(allocation.nextBillingDate());
             }
-            loan.getInstallments().stream()
-                    .filter(i -> i.getStatus() == InstallmentStatus.PENDING || i.getStatus() == InstallmentStatus.OVERDUE)
-                    .map(Installment::getDueDate)
-                    .min(LocalDate::compareTo)
-                    .ifPresent(loan::setNextBillingDate);
         }
+        return repayment;
+    }
 
-        repaymentRepository.save(repayment);
-        loan.getRepayments().add(repayment);
-        Loan updatedLoan = loanRepository.save(loan);
-        NotificationEventDto event = NotificationEventDto.builder()
+    private NotificationEventDto repaymentReceivedEvent(Loan loan, BigDecimal amountPaid) {
+        return NotificationEventDto.builder()
                 .eventType("REPAYMENT_RECEIVED")
                 .customerId(loan.getCustomerId())
                 .payload(Map.of(
                         "loanId", loan.getId().toString(),
-                        "amountPaid", repaymentDto.getAmount().toPlainString(),
-                        "outstandingAmount", updatedLoan.getOutstandingAmount().toPlainString(),
-                        "loanStatus", updatedLoan.getStatus().toString()
+                        "amountPaid", amountPaid.toPlainString(),
+                        "outstandingAmount", loan.getOutstandingAmount().toPlainString(),
+                        "loanStatus", loan.getStatus().toString()
                 ))
                 .build();
-        notificationEventProducer.sendNotificationEvent(event);
-        String message = "Repayment of " + repaymentDto.getAmount() + " processed successfully.";
-        if (updatedLoan.getStatus() == LoanStatus.CLOSED) {
+    }
+
+    private String repaymentMessage(BigDecimal amount, LoanStatus loanStatus) {
+        String message = "Repayment of " + amount + " processed successfully.";
+        if (loanStatus == LoanStatus.CLOSED) {
             message += " Loan is now closed.";
         }
-        return repaymentMapper.toDto(repayment, message);
+        return message;
     }
 
 
     @Override
-    @Transactional
     public void processOverdueLoans() {
-        LocalDate today = LocalDate.now();
-        List<LoanStatus> statusesToProcess = Arrays.asList(LoanStatus.OPEN, LoanStatus.OVERDUE);
-        List<Loan> loansToCheck = loanRepository.findByStatusIn(statusesToProcess);
-        for (Loan loan : loansToCheck) {
-            boolean madeOverdue = false;
-            if (loan.isInstallmentLoan()) {
-                for (Installment installment : loan.getInstallments()) {
-                    if ((installment.getStatus() == InstallmentStatus.PENDING || installment.getStatus() == InstallmentStatus.OVERDUE) &&
-                            installment.getDueDate().isBefore(today) &&
-                            installment.getAmountPaid().compareTo(installment.getTotalAmountDue()) < 0) {
-                        if (installment.getStatus() != InstallmentStatus.OVERDUE) {
-                            installment.setStatus(InstallmentStatus.OVERDUE);
-                        }
-                        feeService.applyLateFeeIfNeeded(loan, installment);
-                        madeOverdue = true;
-                    }
-                }
-            } else {
-                if (loan.getFinalDueDate() != null && loan.getFinalDueDate().isBefore(today) &&
-                        loan.getOutstandingAmount().compareTo(BigDecimal.ZERO) > 0) {
-                    madeOverdue = true;
-                    feeService.applyLateFeeIfNeeded(loan);
-                }
-            }
-
-            if (madeOverdue && loan.getStatus() != LoanStatus.OVERDUE) {
-                loan.setStatus(LoanStatus.OVERDUE);
-                NotificationEventDto event = NotificationEventDto.builder()
-                        .eventType("LOAN_OVERDUE")
-                        .customerId(loan.getCustomerId())
-                        .payload(Map.of(
-                                "loanId", loan.getId().toString(),
-                                "outstandingAmount", loan.getOutstandingAmount().toPlainString()
-                        ))
-                        .build();
-                notificationEventProducer.sendNotificationEvent(event);
-            }
-
-            feeService.applyDailyFees(loan);
-            loanRepository.save(loan);
-        }
+        loanSweepService.sweepOverdueLoans(LocalDate.now());
     }
 }
\ No newline at end of file
@@ -0,0 +1,249 @@
+package org.ezra.lendingservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.dto.SweepReportDto;
+import org.ezra.lendingservice.entity.SweepCheckpoint;
+import org.ezra.lendingservice.entity.SweepRun;
+import org.ezra.lendingservice.enums.LoanStatus;
+import org.ezra.lendingservice.exception.LoanProcessingException;
+import org.ezra.lendingservice.repository.LoanRepository;
+import org.ezra.lendingservice.service.LoanSweepService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Overdue-loan sweep in two phases. {@link OverdueMarker} first flips everything that fell due to
+ * OVERDUE with set-based updates. The fee phase then splits the id space of the loans that can owe
+ * fees ({@link LoanRepository#FEE_SWEEP_SCOPE}) into contiguous ranges, walks each range with keyset
+ * paging on a bounded worker pool and hands every page to {@link OverdueLoanChunkProcessor} in its
+ * own transaction. Partitions are persisted as checkpoints of a {@link SweepRun}, so an interrupted
+ * or failed run picks up after the last committed chunk of each unfinished partition. A loan that
+ * still fails on its own is recorded against the run and retried before the partitions on the
+ * run's next attempt, and the run stays PARTIALLY_FAILED until no such loan is left.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoanSweepServiceImpl implements LoanSweepService {
+
+    static final List<LoanStatus> SWEEPABLE_STATUSES = List.of(LoanStatus.OPEN, LoanStatus.OVERDUE);
+
+    private final LoanRepository loanRepository;
+    private final OverdueMarker overdueMarker;
+    private final OverdueLoanChunkProcessor chunkProcessor;
+    private final SweepRunStore sweepRunStore;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.sweep.partitions:8}")
+    private int partitionCount;
+
+    @Value("${app.sweep.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${app.sweep.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.sweep.progress-log-interval:20}")
+    private int progressLogInterval;
+
+    @Override
+    public SweepReportDto sweepOverdueLoans(LocalDate businessDate) {
+        return exclusively(() -> {
+            List<Long> markedOverdue = overdueMarker.markOverdue(businessDate);
+            SweepRun run = sweepRunStore.findResumableRun(businessDate)
+                    .map(resumed -> {
+                        log.info("Resuming sweep run {} for {} (attempt {}).", resumed.getId(), businessDate, resumed.getAttempts());
+                        return resumed;
+                    })
+                    .orElseGet(() -> sweepRunStore.startRun(businessDate, planPartitions()));
+            return execute(run, markedOverdue);
+        });
+    }
+
+    @Override
+    public Optional<SweepReportDto> resumeInterruptedRun() {
+        return exclusively(() -> sweepRunStore.findInterruptedRun()
+                .map(run -> {
+                    log.info("Resuming interrupted sweep run {} for {} (attempt {}).",
+                            run.getId(), run.getBusinessDate(), run.getAttempts());
+                    return execute(run, overdueMarker.markOverdue(run.getBusinessDate()));
+                }));
+    }
+
+    private <T> T exclusively(Supplier<T> sweep) {
+        if (!running.compareAndSet(false, true)) {
+            throw new LoanProcessingException("A loan sweep is already running in this instance.");
+        }
+        try {
+            return sweep.get();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private SweepReportDto execute(SweepRun run, List<Long> markedOverdue) {
+        long startedAt = System.nanoTime();
+        LocalDate businessDate = run.getBusinessDate();
+        List<SweepCheckpoint> checkpoints = sweepRunStore.findPendingCheckpoints(run.getId());
+        SweepProgress progress = new SweepProgress(startedAt);
+        log.info("Sweep run {} for {}: {} of {} partitions pending on {} workers (chunk size {}).",
+                run.getId(), businessDate, checkpoints.size(), run.getPartitions(), workerThreads, chunkSize);
+
+        retryFailedLoans(run, progress);
+        if (!checkpoints.isEmpty()) {
+            try (ExecutorService workers = Executors.newFixedThreadPool(
+                    Math.max(1, Math.min(workerThreads, checkpoints.size())),
+                    Thread.ofPlatform().name("loan-sweep-", 0).factory())) {
+                CompletableFuture<?>[] tasks = checkpoints.stream()
+                        .map(checkpoint -> CompletableFuture.runAsync(() -> sweepPartition(run.getId(), checkpoint, businessDate, progress), workers))
+                        .toArray(CompletableFuture[]::new);
+                CompletableFuture.allOf(tasks).join();
+            }
+        }
+
+        long durationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        SweepRun finished = sweepRunStore.finishRun(run.getId(), progress.partitionsFailed.get(), durationMillis);
+        SweepReportDto report = SweepReportDto.builder()
+                .sweepRunId(finished.getId())
+                .businessDate(businessDate)
+                .status(finished.getStatus())
+                .attempts(finished.getAttempts())
+                .partitions(finished.getPartitions())
+                .loansMarkedOverdue(markedOverdue.size())
+                .loansProcessed(finished.getLoansProcessed())
+                .loansFailed(finished.getLoansFailed())
+                .partitionsFailed(finished.getPartitionsFailed())
+                .durationMillis(finished.getDurationMillis())
+                .loansPerSecond(finished.getLoansPerSecond())
+                .build();
+        log.info("Sweep run {} for {} {}: {} loans processed, {} failed, {} partitions failed in {} ms ({} loans/s).",
+                report.getSweepRunId(), businessDate, report.getStatus(), report.getLoansProcessed(), report.getLoansFailed(),
+                report.getPartitionsFailed(), report.getDurationMillis(), String.format("%.1f", report.getLoansPerSecond()));
+        return report;
+    }
+
+    List<SweepPartition> planPartitions() {
+        Long minId = loanRepository.findMinFeeSweepId();
+        Long maxId = loanRepository.findMaxFeeSweepId();
+        if (minId == null || maxId == null) {
+            return List.of();
+        }
+        long span = maxId - minId + 1;
+        int count = (int) Math.max(1, Math.min(partitionCount, span));
+        long width = (span + count - 1) / count;
+        List<SweepPartition> partitions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long lowerBound = minId + i * width;
+            if (lowerBound > maxId) {
+                break;
+            }
+            long upperBound = Math.min(maxId, lowerBound + width - 1);
+            partitions.add(new SweepPartition(i, lowerBound, upperBound));
+        }
+        return partitions;
+    }
+
+    private void retryFailedLoans(SweepRun run, SweepProgress progress) {
+        List<Long> failedLoanIds = sweepRunStore.findFailedLoanIds(run.getId());
+        if (failedLoanIds.isEmpty()) {
+            return;
+        }
+        log.info("Sweep run {}: retrying {} loans that failed on an earlier attempt.", run.getId(), failedLoanIds.size());
+        int processed = 0;
+        int failed = 0;
+        for (Long id : failedLoanIds) {
+            try {
+                processed += chunkProcessor.processChunk(List.of(id), run.getBusinessDate(), null);
+                sweepRunStore.clearFailedLoan(run.getId(), id);
+            } catch (RuntimeException loanFailure) {
+                failed++;
+                log.error("Retry of loan {} failed again: {}", id, loanFailure.getMessage(), loanFailure);
+                sweepRunStore.recordFailedLoan(run.getId(), id, loanFailure.getMessage());
+            }
+        }
+        progress.recordChunk(processed, failed, progressLogInterval);
+    }
+
+    private void sweepPartition(Long sweepRunId, SweepCheckpoint checkpoint, LocalDate businessDate, SweepProgress progress) {
+        long afterId = checkpoint.getLastProcessedId();
+        try {
+            while (true) {
+                List<Long> ids = loanRepository.findFeeSweepIds(afterId, checkpoint.getUpperBound(), PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                processChunk(sweepRunId, ids, businessDate, checkpoint.getId(), progress);
+                afterId = ids.getLast();
+            }
+            sweepRunStore.completePartition(checkpoint.getId());
+        } catch (RuntimeException e) {
+            log.error("Sweep partition {} [{}..{}] aborted after loan {}: {}", checkpoint.getPartitionIndex(),
+                    checkpoint.getLowerBound(), checkpoint.getUpperBound(), afterId, e.getMessage(), e);
+            progress.partitionsFailed.incrementAndGet();
+        }
+    }
+
+    private void processChunk(Long sweepRunId, List<Long> ids, LocalDate businessDate, Long checkpointId, SweepProgress progress) {
+        try {
+            progress.recordChunk(chunkProcessor.processChunk(ids, businessDate, checkpointId), 0, progressLogInterval);
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Chunk of {} loans starting at {} failed ({}); retrying loans individually.",
+                    ids.size(), ids.getFirst(), chunkFailure.getMessage());
+            int processed = 0;
+            int failed = 0;
+            for (Long id : ids) {
+                try {
+                    processed += chunkProcessor.processChunk(List.of(id), businessDate, checkpointId);
+                } catch (RuntimeException loanFailure) {
+                    failed++;
+                    log.error("Failed to sweep loan {}: {}", id, loanFailure.getMessage(), loanFailure);
+                    sweepRunStore.recordFailedLoan(sweepRunId, id, loanFailure.getMessage());
+                }
+            }
+            progress.recordChunk(processed, failed, progressLogInterval);
+        }
+    }
+
+    record SweepPartition(int index, long lowerBound, long upperBound) {
+    }
+
+    private static final class SweepProgress {
+        private final long startedAt;
+        private final AtomicLong loansProcessed = new AtomicLong();
+        private final AtomicLong loansFailed = new AtomicLong();
+        private final AtomicLong chunks = new AtomicLong();
+        private final AtomicLong partitionsFailed = new AtomicLong();
+
+        private SweepProgress(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private void recordChunk(int processed, int failed, int logInterval) {
+            long processedSoFar = loansProcessed.addAndGet(processed);
+            long failedSoFar = loansFailed.addAndGet(failed);
+            if (logInterval > 0 && chunks.incrementAndGet() % logInterval == 0) {
+                log.info("Sweep progress: {} loans processed, {} failed, {} loans/s.",
+                        processedSoFar, failedSoFar, String.format("%.1f", loansPerSecond()));
+            }
+        }
+
+        private double loansPerSecond() {
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000d;
+            return seconds > 0 ? loansProcessed.get() / seconds : 0d;
+        }
+    }
+}
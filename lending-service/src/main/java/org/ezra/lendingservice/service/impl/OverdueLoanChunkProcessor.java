@@ -0,0 +1,69 @@
+package org.ezra.lendingservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.enums.LoanStatus;
+import org.ezra.lendingservice.repository.LoanRepository;
+import org.ezra.lendingservice.repository.SweepCheckpointRepository;
+import org.ezra.lendingservice.service.FeeService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Applies late fees and daily fees to one chunk of loans that {@link OverdueMarker} has already
+ * brought up to date. Each chunk runs in its own short transaction so the sweep never holds a
+ * persistence context larger than a single chunk.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OverdueLoanChunkProcessor {
+
+    private final LoanRepository loanRepository;
+    private final SweepCheckpointRepository sweepCheckpointRepository;
+    private final FeeService feeService;
+
+    /**
+     * Processes the given ascending loan ids and, in the same transaction, moves the
+     * partition checkpoint past the last id so a restarted sweep never repeats the chunk.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int processChunk(List<Long> loanIds, LocalDate today, Long checkpointId) {
+        List<Loan> loans = loanRepository.findAllForSweepByIdIn(loanIds);
+        for (Loan loan : loans) {
+            processLoan(loan, today);
+        }
+        if (checkpointId != null) {
+            sweepCheckpointRepository.advance(checkpointId, loanIds.getLast(), loans.size(), LocalDateTime.now());
+        }
+        return loans.size();
+    }
+
+    void processLoan(Loan loan, LocalDate today) {
+        if (loan.getStatus() != LoanStatus.OPEN && loan.getStatus() != LoanStatus.OVERDUE) {
+            log.debug("Skipping loan {} with status {} picked up by sweep.", loan.getId(), loan.getStatus());
+            return;
+        }
+        if (loan.getStatus() == LoanStatus.OVERDUE) {
+            if (loan.isInstallmentLoan()) {
+                for (Installment installment : loan.getInstallments()) {
+                    if (installment.getStatus() == InstallmentStatus.OVERDUE &&
+                            installment.getAmountPaid().compareTo(installment.getTotalAmountDue()) < 0) {
+                        feeService.applyLateFeeIfNeeded(loan, installment, today);
+                    }
+                }
+            } else {
+                feeService.applyLateFeeIfNeeded(loan, today);
+            }
+        }
+        feeService.applyDailyFees(loan, today);
+    }
+}
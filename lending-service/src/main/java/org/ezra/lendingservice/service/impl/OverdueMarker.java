@@ -0,0 +1,96 @@
+package org.ezra.lendingservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.enums.LoanStatus;
+import org.ezra.lendingservice.enums.ProducerProfile;
+import org.ezra.lendingservice.events.NotificationEventDto;
+import org.ezra.lendingservice.events.NotificationOutbox;
+import org.ezra.lendingservice.exception.LoanProcessingException;
+import org.ezra.lendingservice.repository.InstallmentRepository;
+import org.ezra.lendingservice.repository.LoanRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based first phase of the overdue sweep. Unpaid installments and lump-sum loans that fell due
+ * before the business date are found through the status and due-date indexes and flipped to
+ * OVERDUE with bulk UPDATEs, so a run costs in proportion to what newly fell due rather than to the
+ * size of the book. Open loans in a chunk are row-locked before the update, so only loans this run
+ * actually moves from OPEN to OVERDUE get their LOAN_OVERDUE notification, in the same transaction
+ * as the update.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OverdueMarker {
+
+    private final InstallmentRepository installmentRepository;
+    private final LoanRepository loanRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.sweep.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Marks everything that fell due before {@code businessDate} as overdue, one transaction per
+     * chunk of loans, and returns the ids of the loans that had installments or a lump sum newly
+     * marked, in ascending order.
+     */
+    public List<Long> markOverdue(LocalDate businessDate) {
+        List<Long> loanIds = new ArrayList<>(installmentRepository.findLoanIdsWithUnpaidDueBefore(
+                InstallmentStatus.PENDING, businessDate, LoanSweepServiceImpl.SWEEPABLE_STATUSES));
+        loanIds.addAll(loanRepository.findLumpSumIdsDueBefore(LoanStatus.OPEN, businessDate));
+        loanIds.sort(null);
+
+        int installmentsMarked = 0;
+        int loansMarked = 0;
+        for (int from = 0; from < loanIds.size(); from += chunkSize) {
+            List<Long> chunk = loanIds.subList(from, Math.min(from + chunkSize, loanIds.size()));
+            Marked marked = transactionTemplate.execute(status -> markChunk(chunk, businessDate));
+            installmentsMarked += marked.installments();
+            loansMarked += marked.loans();
+        }
+        log.info("Overdue marking for {}: {} installments and {} loans marked overdue across {} loans.",
+                businessDate, installmentsMarked, loansMarked, loanIds.size());
+        return loanIds;
+    }
+
+    Marked markChunk(List<Long> loanIds, LocalDate businessDate) {
+        int installments = installmentRepository.updateStatusOfUnpaidDueBefore(
+                loanIds, businessDate, InstallmentStatus.PENDING, InstallmentStatus.OVERDUE);
+        List<LoanRepository.OverdueCandidate> opened = loanRepository.findByIdInAndStatus(loanIds, LoanStatus.OPEN);
+        if (opened.isEmpty()) {
+            return new Marked(installments, 0);
+        }
+        int loans = loanRepository.updateStatus(
+                opened.stream().map(LoanRepository.OverdueCandidate::getId).toList(), LoanStatus.OPEN, LoanStatus.OVERDUE);
+        if (loans != opened.size()) {
+            throw new LoanProcessingException("Expected to mark " + opened.size() + " locked open loans overdue but marked "
+                    + loans + "; rolling back the chunk.");
+        }
+        for (LoanRepository.OverdueCandidate loan : opened) {
+            NotificationEventDto event = NotificationEventDto.builder()
+                    .eventType("LOAN_OVERDUE")
+                    .customerId(loan.getCustomerId())
+                    .payload(Map.of(
+                            "loanId", loan.getId().toString(),
+                            "outstandingAmount", loan.getOutstandingAmount().toPlainString()
+                    ))
+                    .build();
+            notificationOutbox.enqueue(event, ProducerProfile.THROUGHPUT);
+        }
+        return new Marked(installments, loans);
+    }
+
+    record Marked(int installments, int loans) {
+    }
+}
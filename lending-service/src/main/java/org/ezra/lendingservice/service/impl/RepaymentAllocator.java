@@ -0,0 +1,84 @@
+package org.ezra.lendingservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.repository.AppliedFeeRepository;
+import org.ezra.lendingservice.repository.InstallmentRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Allocates a repayment to the loan's unpaid ad-hoc fees and then to its unpaid installments,
+ * oldest due date first. Fees and installments are each read with one query that returns only
+ * unpaid rows, and the pass that allocates also yields the next billing date and whether any
+ * installment is still overdue, so the caller never walks the full schedule.
+ */
+@Component
+@RequiredArgsConstructor
+public class RepaymentAllocator {
+
+    private static final List<InstallmentStatus> UNPAID_STATUSES = List.of(InstallmentStatus.OVERDUE, InstallmentStatus.PENDING);
+
+    private final AppliedFeeRepository appliedFeeRepository;
+    private final InstallmentRepository installmentRepository;
+
+    public Allocation allocate(Loan loan, BigDecimal amount, LocalDate today) {
+        BigDecimal remainingRepaymentAmount = amount;
+        for (AppliedFee fee : appliedFeeRepository.findByLoanIdAndPaidFalseAndFeeTypeNotOrderByIdAsc(loan.getId(), FeeType.SERVICE_FEE)) {
+            if (remainingRepaymentAmount.compareTo(BigDecimal.ZERO) <= 0) break;
+            BigDecimal amountToPayFee = fee.getAmount().min(remainingRepaymentAmount);
+            fee.setPaid(true);
+            remainingRepaymentAmount = remainingRepaymentAmount.subtract(amountToPayFee);
+        }
+        if (!loan.isInstallmentLoan()) {
+            boolean overdue = loan.getFinalDueDate() != null && loan.getFinalDueDate().isBefore(today);
+            return new Allocation(null, null, overdue);
+        }
+
+        Installment firstPaid = null;
+        LocalDate nextBillingDate = null;
+        boolean overdue = false;
+        List<Installment> unpaid = installmentRepository.findByLoanIdAndStatusInOrderByDueDateAscInstallmentNumberAsc(
+                loan.getId(), UNPAID_STATUSES);
+        for (Installment inst : unpaid) {
+            if (remainingRepaymentAmount.compareTo(BigDecimal.ZERO) > 0) {
+                BigDecimal dueForInstallment = inst.getTotalAmountDue().subtract(inst.getAmountPaid());
+                BigDecimal paymentForThisInstallment = remainingRepaymentAmount.min(dueForInstallment);
+                inst.setAmountPaid(inst.getAmountPaid().add(paymentForThisInstallment));
+                remainingRepaymentAmount = remainingRepaymentAmount.subtract(paymentForThisInstallment);
+                if (inst.getAmountPaid().compareTo(inst.getTotalAmountDue()) >= 0) {
+                    inst.setStatus(InstallmentStatus.PAID);
+                    inst.setPaymentDate(today);
+                }
+                if (firstPaid == null && paymentForThisInstallment.compareTo(BigDecimal.ZERO) > 0) {
+                    firstPaid = inst;
+                }
+            }
+            if (inst.getStatus() != InstallmentStatus.PAID) {
+                if (nextBillingDate == null) {
+                    nextBillingDate = inst.getDueDate();
+                }
+                if (inst.getStatus() == InstallmentStatus.OVERDUE && inst.getDueDate().isBefore(today)) {
+                    overdue = true;
+                }
+            }
+        }
+        return new Allocation(firstPaid, nextBillingDate, overdue);
+    }
+
+    /**
+     * @param installment     the first installment the repayment went to, if any
+     * @param nextBillingDate due date of the earliest installment still unpaid, or null if none
+     * @param overdue         whether the loan still has an overdue installment (or, for a lump-sum
+     *                        loan, is past its final due date)
+     */
+    public record Allocation(Installment installment, LocalDate nextBillingDate, boolean overdue) {
+    }
+}
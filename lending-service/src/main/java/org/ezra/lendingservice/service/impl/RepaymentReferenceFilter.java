@@ -0,0 +1,142 @@
+package org.ezra.lendingservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.lendingservice.repository.RepaymentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over the transaction references of stored repayments. A negative answer is
+ * definite, so a new reference needs no duplicate lookup; a positive answer is either a real
+ * duplicate or a false positive (about {@code app.repayment-filter.false-positive-rate} once the
+ * expected number of references is reached) and must be confirmed against the database. Until the
+ * stored references have been loaded at startup every reference is reported as possibly seen.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RepaymentReferenceFilter {
+
+    private final RepaymentRepository repaymentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.repayment-filter.expected-references:1000000}")
+    private int expectedReferences;
+
+    @Value("${app.repayment-filter.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile Bits bits;
+    private volatile boolean loaded;
+
+    public boolean mightContain(String reference) {
+        return !loaded || bits().mightContain(reference);
+    }
+
+    public void add(String reference) {
+        bits().add(reference);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Bits target = bits();
+        AtomicLong count = new AtomicLong();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> references = repaymentRepository.streamTransactionReferences()) {
+                    references.forEach(reference -> {
+                        target.add(reference);
+                        count.incrementAndGet();
+                    });
+                }
+            });
+            loaded = true;
+            log.info("Repayment reference filter loaded with {} references ({} bits, {} hashes).",
+                    count.get(), target.bitCount, target.hashes);
+        } catch (RuntimeException e) {
+            log.warn("Could not load repayment reference filter; every reference will be checked against the database: {}",
+                    e.getMessage());
+        }
+    }
+
+    private Bits bits() {
+        Bits current = bits;
+        if (current == null) {
+            synchronized (this) {
+                current = bits;
+                if (current == null) {
+                    current = new Bits(expectedReferences, falsePositiveRate);
+                    bits = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Lock-free bit set probed with double hashing over one 64-bit hash of the reference.
+     */
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashes;
+
+        Bits(int expectedReferences, double falsePositiveRate) {
+            double n = Math.max(1, expectedReferences);
+            long bitsNeeded = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bitsNeeded + 63) >>> 6));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount << 6;
+            this.hashes = Math.max(1, (int) Math.round(bitCount / n * Math.log(2)));
+        }
+
+        void add(String reference) {
+            long hash = hash(reference);
+            long step = mix(hash) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String reference) {
+            long hash = hash(reference);
+            long step = mix(hash) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String reference) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < reference.length(); i++) {
+                hash ^= reference.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
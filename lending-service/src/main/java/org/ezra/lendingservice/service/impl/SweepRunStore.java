@@ -0,0 +1,135 @@
+package org.ezra.lendingservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.ezra.lendingservice.entity.SweepCheckpoint;
+import org.ezra.lendingservice.entity.SweepFailedLoan;
+import org.ezra.lendingservice.entity.SweepRun;
+import org.ezra.lendingservice.enums.SweepRunStatus;
+import org.ezra.lendingservice.exception.ResourceNotFoundException;
+import org.ezra.lendingservice.repository.SweepCheckpointRepository;
+import org.ezra.lendingservice.repository.SweepFailedLoanRepository;
+import org.ezra.lendingservice.repository.SweepRunRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persists sweep runs, their per-partition checkpoints and the loans that failed on their own.
+ * Every method commits on its own so the run history survives a crash of the sweep that is
+ * writing it.
+ */
+@Component
+@RequiredArgsConstructor
+public class SweepRunStore {
+
+    private final SweepRunRepository sweepRunRepository;
+    private final SweepCheckpointRepository sweepCheckpointRepository;
+    private final SweepFailedLoanRepository sweepFailedLoanRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<SweepRun> findResumableRun(LocalDate businessDate) {
+        return sweepRunRepository.findFirstByBusinessDateAndStatusNotOrderByIdDesc(businessDate, SweepRunStatus.COMPLETED)
+                .map(this::markResumed);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<SweepRun> findInterruptedRun() {
+        return sweepRunRepository.findFirstByStatusOrderByIdDesc(SweepRunStatus.RUNNING)
+                .map(this::markResumed);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public SweepRun startRun(LocalDate businessDate, List<LoanSweepServiceImpl.SweepPartition> partitions) {
+        LocalDateTime now = LocalDateTime.now();
+        SweepRun run = sweepRunRepository.save(SweepRun.builder()
+                .businessDate(businessDate)
+                .status(SweepRunStatus.RUNNING)
+                .startedAt(now)
+                .partitions(partitions.size())
+                .build());
+        sweepCheckpointRepository.saveAll(partitions.stream()
+                .map(partition -> SweepCheckpoint.builder()
+                        .sweepRun(run)
+                        .partitionIndex(partition.index())
+                        .lowerBound(partition.lowerBound())
+                        .upperBound(partition.upperBound())
+                        .lastProcessedId(partition.lowerBound() - 1)
+                        .updatedAt(now)
+                        .build())
+                .toList());
+        return run;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public List<SweepCheckpoint> findPendingCheckpoints(Long sweepRunId) {
+        return sweepCheckpointRepository.findBySweepRunIdAndCompletedFalseOrderByPartitionIndexAsc(sweepRunId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void completePartition(Long checkpointId) {
+        sweepCheckpointRepository.markCompleted(checkpointId, LocalDateTime.now());
+    }
+
+    /**
+     * Records a loan the checkpoint has moved past without sweeping it, so the next attempt of the
+     * run retries it. Recording the same loan again only refreshes the error.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordFailedLoan(Long sweepRunId, Long loanId, String errorMessage) {
+        SweepFailedLoan failedLoan = sweepFailedLoanRepository.findBySweepRunIdAndLoanId(sweepRunId, loanId)
+                .orElseGet(() -> SweepFailedLoan.builder()
+                        .sweepRun(sweepRunRepository.getReferenceById(sweepRunId))
+                        .loanId(loanId)
+                        .build());
+        failedLoan.setErrorMessage(errorMessage == null || errorMessage.length() <= 500 ? errorMessage : errorMessage.substring(0, 500));
+        failedLoan.setFailedAt(LocalDateTime.now());
+        sweepFailedLoanRepository.save(failedLoan);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public List<Long> findFailedLoanIds(Long sweepRunId) {
+        return sweepFailedLoanRepository.findLoanIdsBySweepRunId(sweepRunId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void clearFailedLoan(Long sweepRunId, Long loanId) {
+        sweepFailedLoanRepository.deleteBySweepRunIdAndLoanId(sweepRunId, loanId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public SweepRun finishRun(Long sweepRunId, long partitionsFailed, long durationMillis) {
+        SweepRun run = sweepRunRepository.findById(sweepRunId)
+                .orElseThrow(() -> new ResourceNotFoundException("Sweep run not found with ID: " + sweepRunId));
+        run.setLoansProcessed(sweepCheckpointRepository.sumLoansProcessed(sweepRunId));
+        run.setLoansFailed(sweepFailedLoanRepository.countBySweepRunId(sweepRunId));
+        run.setPartitionsFailed(partitionsFailed);
+        run.setDurationMillis(run.getDurationMillis() + durationMillis);
+        run.setLoansPerSecond(run.getDurationMillis() > 0 ? run.getLoansProcessed() * 1000d / run.getDurationMillis() : 0d);
+        run.setStatus(outcome(partitionsFailed, run.getLoansFailed()));
+        run.setFinishedAt(LocalDateTime.now());
+        return sweepRunRepository.save(run);
+    }
+
+    /**
+     * A run is only COMPLETED when every partition finished and no loan is left to retry; a run
+     * that is not COMPLETED is picked up again by the next sweep of its business date.
+     */
+    static SweepRunStatus outcome(long partitionsFailed, long loansFailed) {
+        if (partitionsFailed > 0) {
+            return SweepRunStatus.FAILED;
+        }
+        return loansFailed > 0 ? SweepRunStatus.PARTIALLY_FAILED : SweepRunStatus.COMPLETED;
+    }
+
+    private SweepRun markResumed(SweepRun run) {
+        run.setStatus(SweepRunStatus.RUNNING);
+        run.setAttempts(run.getAttempts() + 1);
+        run.setFinishedAt(null);
+        return sweepRunRepository.save(run);
+    }
+}
@@ -0,0 +1,29 @@
+ALTER TABLE APPLIED_FEE ADD COLUMN installment_id BIGINT;
+ALTER TABLE APPLIED_FEE ADD COLUMN fee_configuration_id BIGINT;
+ALTER TABLE APPLIED_FEE ADD COLUMN fee_period DATE;
+ALTER TABLE APPLIED_FEE ADD CONSTRAINT fk_applied_fee_installment FOREIGN KEY (installment_id) REFERENCES INSTALLMENT (id);
+ALTER TABLE APPLIED_FEE ADD CONSTRAINT fk_applied_fee_fee_configuration FOREIGN KEY (fee_configuration_id) REFERENCES FEE_CONFIGURATION (id);
+
+-- Late fees applied before this migration only recorded their target in the reason text.
+UPDATE APPLIED_FEE af
+SET installment_id = (SELECT i.id
+                      FROM INSTALLMENT i
+                      WHERE i.loan_id = af.loan_id
+                        AND af.reason = CONCAT('Late Fee - Installment #', i.installment_number))
+WHERE af.fee_type = 'LATE_FEE';
+
+UPDATE APPLIED_FEE af
+SET fee_configuration_id = (SELECT MIN(fc.id)
+                            FROM FEE_CONFIGURATION fc
+                                     JOIN LOAN l ON l.loan_product_id = fc.loan_product_id
+                            WHERE l.id = af.loan_id
+                              AND fc.fee_type = 'LATE_FEE'),
+    fee_period           = CASE
+                               WHEN af.installment_id IS NOT NULL
+                                   THEN (SELECT i.due_date FROM INSTALLMENT i WHERE i.id = af.installment_id)
+                               WHEN af.reason = 'Late Fee - Lump Sum'
+                                   THEN (SELECT l.final_due_date FROM LOAN l WHERE l.id = af.loan_id)
+        END
+WHERE af.fee_type = 'LATE_FEE';
+
+CREATE UNIQUE INDEX uq_applied_fee_late_fee_key ON APPLIED_FEE (loan_id, fee_configuration_id, fee_period);
@@ -0,0 +1 @@
+ALTER TABLE NOTIFICATION_OUTBOX ADD COLUMN claimed_until TIMESTAMP;
@@ -0,0 +1,10 @@
+CREATE TABLE SWEEP_FAILED_LOAN
+(
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sweep_run_id  BIGINT       NOT NULL,
+    loan_id       BIGINT       NOT NULL,
+    error_message VARCHAR(500),
+    failed_at     TIMESTAMP    NOT NULL,
+    FOREIGN KEY (sweep_run_id) REFERENCES SWEEP_RUN (id),
+    CONSTRAINT uq_sweep_failed_loan UNIQUE (sweep_run_id, loan_id)
+);
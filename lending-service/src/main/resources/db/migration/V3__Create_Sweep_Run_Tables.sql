@@ -0,0 +1,33 @@
+CREATE TABLE SWEEP_RUN
+(
+    id                BIGINT AUTO_INCREMENT PRIMARY KEY,
+    business_date     DATE        NOT NULL,
+    status            VARCHAR(50) NOT NULL,
+    started_at        TIMESTAMP   NOT NULL,
+    finished_at       TIMESTAMP,
+    attempts          INT         NOT NULL DEFAULT 1,
+    partitions        INT         NOT NULL,
+    loans_processed   BIGINT      NOT NULL DEFAULT 0,
+    loans_failed      BIGINT      NOT NULL DEFAULT 0,
+    partitions_failed BIGINT      NOT NULL DEFAULT 0,
+    duration_millis   BIGINT      NOT NULL DEFAULT 0,
+    loans_per_second  DOUBLE PRECISION     DEFAULT 0
+);
+CREATE INDEX idx_sweep_run_business_date ON SWEEP_RUN (business_date);
+CREATE INDEX idx_sweep_run_status ON SWEEP_RUN (status);
+
+
+CREATE TABLE SWEEP_CHECKPOINT
+(
+    id                BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sweep_run_id      BIGINT    NOT NULL,
+    partition_index   INT       NOT NULL,
+    lower_bound       BIGINT    NOT NULL,
+    upper_bound       BIGINT    NOT NULL,
+    last_processed_id BIGINT    NOT NULL,
+    loans_processed   BIGINT    NOT NULL DEFAULT 0,
+    completed         BOOLEAN   NOT NULL DEFAULT FALSE,
+    updated_at        TIMESTAMP NOT NULL,
+    FOREIGN KEY (sweep_run_id) REFERENCES SWEEP_RUN (id),
+    CONSTRAINT uq_sweep_checkpoint_partition UNIQUE (sweep_run_id, partition_index)
+);
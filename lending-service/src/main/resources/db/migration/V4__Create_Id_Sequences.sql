@@ -0,0 +1,5 @@
+-- Block-allocated ids (pooled-lo): one sequence call hands out INCREMENT BY ids to a JVM.
+-- INCREMENT BY must match allocationSize on the entity's @SequenceGenerator.
+-- LOAN_PRODUCT starts above the ids assigned by the seed data in V2.
+CREATE SEQUENCE LOAN_PRODUCT_SEQ START WITH 101 INCREMENT BY 50;
+CREATE SEQUENCE APPLIED_FEE_SEQ START WITH 1 INCREMENT BY 50;
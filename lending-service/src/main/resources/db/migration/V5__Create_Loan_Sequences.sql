@@ -0,0 +1,7 @@
+-- Sequence ids let Hibernate batch inserts; IDENTITY columns force one INSERT round trip per row.
+-- INCREMENT BY must match allocationSize on the entity's @SequenceGenerator.
+-- FEE_CONFIGURATION starts above the rows inserted by the seed data in V2.
+CREATE SEQUENCE LOAN_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE INSTALLMENT_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE REPAYMENT_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE FEE_CONFIGURATION_SEQ START WITH 101 INCREMENT BY 50;
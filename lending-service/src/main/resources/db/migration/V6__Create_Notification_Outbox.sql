@@ -0,0 +1,14 @@
+CREATE SEQUENCE NOTIFICATION_OUTBOX_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE NOTIFICATION_OUTBOX
+(
+    id               BIGINT PRIMARY KEY,
+    event_id         VARCHAR(36)  NOT NULL,
+    event_type       VARCHAR(100) NOT NULL,
+    customer_id      BIGINT,
+    payload          CLOB,
+    event_timestamp  BIGINT       NOT NULL,
+    producer_profile VARCHAR(50)  NOT NULL,
+    created_at       TIMESTAMP    NOT NULL,
+    CONSTRAINT uq_notification_outbox_event_id UNIQUE (event_id)
+);
@@ -0,0 +1 @@
+ALTER TABLE LOAN_PRODUCT ADD COLUMN amortization_method VARCHAR(50) DEFAULT 'FLAT' NOT NULL;
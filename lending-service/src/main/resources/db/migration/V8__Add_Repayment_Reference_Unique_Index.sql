@@ -0,0 +1,16 @@
+-- Gateway retries have already stored some references more than once. Blank references carry no
+-- identity and become NULL; every repeat of a reference after its first (lowest id) repayment is
+-- renamed with its own id, so the history stays visible for reconciliation and the constraint holds.
+UPDATE REPAYMENT
+SET transaction_reference = NULL
+WHERE TRIM(transaction_reference) = '';
+
+UPDATE REPAYMENT r
+SET transaction_reference = CONCAT(LEFT(r.transaction_reference, 200), '#DUPLICATE-', r.id)
+WHERE r.transaction_reference IS NOT NULL
+  AND EXISTS (SELECT 1
+              FROM REPAYMENT o
+              WHERE o.transaction_reference = r.transaction_reference
+                AND o.id < r.id);
+
+ALTER TABLE REPAYMENT ADD CONSTRAINT uq_repayment_transaction_reference UNIQUE (transaction_reference);
@@ -0,0 +1,12 @@
+ALTER TABLE LOAN ADD COLUMN daily_fee_accrued_through DATE;
+ALTER TABLE LOAN ADD COLUMN daily_fee_accrued_total DECIMAL(19, 2) DEFAULT 0 NOT NULL;
+
+UPDATE LOAN l
+SET daily_fee_accrued_through = (SELECT MAX(af.date_applied)
+                                 FROM APPLIED_FEE af
+                                 WHERE af.loan_id = l.id
+                                   AND af.fee_type = 'DAILY_FEE'),
+    daily_fee_accrued_total   = COALESCE((SELECT SUM(af.amount)
+                                          FROM APPLIED_FEE af
+                                          WHERE af.loan_id = l.id
+                                            AND af.fee_type = 'DAILY_FEE'), 0);
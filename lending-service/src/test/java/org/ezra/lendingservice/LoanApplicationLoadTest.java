@@ -0,0 +1,153 @@
+package org.ezra.lendingservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ezra.lendingservice.dto.CustomerResponseDto;
+import org.ezra.lendingservice.dto.LoanApplicationRequestDto;
+import org.ezra.lendingservice.scheduler.NotificationOutboxRelay;
+import org.ezra.lendingservice.service.CustomerProfileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Drives concurrent loan applications over HTTP, once on Tomcat's platform-thread pool and once
+ * with the {@code virtual-threads} profile. Both customer-service round trips of {@code applyForLoan}
+ * are simulated with a fixed delay. Tagged {@code load} and excluded from the regular build; run it
+ * with {@code mvn test -Pperformance -Dtest=LoanApplicationLoadTest} and compare the reported
+ * applications/second between runs made with the same heap and core count, e.g.
+ * {@code -Xmx512m -XX:ActiveProcessorCount=4}.
+ */
+@Tag("load")
+class LoanApplicationLoadTest {
+
+    private static final int CLIENTS = 400;
+    private static final int APPLICATIONS = 4000;
+    private static final long REMOTE_CALL_MS = 50;
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads extends LoadScenario {
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("virtual-threads")
+    class VirtualThreads extends LoadScenario {
+    }
+
+    abstract static class LoadScenario {
+
+        @LocalServerPort
+        private int port;
+
+        @Value("${spring.threads.virtual.enabled}")
+        private boolean virtualThreads;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @MockitoBean
+        private CustomerProfileService customerProfileService;
+
+        @MockitoBean
+        private NotificationOutboxRelay notificationOutboxRelay;
+
+        @BeforeEach
+        void simulateCustomerService() {
+            given(customerProfileService.getCustomer(any())).willAnswer(inv -> {
+                Thread.sleep(REMOTE_CALL_MS);
+                return CustomerResponseDto.builder().id(inv.getArgument(0)).loanLimit(BigDecimal.valueOf(100_000)).build();
+            });
+            given(customerProfileService.isEligible(any(), any())).willAnswer(inv -> {
+                Thread.sleep(REMOTE_CALL_MS);
+                return true;
+            });
+        }
+
+        @Test
+        void applyForLoan_concurrentApplicationsPerSecond(TestReporter reporter) throws Exception {
+            String body = objectMapper.writeValueAsString(LoanApplicationRequestDto.builder()
+                    .customerId(1L)
+                    .productId(3L)
+                    .amount(BigDecimal.valueOf(1000))
+                    .tenure(6)
+                    .isInstallmentLoan(true)
+                    .build());
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/lending/loans/apply"))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(60))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+
+            AtomicInteger created = new AtomicInteger();
+            Semaphore inFlight = new Semaphore(CLIENTS);
+            long start;
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+                send(httpClient, request, 50, created);
+                created.set(0);
+                start = System.nanoTime();
+                List<Future<?>> calls = new ArrayList<>(APPLICATIONS);
+                for (int i = 0; i < APPLICATIONS; i++) {
+                    inFlight.acquire();
+                    calls.add(clients.submit(() -> {
+                        try {
+                            send(httpClient, request, 1, created);
+                        } finally {
+                            inFlight.release();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> call : calls) {
+                    call.get();
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            assertEquals(APPLICATIONS, created.get());
+            reporter.publishEntry(Map.of(
+                    "virtualThreads", String.valueOf(virtualThreads),
+                    "applicationsPerSecond", String.format("%.0f", APPLICATIONS / seconds),
+                    "clients", String.valueOf(CLIENTS),
+                    "cores", String.valueOf(Runtime.getRuntime().availableProcessors()),
+                    "maxHeapMb", String.valueOf(Runtime.getRuntime().maxMemory() / (1024 * 1024))));
+        }
+
+        private void send(HttpClient httpClient, HttpRequest request, int times, AtomicInteger created) throws Exception {
+            for (int i = 0; i < times; i++) {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+                    created.incrementAndGet();
+                }
+            }
+        }
+    }
+}
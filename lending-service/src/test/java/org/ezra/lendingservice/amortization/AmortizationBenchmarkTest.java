@@ -0,0 +1,114 @@
+package org.ezra.lendingservice.amortization;
+
+import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.TenureType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Schedule generation throughput and allocation for every strategy over 12- to 360-period terms:
+ * schedules per second, nanoseconds and bytes allocated per installment row. Checks that annuity
+ * factors are computed once per rate and term, and that the per-row cost does not grow with the
+ * length of the schedule. Generates about 70M rows, so it is tagged {@code benchmark} and only runs
+ * with {@code -Pperformance}.
+ */
+@Tag("benchmark")
+class AmortizationBenchmarkTest {
+
+    private static final int[] PERIODS = {12, 24, 60, 120, 240, 360};
+    private static final String[] RATES = {"8.50", "12.00", "18.75", "24.00"};
+    private static final int SAMPLES = 256;
+    private static final int ROWS_PER_ROUND = 1_000_000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private final AnnuityFactors annuityFactors = new AnnuityFactors();
+    private final List<AmortizationStrategy> strategies = List.of(
+            new FlatInterestStrategy(),
+            new ReducingBalanceStrategy(annuityFactors),
+            new InterestOnlyStrategy(annuityFactors));
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private long sink;
+
+    @Test
+    void schedules_costPerRowDoesNotGrowWithTerm(TestReporter reporter) {
+        for (AmortizationStrategy strategy : strategies) {
+            Result shortest = null;
+            Result longest = null;
+            for (int periods : PERIODS) {
+                Result result = measure(strategy, loans(periods));
+                reporter.publishEntry(strategy.method() + "." + periods, String.format("%.0f schedules/s, %.1f ns/row, %d B/row",
+                        result.schedulesPerSecond(), result.nanosPerRow(), result.bytesPerRow()));
+                if (shortest == null) {
+                    shortest = result;
+                }
+                longest = result;
+            }
+            assertTrue(longest.bytesPerRow() <= shortest.bytesPerRow(),
+                    strategy.method() + ": " + longest.bytesPerRow() + " B/row at " + PERIODS[PERIODS.length - 1]
+                            + " periods vs " + shortest.bytesPerRow() + " B/row at " + PERIODS[0]);
+        }
+        assertEquals((long) PERIODS.length * RATES.length, annuityFactors.computations());
+    }
+
+    private List<Loan> loans(int periods) {
+        SplittableRandom random = new SplittableRandom(periods);
+        List<Loan> loans = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            loans.add(Loan.builder()
+                    .principalAmount(BigDecimal.valueOf(random.nextLong(100_000, 100_000_000L), 2))
+                    .interestRate(new BigDecimal(RATES[i % RATES.length]))
+                    .tenure(periods)
+                    .tenureUnit(TenureType.MONTHS)
+                    .originationDate(LocalDate.of(2025, 1, 31))
+                    .appliedFees(new ArrayList<>(List.of(AppliedFee.builder()
+                            .feeType(FeeType.SERVICE_FEE)
+                            .amount(new BigDecimal("75.00"))
+                            .build())))
+                    .installments(new ArrayList<>())
+                    .build());
+        }
+        return loans;
+    }
+
+    private Result measure(AmortizationStrategy strategy, List<Loan> loans) {
+        int periods = loans.getFirst().getTenure();
+        int schedules = Math.max(ROWS_PER_ROUND / periods, SAMPLES);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(strategy, loans, schedules);
+        }
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        run(strategy, loans, schedules);
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        long rows = (long) schedules * periods;
+        return new Result(schedules / (nanos / 1e9), (double) nanos / rows, bytes / rows);
+    }
+
+    private void run(AmortizationStrategy strategy, List<Loan> loans, int schedules) {
+        long accumulated = 0;
+        for (int i = 0; i < schedules; i++) {
+            accumulated += strategy.schedule(loans.get(i % SAMPLES)).getLast().getInstallmentNumber();
+        }
+        sink += accumulated;
+    }
+
+    private record Result(double schedulesPerSecond, double nanosPerRow, long bytesPerRow) {
+    }
+}
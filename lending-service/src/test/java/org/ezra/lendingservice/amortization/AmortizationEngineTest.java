@@ -0,0 +1,57 @@
+package org.ezra.lendingservice.amortization;
+
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.AmortizationMethod;
+import org.ezra.lendingservice.enums.TenureType;
+import org.ezra.lendingservice.exception.LoanProcessingException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmortizationEngineTest {
+
+    private final AnnuityFactors annuityFactors = new AnnuityFactors();
+
+    @Test
+    void applySchedule_usesProductMethodAndSetsBillingDates() {
+        AmortizationEngine engine = new AmortizationEngine(List.of(
+                new FlatInterestStrategy(), new ReducingBalanceStrategy(annuityFactors), new InterestOnlyStrategy(annuityFactors)));
+        Loan loan = ReducingBalanceStrategyTest.loan("1200.00", "12.00", 12, TenureType.MONTHS);
+
+        engine.applySchedule(loan, AmortizationMethod.INTEREST_ONLY);
+
+        assertEquals(12, loan.getInstallments().size());
+        assertEquals(new BigDecimal("1200.00"), loan.getInstallments().getLast().getPrincipalComponent());
+        assertEquals(LocalDate.of(2025, 2, 28), loan.getNextBillingDate());
+        assertEquals(LocalDate.of(2026, 1, 31), loan.getFinalDueDate());
+    }
+
+    @Test
+    void applySchedule_withoutMethodDefaultsToFlat() {
+        AmortizationEngine engine = new AmortizationEngine(List.of(new FlatInterestStrategy()));
+        Loan loan = ReducingBalanceStrategyTest.loan("1200.00", "12.00", 12, TenureType.MONTHS);
+
+        engine.applySchedule(loan, null);
+
+        assertEquals(new BigDecimal("100.00"), loan.getInstallments().getFirst().getPrincipalComponent());
+        assertEquals(new BigDecimal("12.00"), loan.getInstallments().getFirst().getInterestComponent());
+    }
+
+    @Test
+    void applySchedule_unregisteredMethod_throwsLoanProcessingException() {
+        AmortizationEngine engine = new AmortizationEngine(List.of(new FlatInterestStrategy()));
+        Loan loan = ReducingBalanceStrategyTest.loan("1200.00", "12.00", 12, TenureType.MONTHS);
+
+        assertThrows(LoanProcessingException.class, () -> engine.applySchedule(loan, AmortizationMethod.REDUCING_BALANCE));
+    }
+
+    @Test
+    void constructor_duplicateMethod_fails() {
+        assertThrows(IllegalStateException.class,
+                () -> new AmortizationEngine(List.of(new FlatInterestStrategy(), new FlatInterestStrategy())));
+    }
+}
@@ -0,0 +1,30 @@
+package org.ezra.lendingservice.amortization;
+
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.enums.TenureType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InterestOnlyStrategyTest {
+
+    private final InterestOnlyStrategy strategy = new InterestOnlyStrategy(new AnnuityFactors());
+
+    @Test
+    void schedule_chargesPeriodInterestAndRepaysPrincipalLast() {
+        List<Installment> installments = strategy.schedule(
+                ReducingBalanceStrategyTest.loan("12000.00", "12.00", 6, TenureType.MONTHS));
+
+        assertEquals(6, installments.size());
+        for (Installment installment : installments.subList(0, 5)) {
+            assertEquals(new BigDecimal("0.00"), installment.getPrincipalComponent());
+            assertEquals(new BigDecimal("120.00"), installment.getInterestComponent());
+            assertEquals(new BigDecimal("120.00"), installment.getTotalAmountDue());
+        }
+        assertEquals(new BigDecimal("12000.00"), installments.getLast().getPrincipalComponent());
+        assertEquals(new BigDecimal("12120.00"), installments.getLast().getTotalAmountDue());
+    }
+}
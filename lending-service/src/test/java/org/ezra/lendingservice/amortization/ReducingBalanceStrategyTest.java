@@ -0,0 +1,97 @@
+package org.ezra.lendingservice.amortization;
+
+import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.TenureType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReducingBalanceStrategyTest {
+
+    private final AnnuityFactors annuityFactors = new AnnuityFactors();
+    private final ReducingBalanceStrategy strategy = new ReducingBalanceStrategy(annuityFactors);
+
+    @Test
+    void schedule_levelPaymentWithInterestOnOutstandingBalance() {
+        List<Installment> installments = strategy.schedule(loan("100000.00", "12.00", 12, TenureType.MONTHS));
+
+        assertEquals(12, installments.size());
+        Installment first = installments.getFirst();
+        assertEquals(new BigDecimal("1000.00"), first.getInterestComponent());
+        assertEquals(new BigDecimal("7884.88"), first.getPrincipalComponent());
+        assertEquals(new BigDecimal("8884.88"), first.getTotalAmountDue());
+        Installment last = installments.getLast();
+        assertEquals(new BigDecimal("8796.88"), last.getPrincipalComponent());
+        assertEquals(new BigDecimal("87.97"), last.getInterestComponent());
+        assertEquals(LocalDate.of(2025, 1, 31).plusMonths(12), last.getDueDate());
+        assertEquals(new BigDecimal("6618.53"), sum(installments, Installment::getInterestComponent));
+    }
+
+    @Test
+    void schedule_principalComponentsAddUpAndInterestDeclines() {
+        List<Installment> installments = strategy.schedule(loan("2500.37", "18.75", 360, TenureType.DAYS));
+
+        assertEquals(new BigDecimal("2500.37"), sum(installments, Installment::getPrincipalComponent));
+        for (int i = 1; i < installments.size(); i++) {
+            assertTrue(installments.get(i).getInterestComponent().compareTo(installments.get(i - 1).getInterestComponent()) <= 0);
+        }
+    }
+
+    @Test
+    void schedule_zeroRateSplitsPrincipalEvenly() {
+        List<Installment> installments = strategy.schedule(loan("1000.00", "0.00", 3, TenureType.MONTHS));
+
+        assertEquals(new BigDecimal("333.33"), installments.getFirst().getPrincipalComponent());
+        assertEquals(new BigDecimal("333.34"), installments.getLast().getPrincipalComponent());
+        assertEquals(new BigDecimal("0.00"), sum(installments, Installment::getInterestComponent));
+    }
+
+    @Test
+    void schedule_spreadsOriginationFeesEvenly() {
+        Loan loan = loan("1000.00", "10.00", 3, TenureType.MONTHS);
+        loan.getAppliedFees().add(AppliedFee.builder().feeType(FeeType.SERVICE_FEE).amount(new BigDecimal("10.00")).build());
+
+        List<Installment> installments = strategy.schedule(loan);
+
+        assertEquals(new BigDecimal("3.33"), installments.getFirst().getFeeComponent());
+        assertEquals(new BigDecimal("3.34"), installments.getLast().getFeeComponent());
+        Installment first = installments.getFirst();
+        assertEquals(first.getPrincipalComponent().add(first.getInterestComponent()).add(first.getFeeComponent()),
+                first.getTotalAmountDue());
+    }
+
+    @Test
+    void schedule_reusesFactorForSameRateAndTenure() {
+        strategy.schedule(loan("1000.00", "12.0", 12, TenureType.MONTHS));
+        strategy.schedule(loan("5000.00", "12.00", 12, TenureType.MONTHS));
+        strategy.schedule(loan("5000.00", "12.00", 24, TenureType.MONTHS));
+
+        assertEquals(2, annuityFactors.computations());
+    }
+
+    static Loan loan(String principal, String rate, int tenure, TenureType unit) {
+        return Loan.builder()
+                .principalAmount(new BigDecimal(principal))
+                .interestRate(new BigDecimal(rate))
+                .tenure(tenure)
+                .tenureUnit(unit)
+                .originationDate(LocalDate.of(2025, 1, 31))
+                .appliedFees(new ArrayList<>())
+                .installments(new ArrayList<>())
+                .build();
+    }
+
+    static BigDecimal sum(List<Installment> installments, Function<Installment, BigDecimal> component) {
+        return installments.stream().map(component).reduce(new BigDecimal("0.00"), BigDecimal::add);
+    }
+}
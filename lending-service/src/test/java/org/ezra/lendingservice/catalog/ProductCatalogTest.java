@@ -0,0 +1,125 @@
+package org.ezra.lendingservice.catalog;
+
+import org.ezra.lendingservice.entity.FeeConfiguration;
+import org.ezra.lendingservice.entity.LoanProduct;
+import org.ezra.lendingservice.enums.FeeApplicationTime;
+import org.ezra.lendingservice.enums.FeeCalculationType;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.exception.ResourceNotFoundException;
+import org.ezra.lendingservice.repository.LoanProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogTest {
+
+    @Mock
+    private LoanProductRepository loanProductRepository;
+
+    @InjectMocks
+    private ProductCatalog productCatalog;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productCatalog, "missRefreshIntervalMs", 5000L);
+        productCatalog.ticker = now::get;
+    }
+
+    @Test
+    void find_loadsOnceAndServesFromMemory() {
+        when(loanProductRepository.findAll()).thenReturn(List.of(product(1L, "Monthly")));
+
+        productCatalog.find(1L);
+        CatalogProduct product = productCatalog.find(1L).orElseThrow();
+
+        assertEquals("Monthly", product.getName());
+        assertEquals(1, productCatalog.version());
+        verify(loanProductRepository, times(1)).findAll();
+    }
+
+    @Test
+    void feeRules_areIndexedByTypeAndApplicationTime() {
+        LoanProduct product = product(1L, "Monthly");
+        product.setFeeConfigurations(List.of(
+                fee(FeeType.SERVICE_FEE, FeeApplicationTime.ORIGINATION, 10),
+                fee(FeeType.LATE_FEE, null, 5),
+                fee(FeeType.SERVICE_FEE, FeeApplicationTime.POST_DISBURSEMENT, 20),
+                fee(FeeType.SERVICE_FEE, FeeApplicationTime.ORIGINATION, 30)));
+
+        CatalogProduct catalogProduct = CatalogProduct.from(product);
+
+        assertEquals(List.of(BigDecimal.valueOf(10), BigDecimal.valueOf(30)),
+                catalogProduct.feeRules(FeeType.SERVICE_FEE, FeeApplicationTime.ORIGINATION).stream()
+                        .map(FeeRule::feeAmount).toList());
+        assertEquals(3, catalogProduct.feeRules(FeeType.SERVICE_FEE).size());
+        assertEquals(1, catalogProduct.feeRules(FeeType.LATE_FEE).size());
+        assertTrue(catalogProduct.feeRules(FeeType.DAILY_FEE).isEmpty());
+        assertTrue(catalogProduct.feeRules(FeeType.LATE_FEE, FeeApplicationTime.ORIGINATION).isEmpty());
+        assertThrows(UnsupportedOperationException.class,
+                () -> catalogProduct.feeRules(FeeType.SERVICE_FEE).add(null));
+    }
+
+    @Test
+    void invalidate_rebuildsOnNextLookupWithNewVersion() {
+        when(loanProductRepository.findAll())
+                .thenReturn(List.of(product(1L, "Monthly")))
+                .thenReturn(List.of(product(1L, "Monthly"), product(2L, "Weekly")));
+        productCatalog.find(1L);
+
+        productCatalog.invalidateAfterCommit();
+
+        assertEquals("Weekly", productCatalog.require(2L).getName());
+        assertEquals(2, productCatalog.version());
+        verify(loanProductRepository, times(2)).findAll();
+    }
+
+    @Test
+    void find_unknownProductReloadsAtMostOncePerInterval() {
+        when(loanProductRepository.findAll()).thenReturn(List.of(product(1L, "Monthly")));
+
+        assertTrue(productCatalog.find(9L).isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> productCatalog.require(9L));
+        verify(loanProductRepository, times(2)).findAll();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        productCatalog.find(9L);
+        verify(loanProductRepository, times(3)).findAll();
+    }
+
+    private LoanProduct product(Long id, String name) {
+        return LoanProduct.builder()
+                .id(id)
+                .name(name)
+                .minAmount(BigDecimal.valueOf(100))
+                .maxAmount(BigDecimal.valueOf(5000))
+                .interestRate(BigDecimal.TEN)
+                .minTenure(1)
+                .maxTenure(12)
+                .feeConfigurations(List.of())
+                .build();
+    }
+
+    private FeeConfiguration fee(FeeType type, FeeApplicationTime time, long amount) {
+        return FeeConfiguration.builder()
+                .feeType(type)
+                .calculationType(FeeCalculationType.FIXED)
+                .feeAmount(BigDecimal.valueOf(amount))
+                .applicationTime(time)
+                .build();
+    }
+}
@@ -1,11 +1,17 @@
 package org.ezra.lendingservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ezra.lendingservice.dto.BulkRepaymentItemDto;
+import org.ezra.lendingservice.dto.BulkRepaymentResultDto;
+import org.ezra.lendingservice.dto.CursorPageResponseDto;
 import org.ezra.lendingservice.dto.LoanApplicationRequestDto;
 import org.ezra.lendingservice.dto.LoanResponseDto;
 import org.ezra.lendingservice.dto.RepaymentRequestDto;
 import org.ezra.lendingservice.dto.RepaymentResponseDto;
 import org.ezra.lendingservice.enums.LoanStatus;
+import org.ezra.lendingservice.enums.LoanView;
+import org.ezra.lendingservice.enums.RepaymentItemStatus;
+import org.ezra.lendingservice.service.BulkRepaymentService;
 import org.ezra.lendingservice.service.LoanService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,24 +20,31 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(LoanController.class)
+@WebMvcTest(controllers = LoanController.class, properties = "app.bulk-repayment.max-items=3")
 class LoanControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -39,6 +52,9 @@ class LoanControllerTest {
     @MockitoBean
     private LoanService loanService;
 
+    @MockitoBean
+    private BulkRepaymentService bulkRepaymentService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -105,7 +121,7 @@ class LoanControllerTest {
     @Test
     void getLoanById_whenLoanExists_returnsOk() throws Exception {
         Long loanId = 1L;
-        given(loanService.getLoanById(loanId)).willReturn(loanResponseDto);
+        given(loanService.getLoanById(loanId, LoanView.DETAIL)).willReturn(loanResponseDto);
 
         mockMvc.perform(get("/api/v1/lending/loans/{loanId}", loanId)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -117,7 +133,7 @@ class LoanControllerTest {
     void getLoansByCustomerId_returnsOkWithListOfLoans() throws Exception {
         Long customerId = 1L;
         List<LoanResponseDto> loans = Collections.singletonList(loanResponseDto);
-        given(loanService.getLoansByCustomerId(customerId)).willReturn(loans);
+        given(loanService.getLoansByCustomerId(customerId, LoanView.DETAIL)).willReturn(loans);
 
         mockMvc.perform(get("/api/v1/lending/loans/customer/{customerId}", customerId)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -126,6 +142,38 @@ class LoanControllerTest {
                 .andExpect(jsonPath("$[0].id", is(loanResponseDto.getId().intValue())));
     }
 
+    @Test
+    void getLoansByCustomerId_summaryView_omitsScheduleAndFees() throws Exception {
+        given(loanService.getLoansByCustomerId(1L, LoanView.SUMMARY)).willReturn(List.of(loanResponseDto));
+
+        mockMvc.perform(get("/api/v1/lending/loans/customer/{customerId}", 1L).param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].installments").doesNotExist())
+                .andExpect(jsonPath("$[0].appliedFees").doesNotExist());
+    }
+
+    @Test
+    void getLoansByCustomerId_unknownView_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/lending/loans/customer/{customerId}", 1L).param("view", "full"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getLoansPageByCustomerId_returnsItemsAndNextCursor() throws Exception {
+        given(loanService.getLoansPageByCustomerId(1L, null, 50, LoanView.DETAIL)).willReturn(CursorPageResponseDto.<LoanResponseDto>builder()
+                .items(List.of(loanResponseDto))
+                .nextCursor(null)
+                .hasMore(false)
+                .build());
+
+        mockMvc.perform(get("/api/v1/lending/loans/customer/{customerId}/page", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
     @Test
     void disburseLoan_returnsOk() throws Exception {
         Long loanId = 1L;
@@ -186,4 +234,60 @@ class LoanControllerTest {
 
         verify(loanService, times(1)).processOverdueLoans();
     }
-}
\ No newline at end of file
+
+    @Test
+    void processRepayments_streamsOneResultPerLine() throws Exception {
+        doAnswer(inv -> {
+            List<BulkRepaymentItemDto> items = inv.getArgument(0);
+            Consumer<BulkRepaymentResultDto> results = inv.getArgument(1);
+            for (int i = 0; i < items.size(); i++) {
+                results.accept(BulkRepaymentResultDto.builder()
+                        .index(i)
+                        .loanId(items.get(i).getLoanId())
+                        .status(RepaymentItemStatus.APPLIED)
+                        .build());
+            }
+            return null;
+        }).when(bulkRepaymentService).processBatch(any(), any());
+        String batch = """
+                {"loanId":1,"amount":100,"paymentMethod":"BANK_TRANSFER","transactionReference":"T1"}
+                {"loanId":2,"amount":50,"paymentMethod":"BANK_TRANSFER","transactionReference":"T2"}
+                """;
+
+        MvcResult started = mockMvc.perform(post("/api/v1/lending/loans/repayments/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(batch))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(startsWith("{\"index\":0,\"loanId\":1,")))
+                .andExpect(content().string(containsString("\n{\"index\":1,\"loanId\":2,")))
+                .andExpect(content().string(endsWith("}\n")));
+    }
+
+    @Test
+    void processRepayments_malformedLine_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/lending/loans/repayments/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"loanId\":1,\"amount\":100}\n{\"loanId\":"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bulkRepaymentService);
+    }
+
+    @Test
+    void processRepayments_overLimit_returnsBadRequestBeforeStreaming() throws Exception {
+        String line = "{\"loanId\":1,\"amount\":10,\"paymentMethod\":\"BANK_TRANSFER\"}\n";
+
+        mockMvc.perform(post("/api/v1/lending/loans/repayments/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(line.repeat(4)))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bulkRepaymentService);
+    }
+}
@@ -0,0 +1,71 @@
+package org.ezra.lendingservice.events;
+
+import org.ezra.lendingservice.enums.ProducerProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationEventProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, NotificationEventDto> kafkaTemplate;
+
+    @Mock
+    private KafkaTemplate<String, NotificationEventDto> throughputKafkaTemplate;
+
+    private NotificationEventProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        producer = new NotificationEventProducer(kafkaTemplate, throughputKafkaTemplate);
+        ReflectionTestUtils.setField(producer, "notificationEventsTopic", "notification-events");
+    }
+
+    @Test
+    void publish_lowLatencyProfileKeysByCustomer() {
+        CompletableFuture<SendResult<String, NotificationEventDto>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq("notification-events"), anyString(), any(NotificationEventDto.class))).thenReturn(pending);
+        NotificationEventDto event = NotificationEventDto.builder().eventId("event-1").eventType("LOAN_DISBURSED").customerId(1L).payload(Map.of()).build();
+
+        assertSame(pending, producer.publish(event, ProducerProfile.LOW_LATENCY));
+
+        verify(kafkaTemplate).send("notification-events", "1", event);
+        verifyNoInteractions(throughputKafkaTemplate);
+    }
+
+    @Test
+    void publish_throughputProfileUsesBatchingTemplate() {
+        CompletableFuture<SendResult<String, NotificationEventDto>> pending = new CompletableFuture<>();
+        when(throughputKafkaTemplate.send(eq("notification-events"), anyString(), any(NotificationEventDto.class))).thenReturn(pending);
+        NotificationEventDto event = NotificationEventDto.builder().eventId("event-1").eventType("LOAN_OVERDUE").customerId(1L).payload(Map.of()).build();
+
+        producer.publish(event, ProducerProfile.THROUGHPUT);
+
+        verify(throughputKafkaTemplate).send("notification-events", "1", event);
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void publish_eventWithoutCustomerIsKeyedByEventId() {
+        NotificationEventDto event = NotificationEventDto.builder().eventId("event-1").eventType("LOAN_OVERDUE").payload(Map.of()).build();
+
+        producer.publish(event, ProducerProfile.LOW_LATENCY);
+
+        verify(kafkaTemplate).send("notification-events", "event-1", event);
+    }
+}
@@ -0,0 +1,72 @@
+package org.ezra.lendingservice.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationEventSerializerTest {
+
+    private static final int WARMUP_EVENTS = 2_000;
+    private static final int MEASURED_EVENTS = 20_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void serialize_writesSameJsonAsPerEventMapper() throws Exception {
+        NotificationEventDto event = event(1);
+
+        byte[] bytes = new NotificationEventSerializer(objectMapper).serialize("notification-events", event);
+
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(event), bytes);
+        assertEquals(event, objectMapper.readValue(bytes, NotificationEventDto.class));
+    }
+
+    @Test
+    void serialize_nullEventIsTombstone() {
+        assertNull(new NotificationEventSerializer(objectMapper).serialize("notification-events", null));
+    }
+
+    /**
+     * Throughput comparison of the previous per-event {@code new ObjectMapper()} against the shared
+     * serializer. Tagged {@code benchmark}, so it only runs with {@code -Pperformance}.
+     */
+    @Test
+    @Tag("benchmark")
+    void serialize_eventsPerSecondAgainstMapperPerEvent(TestReporter reporter) throws Exception {
+        NotificationEventSerializer serializer = new NotificationEventSerializer(objectMapper);
+        for (int i = 0; i < WARMUP_EVENTS; i++) {
+            new ObjectMapper().writeValueAsString(event(i));
+            serializer.serialize("notification-events", event(i));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_EVENTS; i++) {
+            new ObjectMapper().writeValueAsString(event(i));
+        }
+        double perEventMapper = MEASURED_EVENTS / ((System.nanoTime() - start) / 1_000_000_000d);
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_EVENTS; i++) {
+            serializer.serialize("notification-events", event(i));
+        }
+        double sharedWriter = MEASURED_EVENTS / ((System.nanoTime() - start) / 1_000_000_000d);
+
+        reporter.publishEntry("mapperPerEventEventsPerSecond", String.format("%.0f", perEventMapper));
+        reporter.publishEntry("sharedWriterEventsPerSecond", String.format("%.0f", sharedWriter));
+    }
+
+    private NotificationEventDto event(int i) {
+        return NotificationEventDto.builder()
+                .eventId("event-" + i)
+                .eventType("REPAYMENT_RECEIVED")
+                .customerId((long) i)
+                .payload(Map.of("loanId", String.valueOf(i), "amountPaid", "150.00", "outstandingAmount", "850.00"))
+                .timestamp(1_700_000_000_000L + i)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package org.ezra.lendingservice.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinorUnitsTest {
+
+    private static final int CASES = 100_000;
+
+    @Test
+    void of_roundsHalfUpToCents() {
+        assertEquals(1235, MinorUnits.of(new BigDecimal("12.345")));
+        assertEquals(-1235, MinorUnits.of(new BigDecimal("-12.345")));
+        assertEquals(120000, MinorUnits.of(BigDecimal.valueOf(1200)));
+        assertEquals(new BigDecimal("12.30"), MinorUnits.toBigDecimal(1230));
+    }
+
+    @Test
+    void isExact_rejectsSubCentAndOversizedAmounts() {
+        assertTrue(MinorUnits.isExact(new BigDecimal("10.50")));
+        assertTrue(MinorUnits.isExact(new BigDecimal("10.5000")));
+        assertTrue(MinorUnits.isExact(new BigDecimal("1E+3")));
+        assertFalse(MinorUnits.isExact(new BigDecimal("10.505")));
+        assertFalse(MinorUnits.isExact(new BigDecimal("1E+17")));
+    }
+
+    @Test
+    void divideHalfUp_matchesBigDecimalForRandomOperands() {
+        SplittableRandom random = new SplittableRandom(18);
+        for (int i = 0; i < CASES; i++) {
+            long dividend = random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L);
+            long divisor = random.nextBoolean() ? random.nextLong(1, 400) : -random.nextLong(1, 1_000_000_000L);
+            long expected = BigDecimal.valueOf(dividend)
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+            assertEquals(expected, MinorUnits.divideHalfUp(dividend, divisor), dividend + " / " + divisor);
+        }
+    }
+
+    @Test
+    void divideHalfUp_roundsTiesAwayFromZero() {
+        assertEquals(3, MinorUnits.divideHalfUp(5, 2));
+        assertEquals(-3, MinorUnits.divideHalfUp(-5, 2));
+        assertEquals(-3, MinorUnits.divideHalfUp(5, -2));
+        assertEquals(2, MinorUnits.divideHalfUp(7, 4));
+        assertEquals(1, MinorUnits.divideHalfUp(5, 4));
+    }
+
+    @Test
+    void multiplyDivideHalfUp_matchesBigDecimalIncludingLongOverflow() {
+        SplittableRandom random = new SplittableRandom(1018);
+        for (int i = 0; i < CASES; i++) {
+            long a = random.nextLong(-Long.MAX_VALUE / 2, Long.MAX_VALUE / 2);
+            long b = random.nextLong(1, 1_000_000);
+            long divisor = random.nextLong(1, 100_000_000);
+            BigDecimal exact = BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP);
+            if (exact.toBigIntegerExact().bitLength() < 64) {
+                assertEquals(exact.longValueExact(), MinorUnits.multiplyDivideHalfUp(a, b, divisor));
+            } else {
+                assertThrows(ArithmeticException.class, () -> MinorUnits.multiplyDivideHalfUp(a, b, divisor));
+            }
+        }
+    }
+}
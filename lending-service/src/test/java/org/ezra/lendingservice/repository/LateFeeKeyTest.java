@@ -0,0 +1,100 @@
+package org.ezra.lendingservice.repository;
+
+import jakarta.persistence.PersistenceException;
+import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.entity.LoanProduct;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.LoanStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the structured late-fee key lookup and its unique index against the migrated schema.
+ */
+@DataJpaTest
+class LateFeeKeyTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppliedFeeRepository appliedFeeRepository;
+
+    private final LocalDate dueDate = LocalDate.now().minusDays(10);
+
+    @Test
+    void lateFeeKey_isFoundByIndexLookupAndCannotBeInsertedTwice() {
+        Loan loan = lumpSumLoan();
+        Long lateFeeRuleId = lateFeeRuleId(loan);
+        assertFalse(appliedFeeRepository.existsByLoanIdAndFeeConfigurationIdAndFeePeriod(loan.getId(), lateFeeRuleId, dueDate));
+
+        entityManager.persist(lateFee(loan, lateFeeRuleId, dueDate));
+        entityManager.flush();
+
+        assertTrue(appliedFeeRepository.existsByLoanIdAndFeeConfigurationIdAndFeePeriod(loan.getId(), lateFeeRuleId, dueDate));
+        assertFalse(appliedFeeRepository.existsByLoanIdAndFeeConfigurationIdAndFeePeriod(loan.getId(), lateFeeRuleId, dueDate.plusMonths(1)));
+
+        entityManager.persist(lateFee(loan, lateFeeRuleId, dueDate));
+        assertThrows(PersistenceException.class, () -> entityManager.flush());
+    }
+
+    @Test
+    void feesWithoutPeriod_areNotConstrained() {
+        Loan loan = lumpSumLoan();
+        for (int day = 0; day < 2; day++) {
+            entityManager.persist(AppliedFee.builder()
+                    .loan(loan)
+                    .feeType(FeeType.DAILY_FEE)
+                    .amount(BigDecimal.ONE)
+                    .dateApplied(LocalDate.now())
+                    .build());
+        }
+
+        assertDoesNotThrow(() -> entityManager.flush());
+    }
+
+    private Long lateFeeRuleId(Loan loan) {
+        return loan.getLoanProduct().getFeeConfigurations().stream()
+                .filter(config -> config.getFeeType() == FeeType.LATE_FEE)
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+
+    private AppliedFee lateFee(Loan loan, Long feeConfigurationId, LocalDate feePeriod) {
+        return AppliedFee.builder()
+                .loan(loan)
+                .feeType(FeeType.LATE_FEE)
+                .amount(BigDecimal.TEN)
+                .dateApplied(LocalDate.now())
+                .reason("Late Fee - Lump Sum")
+                .feeConfigurationId(feeConfigurationId)
+                .feePeriod(feePeriod)
+                .build();
+    }
+
+    private Loan lumpSumLoan() {
+        LoanProduct product = entityManager.find(LoanProduct.class, 1L);
+        return entityManager.persist(Loan.builder()
+                .customerId(1L)
+                .loanProduct(product)
+                .principalAmount(BigDecimal.valueOf(500))
+                .interestRate(product.getInterestRate())
+                .tenure(1)
+                .tenureUnit(product.getTenureType())
+                .originationDate(dueDate.minusDays(30))
+                .finalDueDate(dueDate)
+                .status(LoanStatus.OVERDUE)
+                .isInstallmentLoan(false)
+                .outstandingAmount(BigDecimal.valueOf(500))
+                .build());
+    }
+}
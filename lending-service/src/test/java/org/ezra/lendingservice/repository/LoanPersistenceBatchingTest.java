@@ -0,0 +1,109 @@
+package org.ezra.lendingservice.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.entity.LoanProduct;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.enums.LoanStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts JDBC statements needed to persist a loan application (loan, fees and installment
+ * schedule) for schedules of increasing length. With sequence ids and batching enabled the
+ * count grows with schedule length / batch size instead of one statement per row.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LoanPersistenceBatchingTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {12, 60, 360})
+    void persistLoanApplication_batchesScheduleAndFeeInserts(int installmentCount) {
+        LoanProduct product = entityManager.find(LoanProduct.class, 4L);
+        Loan loan = buildApplication(product, installmentCount);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        entityManager.persist(loan);
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+        long rows = 1 + loan.getInstallments().size() + loan.getAppliedFees().size();
+        // one insert batch per table plus one sequence call per id block, per 50 installments
+        long installmentBatches = (installmentCount + BATCH_SIZE - 1) / BATCH_SIZE;
+        long budget = 2 * installmentBatches + 4;
+        assertTrue(statements <= budget,
+                "Expected batched inserts but " + rows + " rows took " + statements + " statements (budget " + budget + ")");
+    }
+
+    private Loan buildApplication(LoanProduct product, int installmentCount) {
+        LocalDate today = LocalDate.now();
+        Loan loan = Loan.builder()
+                .customerId(1L)
+                .loanProduct(product)
+                .principalAmount(BigDecimal.valueOf(10_000))
+                .interestRate(product.getInterestRate())
+                .tenure(installmentCount)
+                .tenureUnit(product.getTenureType())
+                .originationDate(today)
+                .status(LoanStatus.PENDING_APPROVAL)
+                .isInstallmentLoan(true)
+                .outstandingAmount(BigDecimal.valueOf(10_100))
+                .build();
+        loan.getAppliedFees().add(AppliedFee.builder()
+                .loan(loan)
+                .feeType(FeeType.SERVICE_FEE)
+                .amount(BigDecimal.valueOf(100))
+                .dateApplied(today)
+                .reason("Origination Service Fee")
+                .build());
+        List<Installment> installments = new ArrayList<>(installmentCount);
+        for (int i = 1; i <= installmentCount; i++) {
+            installments.add(Installment.builder()
+                    .loan(loan)
+                    .installmentNumber(i)
+                    .dueDate(today.plusMonths(i))
+                    .principalComponent(BigDecimal.valueOf(20))
+                    .interestComponent(BigDecimal.valueOf(5))
+                    .totalAmountDue(BigDecimal.valueOf(25))
+                    .status(InstallmentStatus.PENDING)
+                    .build());
+        }
+        loan.setInstallments(installments);
+        loan.setFinalDueDate(installments.getLast().getDueDate());
+        loan.setNextBillingDate(installments.getFirst().getDueDate());
+        return loan;
+    }
+}
@@ -0,0 +1,132 @@
+package org.ezra.lendingservice.repository;
+
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.entity.LoanProduct;
+import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.enums.LoanStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the set-based overdue marking and fee-sweep scope queries against the migrated schema.
+ */
+@DataJpaTest
+class OverdueMarkingQueriesTest {
+
+    private static final List<LoanStatus> SWEEPABLE = List.of(LoanStatus.OPEN, LoanStatus.OVERDUE);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private InstallmentRepository installmentRepository;
+
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void markingQueries_touchOnlyUnpaidItemsThatFellDue() {
+        Loan fallingDue = installmentLoan(4L, LoanStatus.OPEN,
+                installment(1, today.minusDays(3), BigDecimal.ZERO),
+                installment(2, today.plusDays(27), BigDecimal.ZERO));
+        Loan paidUp = installmentLoan(4L, LoanStatus.OPEN, installment(1, today.minusDays(3), BigDecimal.valueOf(25)));
+        Loan closed = installmentLoan(4L, LoanStatus.CLOSED, installment(1, today.minusDays(3), BigDecimal.ZERO));
+        Loan lumpSum = lumpSumLoan(1L, today.minusDays(1));
+        Loan notYetDue = lumpSumLoan(1L, today.plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> installmentLoanIds = installmentRepository.findLoanIdsWithUnpaidDueBefore(InstallmentStatus.PENDING, today, SWEEPABLE);
+        List<Long> lumpSumIds = loanRepository.findLumpSumIdsDueBefore(LoanStatus.OPEN, today);
+
+        assertEquals(List.of(fallingDue.getId()), installmentLoanIds);
+        assertEquals(List.of(lumpSum.getId()), lumpSumIds);
+
+        List<Long> ids = List.of(fallingDue.getId(), lumpSum.getId());
+        assertEquals(1, installmentRepository.updateStatusOfUnpaidDueBefore(ids, today, InstallmentStatus.PENDING, InstallmentStatus.OVERDUE));
+        assertEquals(2, loanRepository.findByIdInAndStatus(ids, LoanStatus.OPEN).size());
+        assertEquals(2, loanRepository.updateStatus(ids, LoanStatus.OPEN, LoanStatus.OVERDUE));
+        assertEquals(0, loanRepository.updateStatus(ids, LoanStatus.OPEN, LoanStatus.OVERDUE));
+        entityManager.clear();
+
+        Loan reloaded = entityManager.find(Loan.class, fallingDue.getId());
+        assertEquals(LoanStatus.OVERDUE, reloaded.getStatus());
+        assertEquals(InstallmentStatus.OVERDUE, reloaded.getInstallments().get(0).getStatus());
+        assertEquals(InstallmentStatus.PENDING, reloaded.getInstallments().get(1).getStatus());
+        assertEquals(LoanStatus.OPEN, entityManager.find(Loan.class, paidUp.getId()).getStatus());
+        assertEquals(LoanStatus.CLOSED, entityManager.find(Loan.class, closed.getId()).getStatus());
+        assertEquals(LoanStatus.OPEN, entityManager.find(Loan.class, notYetDue.getId()).getStatus());
+    }
+
+    @Test
+    void feeSweepScope_coversOverdueLoansAndOpenLoansWithDailyFees() {
+        Loan overdue = installmentLoan(4L, LoanStatus.OVERDUE, installment(1, today.minusDays(3), BigDecimal.ZERO));
+        Loan openWithoutDailyFee = installmentLoan(4L, LoanStatus.OPEN, installment(1, today.plusDays(3), BigDecimal.ZERO));
+        Loan openWithDailyFee = lumpSumLoan(2L, today.plusDays(30));
+        entityManager.flush();
+
+        List<Long> ids = loanRepository.findFeeSweepIds(0L, Long.MAX_VALUE, PageRequest.of(0, 10));
+
+        assertEquals(List.of(overdue.getId(), openWithDailyFee.getId()), ids);
+        assertEquals(overdue.getId(), loanRepository.findMinFeeSweepId());
+        assertEquals(openWithDailyFee.getId(), loanRepository.findMaxFeeSweepId());
+        assertFalse(ids.contains(openWithoutDailyFee.getId()));
+    }
+
+    private Loan installmentLoan(Long productId, LoanStatus status, Installment... installments) {
+        Loan loan = loan(productId, status, true);
+        for (Installment installment : installments) {
+            installment.setLoan(loan);
+            loan.getInstallments().add(installment);
+        }
+        loan.setFinalDueDate(installments[installments.length - 1].getDueDate());
+        return entityManager.persist(loan);
+    }
+
+    private Loan lumpSumLoan(Long productId, LocalDate finalDueDate) {
+        Loan loan = loan(productId, LoanStatus.OPEN, false);
+        loan.setFinalDueDate(finalDueDate);
+        return entityManager.persist(loan);
+    }
+
+    private Loan loan(Long productId, LoanStatus status, boolean installmentLoan) {
+        LoanProduct product = entityManager.find(LoanProduct.class, productId);
+        return Loan.builder()
+                .customerId(1L)
+                .loanProduct(product)
+                .principalAmount(BigDecimal.valueOf(500))
+                .interestRate(product.getInterestRate())
+                .tenure(1)
+                .tenureUnit(product.getTenureType())
+                .originationDate(today.minusDays(30))
+                .status(status)
+                .isInstallmentLoan(installmentLoan)
+                .outstandingAmount(BigDecimal.valueOf(500))
+                .build();
+    }
+
+    private Installment installment(int number, LocalDate dueDate, BigDecimal amountPaid) {
+        return Installment.builder()
+                .installmentNumber(number)
+                .dueDate(dueDate)
+                .principalComponent(BigDecimal.valueOf(20))
+                .interestComponent(BigDecimal.valueOf(5))
+                .totalAmountDue(BigDecimal.valueOf(25))
+                .amountPaid(amountPaid)
+                .status(InstallmentStatus.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package org.ezra.lendingservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrates a schema seeded with the duplicate references gateway retries left behind, and checks
+ * that the unique constraint is added without losing any repayment.
+ */
+class RepaymentReferenceMigrationTest {
+
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        flyway("7").migrate();
+    }
+
+    @Test
+    void v8_renamesRepeatedReferencesAndAddsConstraint() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            long loanId = insertLoan(connection);
+            insertRepayment(connection, 1, loanId, "GW-1");
+            insertRepayment(connection, 2, loanId, "GW-1");
+            insertRepayment(connection, 3, loanId, "GW-1");
+            insertRepayment(connection, 4, loanId, "GW-2");
+            insertRepayment(connection, 5, loanId, " ");
+            insertRepayment(connection, 6, loanId, " ");
+            insertRepayment(connection, 7, loanId, null);
+        }
+
+        flyway("8").migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            assertEquals(List.of("GW-1", "GW-1#DUPLICATE-2", "GW-1#DUPLICATE-3", "GW-2", "null", "null", "null"),
+                    references(connection));
+            long loanId = insertLoan(connection);
+            assertThrows(SQLException.class, () -> insertRepayment(connection, 8, loanId, "GW-2"));
+        }
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration")
+                .target(target)
+                .load();
+    }
+
+    private long insertLoan(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                    INSERT INTO LOAN (customer_id, loan_product_id, principal_amount, interest_rate, outstanding_amount,
+                                      tenure, tenure_unit, status, is_installment_loan)
+                    VALUES (1, 1, 500.00, 10.00, 500.00, 1, 'MONTHS', 'OPEN', FALSE)""", Statement.RETURN_GENERATED_KEYS);
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private void insertRepayment(Connection connection, long id, long loanId, String reference) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO REPAYMENT (id, loan_id, amount, payment_date_time, payment_method, transaction_reference)
+                VALUES (?, ?, 10.00, CURRENT_TIMESTAMP, 'CARD', ?)""")) {
+            statement.setLong(1, id);
+            statement.setLong(2, loanId);
+            statement.setString(3, reference);
+            statement.executeUpdate();
+        }
+    }
+
+    private List<String> references(Connection connection) throws SQLException {
+        List<String> references = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT transaction_reference FROM REPAYMENT ORDER BY id")) {
+            while (rows.next()) {
+                references.add(String.valueOf(rows.getString(1)));
+            }
+        }
+        return references;
+    }
+}
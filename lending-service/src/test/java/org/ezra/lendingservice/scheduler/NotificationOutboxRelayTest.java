@@ -0,0 +1,211 @@
+package org.ezra.lendingservice.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ezra.lendingservice.entity.NotificationOutboxEvent;
+import org.ezra.lendingservice.enums.ProducerProfile;
+import org.ezra.lendingservice.events.NotificationEventDto;
+import org.ezra.lendingservice.events.NotificationEventProducer;
+import org.ezra.lendingservice.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxRelayTest {
+
+    @Mock
+    private NotificationOutboxRepository notificationOutboxRepository;
+    @Mock
+    private NotificationEventProducer notificationEventProducer;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private SendResult<String, NotificationEventDto> sendResult;
+
+    @Captor
+    private ArgumentCaptor<NotificationEventDto> eventCaptor;
+
+    private NotificationOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new NotificationOutboxRelay(notificationOutboxRepository, notificationEventProducer, transactionTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(relay, "claimLeaseMs", 60_000L);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void relay_drainsFullBatchesInIdOrderAndDeletesEachBatchOnce() {
+        when(notificationOutboxRepository.lockOldest(any(Pageable.class)))
+                .thenReturn(List.of(outboxEvent(1L), outboxEvent(2L)))
+                .thenReturn(List.of(outboxEvent(3L)));
+        when(notificationEventProducer.publish(any(NotificationEventDto.class), any(ProducerProfile.class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        relay.relay();
+
+        verify(notificationEventProducer, times(3)).publish(eventCaptor.capture(), eq(ProducerProfile.LOW_LATENCY));
+        assertEquals(List.of("event-1", "event-2", "event-3"),
+                eventCaptor.getAllValues().stream().map(NotificationEventDto::getEventId).toList());
+        assertEquals("1", eventCaptor.getAllValues().getFirst().getPayload().get("loanId"));
+        InOrder inOrder = inOrder(notificationOutboxRepository);
+        inOrder.verify(notificationOutboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        inOrder.verify(notificationOutboxRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    void relayBatch_failedSendKeepsItAndLaterEventsForRetry() {
+        when(notificationOutboxRepository.lockOldest(any(Pageable.class)))
+                .thenReturn(List.of(outboxEvent(1L), outboxEvent(2L)));
+        when(notificationEventProducer.publish(argThat(e -> e != null && "event-1".equals(e.getEventId())), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(notificationEventProducer.publish(argThat(e -> e != null && "event-2".equals(e.getEventId())), any()))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(0, relayed);
+        verify(notificationOutboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(notificationOutboxRepository).releaseClaims(List.of(1L, 2L));
+    }
+
+    @Test
+    void relayBatch_customerSwitchingProfileWaitsForItsEarlierSends() {
+        when(notificationOutboxRepository.lockOldest(any(Pageable.class))).thenReturn(List.of(
+                outboxEvent(1L, 7L, ProducerProfile.THROUGHPUT),
+                outboxEvent(2L, 7L, ProducerProfile.LOW_LATENCY)));
+        when(notificationEventProducer.publish(any(NotificationEventDto.class), eq(ProducerProfile.THROUGHPUT)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertEquals(0, relay.relayBatch());
+
+        verify(notificationEventProducer, never()).publish(any(NotificationEventDto.class), eq(ProducerProfile.LOW_LATENCY));
+        verify(notificationOutboxRepository).releaseClaims(List.of(1L, 2L));
+    }
+
+    @Test
+    void relayBatch_otherCustomersAreNotHeldBackByAProfileSwitch() {
+        when(notificationOutboxRepository.lockOldest(any(Pageable.class))).thenReturn(List.of(
+                outboxEvent(1L, 7L, ProducerProfile.THROUGHPUT),
+                outboxEvent(2L, 8L, ProducerProfile.LOW_LATENCY),
+                outboxEvent(3L, 7L, ProducerProfile.LOW_LATENCY)));
+        when(notificationEventProducer.publish(argThat(e -> e != null && "event-1".equals(e.getEventId())), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(notificationEventProducer.publish(argThat(e -> e != null && "event-2".equals(e.getEventId())), any()))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        relay.relayBatch();
+
+        verify(notificationEventProducer, times(2)).publish(eventCaptor.capture(), any(ProducerProfile.class));
+        assertEquals(List.of("event-1", "event-2"),
+                eventCaptor.getAllValues().stream().map(NotificationEventDto::getEventId).toList());
+        verify(notificationOutboxRepository).releaseClaims(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void relayBatch_profileSwitchAfterAcknowledgementSendsWholeBatch() {
+        when(notificationOutboxRepository.lockOldest(any(Pageable.class))).thenReturn(List.of(
+                outboxEvent(1L, 7L, ProducerProfile.THROUGHPUT),
+                outboxEvent(2L, 7L, ProducerProfile.LOW_LATENCY)));
+        when(notificationEventProducer.publish(any(NotificationEventDto.class), any(ProducerProfile.class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        assertEquals(2, relay.relayBatch());
+
+        InOrder inOrder = inOrder(notificationEventProducer);
+        inOrder.verify(notificationEventProducer).publish(any(NotificationEventDto.class), eq(ProducerProfile.THROUGHPUT));
+        inOrder.verify(notificationEventProducer).publish(any(NotificationEventDto.class), eq(ProducerProfile.LOW_LATENCY));
+        verify(notificationOutboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    void relayBatch_claimsInItsOwnTransactionBeforeSending() {
+        NotificationOutboxEvent event = outboxEvent(1L);
+        when(notificationOutboxRepository.lockOldest(any(Pageable.class))).thenReturn(List.of(event));
+        when(notificationEventProducer.publish(any(NotificationEventDto.class), any(ProducerProfile.class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        relay.relayBatch();
+
+        assertNotNull(event.getClaimedUntil());
+        InOrder inOrder = inOrder(transactionTemplate, notificationEventProducer);
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(notificationEventProducer).publish(any(NotificationEventDto.class), any(ProducerProfile.class));
+        inOrder.verify(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void relayBatch_backsOffWhileAnotherRelayHoldsALiveClaim() {
+        NotificationOutboxEvent claimed = outboxEvent(1L);
+        claimed.setClaimedUntil(LocalDateTime.now().plusSeconds(30));
+        when(notificationOutboxRepository.lockOldest(any(Pageable.class))).thenReturn(List.of(claimed, outboxEvent(2L)));
+
+        assertEquals(0, relay.relayBatch());
+        verifyNoInteractions(notificationEventProducer);
+    }
+
+    @Test
+    void relayBatch_expiredClaimIsSentAgain() {
+        NotificationOutboxEvent abandoned = outboxEvent(1L);
+        abandoned.setClaimedUntil(LocalDateTime.now().minusSeconds(1));
+        when(notificationOutboxRepository.lockOldest(any(Pageable.class))).thenReturn(List.of(abandoned));
+        when(notificationEventProducer.publish(any(NotificationEventDto.class), any(ProducerProfile.class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        assertEquals(1, relay.relayBatch());
+        verify(notificationOutboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void relayBatch_emptyOutboxSendsNothing() {
+        when(notificationOutboxRepository.lockOldest(any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, relay.relayBatch());
+        verifyNoInteractions(notificationEventProducer);
+    }
+
+    private NotificationOutboxEvent outboxEvent(Long id) {
+        return outboxEvent(id, 7L, ProducerProfile.LOW_LATENCY);
+    }
+
+    private NotificationOutboxEvent outboxEvent(Long id, Long customerId, ProducerProfile profile) {
+        return NotificationOutboxEvent.builder()
+                .id(id)
+                .eventId("event-" + id)
+                .eventType("REPAYMENT_RECEIVED")
+                .customerId(customerId)
+                .payload("{\"loanId\":\"" + id + "\"}")
+                .eventTimestamp(1_700_000_000_000L)
+                .producerProfile(profile)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
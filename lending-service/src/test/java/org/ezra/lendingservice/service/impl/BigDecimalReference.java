@@ -0,0 +1,82 @@
+package org.ezra.lendingservice.service.impl;
+
+import org.ezra.lendingservice.catalog.FeeRule;
+import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.FeeCalculationType;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.enums.TenureType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The BigDecimal fee and schedule arithmetic that the minor-unit implementation replaced, kept as
+ * the reference for equivalence tests and the benchmark.
+ */
+final class BigDecimalReference {
+
+    private BigDecimalReference() {
+    }
+
+    static BigDecimal calculateFeeAmount(BigDecimal baseAmount, FeeRule feeRule) {
+        if (feeRule.calculationType() == FeeCalculationType.FIXED) {
+            return feeRule.feeAmount().setScale(2, RoundingMode.HALF_UP);
+        } else if (feeRule.calculationType() == FeeCalculationType.PERCENTAGE) {
+            BigDecimal percentage = feeRule.feeAmount().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+            return baseAmount.multiply(percentage).setScale(2, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.ZERO;
+    }
+
+    static List<Installment> generateInstallmentSchedule(Loan loan) {
+        int numberOfInstallments = loan.getTenure();
+        BigDecimal monthlyPrincipal = loan.getPrincipalAmount().divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
+        BigDecimal annualInterestRate = loan.getInterestRate().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+        BigDecimal loanTermInYears;
+        if (loan.getTenureUnit() == TenureType.MONTHS) {
+            loanTermInYears = BigDecimal.valueOf(loan.getTenure()).divide(BigDecimal.valueOf(12), 4, RoundingMode.HALF_UP);
+        } else {
+            loanTermInYears = BigDecimal.valueOf(loan.getTenure()).divide(BigDecimal.valueOf(365), 4, RoundingMode.HALF_UP);
+        }
+        BigDecimal totalSimpleInterest = loan.getPrincipalAmount().multiply(annualInterestRate).multiply(loanTermInYears);
+        BigDecimal perInstallmentInterest = totalSimpleInterest.divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
+        BigDecimal totalOriginationFees = loan.getAppliedFees().stream()
+                .filter(af -> af.getFeeType() == FeeType.SERVICE_FEE)
+                .map(AppliedFee::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal perInstallmentFee = totalOriginationFees.divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
+        LocalDate installmentDueDate;
+        List<Installment> installments = new ArrayList<>();
+        for (int i = 1; i <= numberOfInstallments; i++) {
+            if (loan.getTenureUnit() == TenureType.MONTHS) {
+                installmentDueDate = loan.getOriginationDate().plusMonths(i);
+            } else {
+                installmentDueDate = loan.getOriginationDate().plusDays(i);
+            }
+            BigDecimal currentPrincipal = (i == numberOfInstallments) ?
+                    loan.getPrincipalAmount().subtract(monthlyPrincipal.multiply(BigDecimal.valueOf(numberOfInstallments - 1))) : monthlyPrincipal;
+            BigDecimal currentInterest = (i == numberOfInstallments) ?
+                    totalSimpleInterest.subtract(perInstallmentInterest.multiply(BigDecimal.valueOf(numberOfInstallments - 1))) : perInstallmentInterest;
+            BigDecimal currentFee = (i == numberOfInstallments) ?
+                    totalOriginationFees.subtract(perInstallmentFee.multiply(BigDecimal.valueOf(numberOfInstallments - 1))) : perInstallmentFee;
+            installments.add(Installment.builder()
+                    .loan(loan)
+                    .installmentNumber(i)
+                    .dueDate(installmentDueDate)
+                    .principalComponent(currentPrincipal)
+                    .interestComponent(currentInterest)
+                    .feeComponent(currentFee)
+                    .totalAmountDue(currentPrincipal.add(currentInterest).add(currentFee))
+                    .amountPaid(BigDecimal.ZERO)
+                    .status(InstallmentStatus.PENDING)
+                    .build());
+        }
+        return installments;
+    }
+}
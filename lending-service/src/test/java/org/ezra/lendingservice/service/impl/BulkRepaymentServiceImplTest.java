@@ -0,0 +1,257 @@
+package org.ezra.lendingservice.service.impl;
+
+import org.ezra.lendingservice.dto.BulkRepaymentItemDto;
+import org.ezra.lendingservice.dto.BulkRepaymentResultDto;
+import org.ezra.lendingservice.dto.RepaymentRequestDto;
+import org.ezra.lendingservice.enums.RepaymentItemStatus;
+import org.ezra.lendingservice.exception.ResourceNotFoundException;
+import org.ezra.lendingservice.exception.ValidationException;
+import org.ezra.lendingservice.service.LoanService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkRepaymentServiceImplTest {
+
+    @Mock
+    private LoanService loanService;
+
+    @Mock
+    private RepaymentReferenceFilter repaymentReferenceFilter;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final BulkRepaymentWorkers workers = new BulkRepaymentWorkers(4, 10);
+
+    private BulkRepaymentServiceImpl bulkRepaymentService;
+
+    @BeforeEach
+    void setUp() {
+        bulkRepaymentService = new BulkRepaymentServiceImpl(loanService, repaymentReferenceFilter, validator, workers);
+        ReflectionTestUtils.setField(bulkRepaymentService, "maxItems", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdown();
+    }
+
+    @Test
+    void processBatch_groupsByLoanKeepingBatchOrderWithinEachLoan() {
+        Set<String> callerThreads = ConcurrentHashMap.newKeySet();
+        when(loanService.processRepayments(anyLong(), anyList())).thenAnswer(inv -> {
+            List<RepaymentRequestDto> repayments = inv.getArgument(1);
+            return repayments.stream()
+                    .map(repayment -> BulkRepaymentResultDto.builder()
+                            .loanId(inv.getArgument(0))
+                            .transactionReference(repayment.getTransactionReference())
+                            .status(RepaymentItemStatus.APPLIED)
+                            .build())
+                    .toList();
+        });
+        List<BulkRepaymentItemDto> items = List.of(
+                item(1L, "A1"), item(2L, "B1"), item(1L, "A2"), item(3L, "C1"), item(2L, "B2"), item(1L, "A3"));
+        List<BulkRepaymentResultDto> results = new ArrayList<>();
+
+        bulkRepaymentService.processBatch(items, result -> {
+            callerThreads.add(Thread.currentThread().getName());
+            results.add(result);
+        });
+
+        verify(loanService).processRepayments(eq(1L), argThatReferences("A1", "A2", "A3"));
+        verify(loanService).processRepayments(eq(2L), argThatReferences("B1", "B2"));
+        verify(loanService).processRepayments(eq(3L), argThatReferences("C1"));
+        assertEquals(6, results.size());
+        results.sort(Comparator.comparingInt(BulkRepaymentResultDto::getIndex));
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(items.get(i).getTransactionReference(), results.get(i).getTransactionReference());
+        }
+        assertEquals(Set.of(Thread.currentThread().getName()), callerThreads);
+    }
+
+    @Test
+    void processBatch_failedLoanRejectsOnlyItsOwnItems() {
+        when(loanService.processRepayments(eq(1L), anyList())).thenThrow(new ResourceNotFoundException("Loan not found with ID: 1"));
+        when(loanService.processRepayments(eq(2L), anyList())).thenReturn(List.of(
+                BulkRepaymentResultDto.builder().loanId(2L).status(RepaymentItemStatus.APPLIED).build()));
+        List<BulkRepaymentResultDto> results = new ArrayList<>();
+
+        bulkRepaymentService.processBatch(List.of(item(1L, "A1"), item(2L, "B1"), item(1L, "A2")), results::add);
+
+        results.sort(Comparator.comparingInt(BulkRepaymentResultDto::getIndex));
+        assertEquals(RepaymentItemStatus.REJECTED, results.get(0).getStatus());
+        assertEquals(RepaymentItemStatus.APPLIED, results.get(1).getStatus());
+        assertEquals(RepaymentItemStatus.REJECTED, results.get(2).getStatus());
+        assertEquals("Loan not found with ID: 1", results.get(2).getMessage());
+    }
+
+    @Test
+    void processBatch_referenceRepeatedAcrossLoansIsAppliedOnceAndRepeatsReportedDuplicate() {
+        when(loanService.processRepayments(eq(1L), anyList())).thenReturn(List.of(
+                BulkRepaymentResultDto.builder().loanId(1L).transactionReference("GW-1").status(RepaymentItemStatus.APPLIED)
+                        .repaymentId(40L).amountApplied(BigDecimal.TEN).build()));
+        when(loanService.processRepayments(eq(2L), anyList())).thenReturn(List.of(
+                BulkRepaymentResultDto.builder().loanId(2L).transactionReference("GW-2").status(RepaymentItemStatus.APPLIED).build()));
+        List<BulkRepaymentResultDto> results = new ArrayList<>();
+
+        bulkRepaymentService.processBatch(List.of(item(1L, "GW-1"), item(2L, "GW-1"), item(2L, "GW-2"), item(1L, "GW-1")), results::add);
+
+        verify(loanService).processRepayments(eq(1L), argThatReferences("GW-1"));
+        verify(loanService).processRepayments(eq(2L), argThatReferences("GW-2"));
+        results.sort(Comparator.comparingInt(BulkRepaymentResultDto::getIndex));
+        assertEquals(4, results.size());
+        assertEquals(RepaymentItemStatus.APPLIED, results.get(0).getStatus());
+        assertEquals(RepaymentItemStatus.DUPLICATE, results.get(1).getStatus());
+        assertEquals(40L, results.get(1).getRepaymentId());
+        assertEquals(1L, results.get(1).getLoanId());
+        assertEquals(RepaymentItemStatus.APPLIED, results.get(2).getStatus());
+        assertEquals(RepaymentItemStatus.DUPLICATE, results.get(3).getStatus());
+        assertEquals(40L, results.get(3).getRepaymentId());
+    }
+
+    @Test
+    void processBatch_repeatOfRejectedItemIsRejected() {
+        when(loanService.processRepayments(eq(1L), anyList())).thenThrow(new ResourceNotFoundException("Loan not found with ID: 1"));
+        List<BulkRepaymentResultDto> results = new ArrayList<>();
+
+        bulkRepaymentService.processBatch(List.of(item(1L, "GW-1"), item(1L, "GW-1")), results::add);
+
+        verify(loanService).processRepayments(eq(1L), argThatReferences("GW-1"));
+        results.sort(Comparator.comparingInt(BulkRepaymentResultDto::getIndex));
+        assertEquals(RepaymentItemStatus.REJECTED, results.get(0).getStatus());
+        assertEquals(RepaymentItemStatus.REJECTED, results.get(1).getStatus());
+        assertTrue(results.get(1).getMessage().startsWith("Duplicate of rejected item 0"));
+    }
+
+    @Test
+    void processBatch_constraintViolationRetriesLoanWithReferencesMarkedSeen() {
+        when(loanService.processRepayments(eq(1L), anyList()))
+                .thenThrow(new DataIntegrityViolationException("uq_repayment_transaction_reference"))
+                .thenReturn(List.of(
+                        BulkRepaymentResultDto.builder().loanId(1L).transactionReference("GW-1").status(RepaymentItemStatus.DUPLICATE).build(),
+                        BulkRepaymentResultDto.builder().loanId(1L).transactionReference("GW-2").status(RepaymentItemStatus.APPLIED).build()));
+        List<BulkRepaymentResultDto> results = new ArrayList<>();
+
+        bulkRepaymentService.processBatch(List.of(item(1L, "GW-1"), item(1L, "GW-2")), results::add);
+
+        verify(repaymentReferenceFilter).add("GW-1");
+        verify(repaymentReferenceFilter).add("GW-2");
+        verify(loanService, times(2)).processRepayments(eq(1L), argThatReferences("GW-1", "GW-2"));
+        results.sort(Comparator.comparingInt(BulkRepaymentResultDto::getIndex));
+        assertEquals(RepaymentItemStatus.DUPLICATE, results.get(0).getStatus());
+        assertEquals(RepaymentItemStatus.APPLIED, results.get(1).getStatus());
+    }
+
+    @Test
+    void processBatch_itemWithoutLoanIdIsRejectedUpFront() {
+        List<BulkRepaymentResultDto> results = new ArrayList<>();
+
+        bulkRepaymentService.processBatch(List.of(item(null, "X1")), results::add);
+
+        assertEquals(1, results.size());
+        assertEquals(RepaymentItemStatus.REJECTED, results.get(0).getStatus());
+        assertEquals("Loan ID cannot be null", results.get(0).getMessage());
+        verifyNoInteractions(loanService);
+    }
+
+    @Test
+    void processBatch_itemsFailingBeanValidationAreRejectedWithTheirMessages() {
+        when(loanService.processRepayments(eq(1L), anyList())).thenReturn(List.of(
+                BulkRepaymentResultDto.builder().loanId(1L).status(RepaymentItemStatus.APPLIED).build()));
+        BulkRepaymentItemDto noMethod = item(1L, "GW-1");
+        noMethod.setPaymentMethod(" ");
+        BulkRepaymentItemDto negative = item(1L, "GW-2");
+        negative.setAmount(BigDecimal.valueOf(-5));
+        BulkRepaymentItemDto noAmount = item(1L, "GW-3");
+        noAmount.setAmount(null);
+        noAmount.setPaymentMethod(null);
+        List<BulkRepaymentResultDto> results = new ArrayList<>();
+
+        bulkRepaymentService.processBatch(List.of(noMethod, negative, noAmount, item(1L, "GW-4")), results::add);
+
+        verify(loanService).processRepayments(eq(1L), argThatReferences("GW-4"));
+        results.sort(Comparator.comparingInt(BulkRepaymentResultDto::getIndex));
+        assertEquals("Payment method cannot be blank", results.get(0).getMessage());
+        assertEquals("Repayment amount must be positive", results.get(1).getMessage());
+        assertEquals("Payment method cannot be blank; Repayment amount cannot be null", results.get(2).getMessage());
+        assertEquals(RepaymentItemStatus.REJECTED, results.get(2).getStatus());
+        assertEquals(RepaymentItemStatus.APPLIED, results.get(3).getStatus());
+    }
+
+    @Test
+    void processBatch_keepsAtMostOneLoanPerWorkerInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(loanService.processRepayments(anyLong(), anyList())).thenAnswer(inv -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+            return List.of(BulkRepaymentResultDto.builder().loanId(inv.getArgument(0)).status(RepaymentItemStatus.APPLIED).build());
+        });
+        List<BulkRepaymentItemDto> items = LongStream.rangeClosed(1, 20).mapToObj(loanId -> item(loanId, "GW-" + loanId)).toList();
+        List<BulkRepaymentResultDto> results = new ArrayList<>();
+
+        bulkRepaymentService.processBatch(items, results::add);
+
+        assertEquals(20, results.size());
+        assertTrue(maxInFlight.get() <= workers.size(), "in flight: " + maxInFlight.get());
+        verify(loanService, times(20)).processRepayments(anyLong(), anyList());
+    }
+
+    @Test
+    void workers_areCappedAtHalfTheConnectionPool() {
+        BulkRepaymentWorkers capped = new BulkRepaymentWorkers(8, 10);
+        try {
+            assertEquals(5, capped.size());
+        } finally {
+            capped.shutdown();
+        }
+    }
+
+    @Test
+    void processBatch_overLimit_throwsValidationException() {
+        ReflectionTestUtils.setField(bulkRepaymentService, "maxItems", 1);
+
+        assertThrows(ValidationException.class,
+                () -> bulkRepaymentService.processBatch(List.of(item(1L, "A1"), item(1L, "A2")), result -> { }));
+        verifyNoInteractions(loanService);
+    }
+
+    private static List<RepaymentRequestDto> argThatReferences(String... references) {
+        return argThat(repayments -> repayments.stream()
+                .map(RepaymentRequestDto::getTransactionReference)
+                .toList()
+                .equals(List.of(references)));
+    }
+
+    private static BulkRepaymentItemDto item(Long loanId, String reference) {
+        return BulkRepaymentItemDto.builder()
+                .loanId(loanId)
+                .amount(BigDecimal.TEN)
+                .paymentMethod("BANK_TRANSFER")
+                .transactionReference(reference)
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package org.ezra.lendingservice.service.impl;
+
+import org.ezra.lendingservice.client.CustomerServiceClient;
+import org.ezra.lendingservice.dto.CustomerPreCheckResponseDto;
+import org.ezra.lendingservice.dto.CustomerResponseDto;
+import org.ezra.lendingservice.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerProfileServiceImplTest {
+
+    @Mock
+    private CustomerServiceClient customerServiceClient;
+
+    @InjectMocks
+    private CustomerProfileServiceImpl customerProfileService;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(customerProfileService, "maxSize", 2);
+        ReflectionTestUtils.setField(customerProfileService, "ttlSeconds", 60L);
+        customerProfileService.ticker = now::get;
+    }
+
+    @Test
+    void getCustomer_secondLookupServedFromCache() {
+        when(customerServiceClient.preCheck(1L, null)).thenReturn(ResponseEntity.ok(preCheck(1L, 5000)));
+
+        customerProfileService.getCustomer(1L);
+        CustomerResponseDto result = customerProfileService.getCustomer(1L);
+
+        assertEquals(BigDecimal.valueOf(5000), result.getLoanLimit());
+        verify(customerServiceClient, times(1)).preCheck(1L, null);
+    }
+
+    @Test
+    void getCustomer_limitChangeDuringLoadDiscardsStaleProfileAndReloads() {
+        when(customerServiceClient.preCheck(1L, null))
+                .thenAnswer(inv -> {
+                    customerProfileService.applyLimitChange(1L, BigDecimal.valueOf(2000));
+                    return ResponseEntity.ok(preCheck(1L, 5000));
+                })
+                .thenReturn(ResponseEntity.ok(preCheck(1L, 2000)));
+
+        CustomerResponseDto loaded = customerProfileService.getCustomer(1L);
+        CustomerResponseDto cached = customerProfileService.getCustomer(1L);
+
+        assertEquals(BigDecimal.valueOf(2000), loaded.getLoanLimit());
+        assertEquals(BigDecimal.valueOf(2000), cached.getLoanLimit());
+        assertFalse(customerProfileService.isEligible(cached, BigDecimal.valueOf(3000)));
+        verify(customerServiceClient, times(2)).preCheck(1L, null);
+    }
+
+    @Test
+    void getCustomer_limitChangeForOtherCustomerDuringLoadIsStored() {
+        when(customerServiceClient.preCheck(1L, null)).thenAnswer(inv -> {
+            customerProfileService.applyLimitChange(2L, BigDecimal.valueOf(2000));
+            return ResponseEntity.ok(preCheck(1L, 5000));
+        });
+
+        customerProfileService.getCustomer(1L);
+        customerProfileService.getCustomer(1L);
+
+        verify(customerServiceClient, times(1)).preCheck(1L, null);
+    }
+
+    @Test
+    void getCustomer_expiredEntryIsReloaded() {
+        when(customerServiceClient.preCheck(1L, null)).thenReturn(ResponseEntity.ok(preCheck(1L, 5000)));
+
+        customerProfileService.getCustomer(1L);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        customerProfileService.getCustomer(1L);
+
+        verify(customerServiceClient, times(2)).preCheck(1L, null);
+    }
+
+    @Test
+    void getCustomer_evictsLeastRecentlyUsedBeyondMaxSize() {
+        when(customerServiceClient.preCheck(any(), isNull())).thenAnswer(inv -> ResponseEntity.ok(preCheck(inv.getArgument(0), 1000)));
+
+        customerProfileService.getCustomer(1L);
+        customerProfileService.getCustomer(2L);
+        customerProfileService.getCustomer(1L);
+        customerProfileService.getCustomer(3L);
+        customerProfileService.getCustomer(1L);
+        customerProfileService.getCustomer(2L);
+
+        verify(customerServiceClient, times(1)).preCheck(1L, null);
+        verify(customerServiceClient, times(2)).preCheck(2L, null);
+    }
+
+    @Test
+    void getCustomer_unavailableIsNotCached() {
+        when(customerServiceClient.preCheck(1L, null)).thenReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null));
+
+        assertThrows(ResourceNotFoundException.class, () -> customerProfileService.getCustomer(1L));
+        assertThrows(ResourceNotFoundException.class, () -> customerProfileService.getCustomer(1L));
+
+        verify(customerServiceClient, times(2)).preCheck(1L, null);
+    }
+
+    @Test
+    void applyLimitChange_updatesCachedLimitWithoutRemoteCall() {
+        when(customerServiceClient.preCheck(1L, null)).thenReturn(ResponseEntity.ok(preCheck(1L, 1000)));
+        customerProfileService.getCustomer(1L);
+
+        customerProfileService.applyLimitChange(1L, BigDecimal.valueOf(250));
+        CustomerResponseDto result = customerProfileService.getCustomer(1L);
+
+        assertEquals(BigDecimal.valueOf(250), result.getLoanLimit());
+        assertFalse(customerProfileService.isEligible(result, BigDecimal.valueOf(500)));
+        verify(customerServiceClient, times(1)).preCheck(1L, null);
+        verify(customerServiceClient, never()).isCustomerEligible(any(), any());
+    }
+
+    @Test
+    void isEligible_usesCachedLimit() {
+        CustomerResponseDto customer = customer(1L, 1000);
+
+        assertTrue(customerProfileService.isEligible(customer, BigDecimal.valueOf(1000)));
+        assertFalse(customerProfileService.isEligible(customer, BigDecimal.valueOf(1000.01)));
+        assertFalse(customerProfileService.isEligible(customer, BigDecimal.ZERO));
+        verifyNoInteractions(customerServiceClient);
+    }
+
+    @Test
+    void isEligible_withoutKnownLimitFallsBackToCustomerService() {
+        CustomerResponseDto customer = CustomerResponseDto.builder().id(1L).build();
+        when(customerServiceClient.isCustomerEligible(1L, BigDecimal.TEN)).thenReturn(ResponseEntity.ok(true));
+
+        assertTrue(customerProfileService.isEligible(customer, BigDecimal.TEN));
+    }
+
+    private CustomerPreCheckResponseDto preCheck(Long id, long limit) {
+        return CustomerPreCheckResponseDto.builder()
+                .customerId(id)
+                .found(true)
+                .email("customer" + id + "@example.com")
+                .currentLoanLimit(BigDecimal.valueOf(limit))
+                .build();
+    }
+
+    private CustomerResponseDto customer(Long id, long limit) {
+        return CustomerResponseDto.builder()
+                .id(id)
+                .email("customer" + id + "@example.com")
+                .loanLimit(BigDecimal.valueOf(limit))
+                .build();
+    }
+}
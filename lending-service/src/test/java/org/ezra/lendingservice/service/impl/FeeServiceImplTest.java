@@ -1,5 +1,7 @@
 package org.ezra.lendingservice.service.impl;
 
+import org.ezra.lendingservice.catalog.CatalogProduct;
+import org.ezra.lendingservice.catalog.ProductCatalog;
 import org.ezra.lendingservice.entity.*;
 import org.ezra.lendingservice.enums.*;
 import org.ezra.lendingservice.repository.AppliedFeeRepository;
@@ -27,6 +29,9 @@ class FeeServiceImplTest {
     @Mock
     private AppliedFeeRepository appliedFeeRepository;
 
+    @Mock
+    private ProductCatalog productCatalog;
+
     @InjectMocks
     private FeeServiceImpl feeService;
 
@@ -36,6 +41,8 @@ class FeeServiceImplTest {
     private FeeConfiguration percentageLateFeeConfig;
     private FeeConfiguration dailyFeeConfig;
 
+    private final LocalDate today = LocalDate.of(2025, 6, 1);
+
     @BeforeEach
     void setUp() {
         fixedServiceFeeConfig = FeeConfiguration.builder()
@@ -46,6 +53,7 @@ class FeeServiceImplTest {
                 .build();
 
         percentageLateFeeConfig = FeeConfiguration.builder()
+                .id(2L)
                 .feeType(FeeType.LATE_FEE)
                 .calculationType(FeeCalculationType.PERCENTAGE)
                 .feeAmount(BigDecimal.valueOf(5))
@@ -70,10 +78,12 @@ class FeeServiceImplTest {
                 .principalAmount(BigDecimal.valueOf(1000))
                 .outstandingAmount(BigDecimal.valueOf(1000))
                 .status(LoanStatus.OPEN)
+                .originationDate(today.minusDays(30))
                 .appliedFees(new ArrayList<>())
                 .installments(new ArrayList<>())
                 .build();
 
+        lenient().when(productCatalog.require(1L)).thenReturn(CatalogProduct.from(loanProduct));
         when(appliedFeeRepository.save(any(AppliedFee.class))).thenAnswer(invocation -> {
             AppliedFee feeToSave = invocation.getArgument(0);
             if (feeToSave.getId() == null) {
@@ -103,6 +113,7 @@ class FeeServiceImplTest {
         assertEquals(FeeType.SERVICE_FEE, applied.get(0).getFeeType());
         assertEquals(0, BigDecimal.valueOf(50.00).compareTo(applied.get(0).getAmount()));
         assertEquals(0, BigDecimal.valueOf(1050.00).compareTo(loan.getOutstandingAmount())); // 1000 + 50
+        assertEquals(loan.getOriginationDate(), applied.get(0).getDateApplied());
         verify(appliedFeeRepository, times(1)).save(any(AppliedFee.class));
     }
 
@@ -110,20 +121,21 @@ class FeeServiceImplTest {
     void applyLateFeeIfNeeded_forInstallment_appliesWhenOverdueAndPastGrace() {
         Installment installment = Installment.builder()
                 .id(1L).loan(loan)
-                .dueDate(LocalDate.now().minusDays(5))
+                .dueDate(today.minusDays(5))
                 .status(InstallmentStatus.OVERDUE)
                 .totalAmountDue(BigDecimal.valueOf(200))
                 .amountPaid(BigDecimal.ZERO)
                 .build();
         loan.getInstallments().add(installment);
 
-        Optional<AppliedFee> appliedFeeOpt = feeService.applyLateFeeIfNeeded(loan, installment);
+        Optional<AppliedFee> appliedFeeOpt = feeService.applyLateFeeIfNeeded(loan, installment, today);
 
         assertTrue(appliedFeeOpt.isPresent());
         AppliedFee appliedFee = appliedFeeOpt.get();
         assertEquals(FeeType.LATE_FEE, appliedFee.getFeeType());
         assertEquals(0, BigDecimal.valueOf(10.00).compareTo(appliedFee.getAmount()));
         assertEquals(0, BigDecimal.valueOf(1010.00).compareTo(loan.getOutstandingAmount()));
+        assertEquals(today, appliedFee.getDateApplied());
         verify(appliedFeeRepository, times(1)).save(any(AppliedFee.class));
     }
 
@@ -131,13 +143,13 @@ class FeeServiceImplTest {
     void applyLateFeeIfNeeded_forInstallment_doesNotApplyIfNotPastGrace() {
         Installment installment = Installment.builder()
                 .id(1L).loan(loan)
-                .dueDate(LocalDate.now().minusDays(2))
+                .dueDate(today.minusDays(2))
                 .status(InstallmentStatus.OVERDUE)
                 .totalAmountDue(BigDecimal.valueOf(200))
                 .build();
         loan.getInstallments().add(installment);
 
-        Optional<AppliedFee> appliedFeeOpt = feeService.applyLateFeeIfNeeded(loan, installment);
+        Optional<AppliedFee> appliedFeeOpt = feeService.applyLateFeeIfNeeded(loan, installment, today);
         assertFalse(appliedFeeOpt.isPresent());
         verify(appliedFeeRepository, never()).save(any(AppliedFee.class));
     }
@@ -146,58 +158,146 @@ class FeeServiceImplTest {
     void applyLateFeeIfNeeded_forInstallment_doesNotReapplyIfAlreadyApplied() {
         Installment installment = Installment.builder()
                 .id(1L).loan(loan).installmentNumber(1)
-                .dueDate(LocalDate.now().minusDays(5))
+                .dueDate(today.minusDays(5))
                 .status(InstallmentStatus.OVERDUE)
                 .totalAmountDue(BigDecimal.valueOf(200))
                 .amountPaid(BigDecimal.ZERO)
                 .build();
         loan.getInstallments().add(installment);
 
-        // Simulate already applied fee
-        AppliedFee existingLateFee = AppliedFee.builder()
-                .loan(loan).feeType(FeeType.LATE_FEE).amount(BigDecimal.TEN)
-                .dateApplied(LocalDate.now().minusDays(1))
-                .reason("Late Fee - Installment #1")
-                .build();
-        loan.getAppliedFees().add(existingLateFee);
+        when(appliedFeeRepository.existsByLoanIdAndFeeConfigurationIdAndFeePeriod(1L, 2L, installment.getDueDate()))
+                .thenReturn(true);
 
-        Optional<AppliedFee> appliedFeeOpt = feeService.applyLateFeeIfNeeded(loan, installment);
+        Optional<AppliedFee> appliedFeeOpt = feeService.applyLateFeeIfNeeded(loan, installment, today);
 
         assertFalse(appliedFeeOpt.isPresent(), "Should not re-apply late fee if one was recently applied for the same reason.");
         verify(appliedFeeRepository, never()).save(any(AppliedFee.class));
     }
 
 
+    @Test
+    void applyLateFeeIfNeeded_forInstallment_recordsStructuredKey() {
+        Installment installment = Installment.builder()
+                .id(7L).loan(loan).installmentNumber(3)
+                .dueDate(today.minusDays(5))
+                .status(InstallmentStatus.OVERDUE)
+                .totalAmountDue(BigDecimal.valueOf(200))
+                .amountPaid(BigDecimal.ZERO)
+                .build();
+
+        AppliedFee lateFee = feeService.applyLateFeeIfNeeded(loan, installment, today).orElseThrow();
+
+        assertSame(installment, lateFee.getInstallment());
+        assertEquals(2L, lateFee.getFeeConfigurationId());
+        assertEquals(installment.getDueDate(), lateFee.getFeePeriod());
+        verify(appliedFeeRepository).existsByLoanIdAndFeeConfigurationIdAndFeePeriod(1L, 2L, installment.getDueDate());
+    }
+
+    @Test
+    void applyLateFeeIfNeeded_forLumpSum_keyedByFinalDueDate() {
+        loan.setStatus(LoanStatus.OVERDUE);
+        loan.setInstallmentLoan(false);
+        loan.setFinalDueDate(today.minusDays(4));
+
+        AppliedFee lateFee = feeService.applyLateFeeIfNeeded(loan, today).orElseThrow();
+
+        assertNull(lateFee.getInstallment());
+        assertEquals(loan.getFinalDueDate(), lateFee.getFeePeriod());
+        assertEquals(0, BigDecimal.valueOf(50.00).compareTo(lateFee.getAmount()));
+    }
+
+    @Test
+    void applyLateFeeIfNeeded_forLumpSum_graceMeasuredFromBusinessDate() {
+        loan.setStatus(LoanStatus.OVERDUE);
+        loan.setInstallmentLoan(false);
+        loan.setFinalDueDate(today.minusDays(4));
+
+        assertFalse(feeService.applyLateFeeIfNeeded(loan, today.minusDays(2)).isPresent());
+        AppliedFee lateFee = feeService.applyLateFeeIfNeeded(loan, today.minusDays(1)).orElseThrow();
+
+        assertEquals(today.minusDays(1), lateFee.getDateApplied());
+    }
+
+    @Test
+    void applyLateFeeIfNeeded_forLumpSum_doesNotReapplyForSamePeriod() {
+        loan.setStatus(LoanStatus.OVERDUE);
+        loan.setInstallmentLoan(false);
+        loan.setFinalDueDate(today.minusDays(4));
+        when(appliedFeeRepository.existsByLoanIdAndFeeConfigurationIdAndFeePeriod(1L, 2L, loan.getFinalDueDate()))
+                .thenReturn(true);
+
+        assertFalse(feeService.applyLateFeeIfNeeded(loan, today).isPresent());
+        verify(appliedFeeRepository, never()).save(any(AppliedFee.class));
+    }
+
     @Test
     void applyDailyFees_appliesWhenConditionsMet() {
         loan.setStatus(LoanStatus.OVERDUE);
         loan.setOutstandingAmount(BigDecimal.valueOf(500));
 
-        feeService.applyDailyFees(loan);
+        Optional<AppliedFee> applied = feeService.applyDailyFees(loan, today);
 
-        assertEquals(1, loan.getAppliedFees().size());
-        AppliedFee dailyFee = loan.getAppliedFees().getFirst();
+        assertTrue(applied.isPresent());
+        AppliedFee dailyFee = applied.get();
         assertEquals(FeeType.DAILY_FEE, dailyFee.getFeeType());
         assertEquals(0, BigDecimal.valueOf(0.50).compareTo(dailyFee.getAmount()));
         assertEquals(0, BigDecimal.valueOf(500.50).compareTo(loan.getOutstandingAmount()));
+        assertEquals(today, loan.getDailyFeeAccruedThrough());
+        assertEquals(0, BigDecimal.valueOf(0.50).compareTo(loan.getDailyFeeAccruedTotal()));
         verify(appliedFeeRepository, times(1)).save(any(AppliedFee.class));
     }
 
     @Test
-    void applyDailyFees_doesNotApplyIfAlreadyAppliedToday() {
+    void applyDailyFees_doesNotApplyIfAlreadyAccruedToday() {
         loan.setStatus(LoanStatus.OVERDUE);
         loan.setOutstandingAmount(BigDecimal.valueOf(500));
+        loan.setDailyFeeAccruedThrough(today);
 
-        AppliedFee existingDailyFee = AppliedFee.builder()
-                .loan(loan).feeType(FeeType.DAILY_FEE).amount(BigDecimal.valueOf(0.50))
-                .dateApplied(LocalDate.now())
-                .build();
-        loan.getAppliedFees().add(existingDailyFee);
-
-        feeService.applyDailyFees(loan);
+        Optional<AppliedFee> applied = feeService.applyDailyFees(loan, today);
 
-        long dailyFeeCount = loan.getAppliedFees().stream().filter(f -> f.getFeeType() == FeeType.DAILY_FEE).count();
-        assertEquals(1, dailyFeeCount);
+        assertFalse(applied.isPresent());
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(loan.getOutstandingAmount()));
         verify(appliedFeeRepository, never()).save(any(AppliedFee.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void applyDailyFees_catchesUpMissedDaysInOneEntry() {
+        loan.setOutstandingAmount(BigDecimal.valueOf(500));
+        loan.setDailyFeeAccruedThrough(today.minusDays(4));
+        loan.setDailyFeeAccruedTotal(BigDecimal.valueOf(3));
+
+        Optional<AppliedFee> applied = feeService.applyDailyFees(loan, today);
+
+        assertTrue(applied.isPresent());
+        assertEquals(0, BigDecimal.valueOf(2.00).compareTo(applied.get().getAmount()));
+        assertEquals(0, BigDecimal.valueOf(502.00).compareTo(loan.getOutstandingAmount()));
+        assertEquals(0, BigDecimal.valueOf(5.00).compareTo(loan.getDailyFeeAccruedTotal()));
+        assertEquals(today, loan.getDailyFeeAccruedThrough());
+        verify(appliedFeeRepository, times(1)).save(any(AppliedFee.class));
+    }
+
+    @Test
+    void applyDailyFees_percentageCatchUpCompoundsDayByDay() {
+        dailyFeeConfig.setCalculationType(FeeCalculationType.PERCENTAGE);
+        dailyFeeConfig.setFeeAmount(BigDecimal.valueOf(1));
+        when(productCatalog.require(1L)).thenReturn(CatalogProduct.from(loanProduct));
+        loan.setOutstandingAmount(BigDecimal.valueOf(1000));
+        loan.setDailyFeeAccruedThrough(today.minusDays(2));
+
+        Optional<AppliedFee> applied = feeService.applyDailyFees(loan, today);
+
+        assertTrue(applied.isPresent());
+        assertEquals(0, new BigDecimal("20.10").compareTo(applied.get().getAmount()));
+        assertEquals(0, new BigDecimal("1020.10").compareTo(loan.getOutstandingAmount()));
+    }
+
+    @Test
+    void applyDailyFees_neverReadsAppliedFeeHistory() {
+        Loan watermarked = spy(loan);
+        watermarked.setDailyFeeAccruedThrough(today.minusDays(1));
+
+        feeService.applyDailyFees(watermarked, today);
+
+        verify(watermarked, never()).getAppliedFees();
+    }
+}
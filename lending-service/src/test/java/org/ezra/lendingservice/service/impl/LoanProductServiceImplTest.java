@@ -1,5 +1,6 @@
 package org.ezra.lendingservice.service.impl;
 
+import org.ezra.lendingservice.catalog.ProductCatalog;
 import org.ezra.lendingservice.dto.FeeConfigurationDto;
 import org.ezra.lendingservice.dto.LoanProductRequestDto;
 import org.ezra.lendingservice.dto.LoanProductResponseDto;
@@ -37,6 +38,9 @@ class LoanProductServiceImplTest {
     @Mock
     private LoanProductMapper loanProductMapper;
 
+    @Mock
+    private ProductCatalog productCatalog;
+
     @InjectMocks
     private LoanProductServiceImpl loanProductService;
 
@@ -87,6 +91,7 @@ class LoanProductServiceImplTest {
         assertEquals(responseDto.getId(), result.getId());
         verify(loanProductRepository, times(1)).findByName(requestDto.getName());
         verify(loanProductRepository, times(1)).save(productEntity);
+        verify(productCatalog).invalidateAfterCommit();
     }
 
     @Test
@@ -97,6 +102,7 @@ class LoanProductServiceImplTest {
                 () -> loanProductService.createLoanProduct(requestDto));
         assertEquals("Loan product with name 'Test Product' already exists.", exception.getMessage());
         verify(loanProductRepository, never()).save(any());
+        verifyNoInteractions(productCatalog);
     }
 
     @Test
@@ -1,11 +1,18 @@
 package org.ezra.lendingservice.service.impl;
 
-import org.ezra.lendingservice.client.CustomerServiceClient;
+import org.ezra.lendingservice.amortization.AmortizationEngine;
+import org.ezra.lendingservice.amortization.FlatInterestStrategy;
+import org.ezra.lendingservice.catalog.CatalogProduct;
+import org.ezra.lendingservice.catalog.ProductCatalog;
 import org.ezra.lendingservice.dto.*;
 import org.ezra.lendingservice.entity.*;
 import org.ezra.lendingservice.enums.InstallmentStatus;
 import org.ezra.lendingservice.enums.LoanStatus;
+import org.ezra.lendingservice.enums.LoanView;
+import org.ezra.lendingservice.enums.RepaymentItemStatus;
 import org.ezra.lendingservice.enums.TenureType;
+import org.ezra.lendingservice.events.NotificationEventDto;
+import org.ezra.lendingservice.events.NotificationOutbox;
 import org.ezra.lendingservice.exception.LoanProcessingException;
 import org.ezra.lendingservice.exception.ResourceNotFoundException;
 import org.ezra.lendingservice.exception.ValidationException;
@@ -15,7 +22,9 @@ import org.ezra.lendingservice.repository.InstallmentRepository;
 import org.ezra.lendingservice.repository.LoanProductRepository;
 import org.ezra.lendingservice.repository.LoanRepository;
 import org.ezra.lendingservice.repository.RepaymentRepository;
+import org.ezra.lendingservice.service.CustomerProfileService;
 import org.ezra.lendingservice.service.FeeService;
+import org.ezra.lendingservice.service.LoanSweepService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,19 +32,24 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,12 +58,19 @@ class LoanServiceImplTest {
     @Mock
     private LoanRepository loanRepository;
     @Mock private LoanProductRepository loanProductRepository;
+    @Mock private ProductCatalog productCatalog;
     @Mock private InstallmentRepository installmentRepository;
     @Mock private RepaymentRepository repaymentRepository;
+    @Mock private RepaymentAllocator repaymentAllocator;
+    @Mock private RepaymentReferenceFilter repaymentReferenceFilter;
     @Mock private FeeService feeService;
-    @Mock private CustomerServiceClient customerServiceClient;
+    @Mock private CustomerProfileService customerProfileService;
     @Mock private LoanMapper loanMapper;
     @Mock private RepaymentMapper repaymentMapper;
+    @Mock private LoanSweepService loanSweepService;
+    @Mock private NotificationOutbox notificationOutbox;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Spy private AmortizationEngine amortizationEngine = new AmortizationEngine(List.of(new FlatInterestStrategy()));
 
     @InjectMocks
     private LoanServiceImpl loanService;
@@ -57,7 +78,7 @@ class LoanServiceImplTest {
     @Captor
     private ArgumentCaptor<Loan> loanCaptor;
     @Captor
-    private ArgumentCaptor<NotificationRequestDto> notificationCaptor;
+    private ArgumentCaptor<NotificationEventDto> notificationCaptor;
 
     private LoanApplicationRequestDto applicationRequestDto;
     private LoanProduct loanProduct;
@@ -67,6 +88,8 @@ class LoanServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         applicationRequestDto = LoanApplicationRequestDto.builder()
                 .customerId(1L)
                 .productId(1L)
@@ -117,9 +140,9 @@ class LoanServiceImplTest {
 
     @Test
     void applyForLoan_success_installmentLoan() {
-        when(customerServiceClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(customerResponseDto));
-        when(customerServiceClient.isCustomerEligible(1L, applicationRequestDto.getAmount())).thenReturn(ResponseEntity.ok(true));
-        when(loanProductRepository.findById(1L)).thenReturn(Optional.of(loanProduct));
+        when(customerProfileService.getCustomer(1L)).thenReturn(customerResponseDto);
+        when(customerProfileService.isEligible(customerResponseDto, applicationRequestDto.getAmount())).thenReturn(true);
+        when(productCatalog.find(1L)).thenReturn(Optional.of(CatalogProduct.from(loanProduct)));
         when(loanRepository.save(any(Loan.class))).thenReturn(loanEntity);
         when(loanMapper.toDto(any(Loan.class))).thenReturn(loanResponseDto);
 
@@ -138,7 +161,10 @@ class LoanServiceImplTest {
         assertNotNull(savedLoan.getNextBillingDate());
 
         verify(feeService).applyOriginationFees(any(Loan.class));
+        verify(notificationOutbox).enqueue(notificationCaptor.capture());
         assertEquals("LOAN_APPLICATION_SUBMITTED", notificationCaptor.getValue().getEventType());
+        assertEquals("Monthly Loan", notificationCaptor.getValue().getPayload().get("productName"));
+        verify(loanProductRepository, never()).findById(any());
     }
 
     @Test
@@ -147,9 +173,9 @@ class LoanServiceImplTest {
         applicationRequestDto.setTenure(30);
         loanProduct.setTenureType(TenureType.DAYS);
 
-        when(customerServiceClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(customerResponseDto));
-        when(customerServiceClient.isCustomerEligible(1L, applicationRequestDto.getAmount())).thenReturn(ResponseEntity.ok(true));
-        when(loanProductRepository.findById(1L)).thenReturn(Optional.of(loanProduct));
+        when(customerProfileService.getCustomer(1L)).thenReturn(customerResponseDto);
+        when(customerProfileService.isEligible(customerResponseDto, applicationRequestDto.getAmount())).thenReturn(true);
+        when(productCatalog.find(1L)).thenReturn(Optional.of(CatalogProduct.from(loanProduct)));
         when(loanRepository.save(any(Loan.class))).thenReturn(loanEntity);
         when(loanMapper.toDto(any(Loan.class))).thenReturn(loanResponseDto);
 
@@ -167,23 +193,23 @@ class LoanServiceImplTest {
 
     @Test
     void applyForLoan_customerNotFound_throwsResourceNotFound() {
-        when(customerServiceClient.getCustomerById(1L)).thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+        when(customerProfileService.getCustomer(1L)).thenThrow(new ResourceNotFoundException("Customer not found with ID: 1"));
 
         assertThrows(ResourceNotFoundException.class, () -> loanService.applyForLoan(applicationRequestDto));
     }
 
     @Test
     void applyForLoan_customerNotEligible_throwsLoanProcessingException() {
-        when(customerServiceClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(customerResponseDto));
-        when(customerServiceClient.isCustomerEligible(1L, applicationRequestDto.getAmount())).thenReturn(ResponseEntity.ok(false));
+        when(customerProfileService.getCustomer(1L)).thenReturn(customerResponseDto);
+        when(customerProfileService.isEligible(customerResponseDto, applicationRequestDto.getAmount())).thenReturn(false);
         assertThrows(LoanProcessingException.class, () -> loanService.applyForLoan(applicationRequestDto));
     }
 
     @Test
     void applyForLoan_productNotFound_throwsResourceNotFound() {
-        when(customerServiceClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(customerResponseDto));
-        when(customerServiceClient.isCustomerEligible(1L, applicationRequestDto.getAmount())).thenReturn(ResponseEntity.ok(true));
-        when(loanProductRepository.findById(1L)).thenReturn(Optional.empty());
+        when(customerProfileService.getCustomer(1L)).thenReturn(customerResponseDto);
+        when(customerProfileService.isEligible(customerResponseDto, applicationRequestDto.getAmount())).thenReturn(true);
+        when(productCatalog.find(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> loanService.applyForLoan(applicationRequestDto));
     }
@@ -191,9 +217,9 @@ class LoanServiceImplTest {
     @Test
     void applyForLoan_amountOutOfRange_throwsValidationException() {
         applicationRequestDto.setAmount(BigDecimal.valueOf(10));
-        when(customerServiceClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(customerResponseDto));
-        when(customerServiceClient.isCustomerEligible(1L, applicationRequestDto.getAmount())).thenReturn(ResponseEntity.ok(true));
-        when(loanProductRepository.findById(1L)).thenReturn(Optional.of(loanProduct));
+        when(customerProfileService.getCustomer(1L)).thenReturn(customerResponseDto);
+        when(customerProfileService.isEligible(customerResponseDto, applicationRequestDto.getAmount())).thenReturn(true);
+        when(productCatalog.find(1L)).thenReturn(Optional.of(CatalogProduct.from(loanProduct)));
 
         assertThrows(ValidationException.class, () -> loanService.applyForLoan(applicationRequestDto));
     }
@@ -212,6 +238,7 @@ class LoanServiceImplTest {
         verify(loanRepository).save(loanCaptor.capture());
         assertEquals(LoanStatus.OPEN, loanCaptor.getValue().getStatus());
         assertNotNull(loanCaptor.getValue().getDisbursementDate());
+        verify(notificationOutbox).enqueue(notificationCaptor.capture());
         assertEquals("LOAN_DISBURSED", notificationCaptor.getValue().getEventType());
     }
 
@@ -234,6 +261,8 @@ class LoanServiceImplTest {
 
 
         when(loanRepository.findById(1L)).thenReturn(Optional.of(loanEntity));
+        when(repaymentAllocator.allocate(eq(loanEntity), eq(BigDecimal.valueOf(100)), any(LocalDate.class)))
+                .thenReturn(new RepaymentAllocator.Allocation(null, null, false));
         when(repaymentRepository.save(any(Repayment.class))).thenReturn(repaymentEntity);
         when(loanRepository.save(any(Loan.class))).thenAnswer(inv -> inv.getArgument(0));
         when(repaymentMapper.toDto(any(Repayment.class), anyString())).thenReturn(repaymentResponseDto);
@@ -257,6 +286,8 @@ class LoanServiceImplTest {
 
 
         when(loanRepository.findById(1L)).thenReturn(Optional.of(loanEntity));
+        when(repaymentAllocator.allocate(eq(loanEntity), eq(BigDecimal.valueOf(50)), any(LocalDate.class)))
+                .thenReturn(new RepaymentAllocator.Allocation(null, null, false));
         when(repaymentRepository.save(any(Repayment.class))).thenReturn(repaymentEntity);
         when(loanRepository.save(any(Loan.class))).thenAnswer(inv -> inv.getArgument(0));
         when(repaymentMapper.toDto(any(Repayment.class), anyString())).thenReturn(repaymentResponseDto);
@@ -269,34 +300,214 @@ class LoanServiceImplTest {
     }
 
     @Test
-    void processOverdueLoans_marksInstallmentOverdueAndAppliesLateFee() {
-        Installment pendingInstallment = Installment.builder()
-                .id(1L).loan(loanEntity)
-                .dueDate(LocalDate.now().minusDays(5))
-                .status(InstallmentStatus.PENDING)
-                .totalAmountDue(BigDecimal.valueOf(100))
-                .amountPaid(BigDecimal.ZERO)
-                .build();
-        loanEntity.getInstallments().add(pendingInstallment);
+    void processRepayment_clearsOverdueAndMovesBillingDateFromAllocation() {
+        loanEntity.setStatus(LoanStatus.OVERDUE);
+        loanEntity.setOutstandingAmount(BigDecimal.valueOf(200));
+        LocalDate nextDueDate = LocalDate.now().plusDays(12);
+        Installment paidInstallment = Installment.builder().id(3L).build();
+        RepaymentRequestDto repaymentDto = RepaymentRequestDto.builder().amount(BigDecimal.valueOf(80)).paymentMethod("CARD").build();
+
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(loanEntity));
+        when(repaymentAllocator.allocate(eq(loanEntity), eq(BigDecimal.valueOf(80)), any(LocalDate.class)))
+                .thenReturn(new RepaymentAllocator.Allocation(paidInstallment, nextDueDate, false));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(inv -> inv.getArgument(0));
+        ArgumentCaptor<Repayment> repaymentCaptor = ArgumentCaptor.forClass(Repayment.class);
+
+        loanService.processRepayment(1L, repaymentDto);
+
+        verify(repaymentRepository).save(repaymentCaptor.capture());
+        assertSame(paidInstallment, repaymentCaptor.getValue().getInstallment());
+        assertEquals(LoanStatus.OPEN, loanEntity.getStatus());
+        assertEquals(nextDueDate, loanEntity.getNextBillingDate());
+        verifyNoInteractions(installmentRepository);
+    }
+
+    @Test
+    void processRepayment_knownReference_returnsOriginalWithoutReapplying() {
+        Repayment original = Repayment.builder().id(9L).amount(BigDecimal.valueOf(80)).loan(loanEntity).transactionReference("GW-1").build();
+        RepaymentResponseDto originalDto = RepaymentResponseDto.builder().id(9L).transactionReference("GW-1").build();
+        RepaymentRequestDto retry = RepaymentRequestDto.builder().amount(BigDecimal.valueOf(80)).paymentMethod("CARD").transactionReference("GW-1").build();
+        when(repaymentReferenceFilter.mightContain("GW-1")).thenReturn(true);
+        when(repaymentRepository.findByTransactionReference("GW-1")).thenReturn(Optional.of(original));
+        when(repaymentMapper.toDto(eq(original), anyString())).thenReturn(originalDto);
+
+        RepaymentResponseDto result = loanService.processRepayment(1L, retry);
+
+        assertSame(originalDto, result);
+        verifyNoInteractions(loanRepository, repaymentAllocator, notificationOutbox);
+        verify(repaymentRepository, never()).save(any());
+    }
+
+    @Test
+    void processRepayment_unseenReference_skipsLookupAndRecordsReference() {
         loanEntity.setStatus(LoanStatus.OPEN);
+        loanEntity.setOutstandingAmount(BigDecimal.valueOf(200));
+        RepaymentRequestDto repaymentDto = RepaymentRequestDto.builder().amount(BigDecimal.valueOf(50)).paymentMethod("CARD").transactionReference("GW-2").build();
+        when(repaymentReferenceFilter.mightContain("GW-2")).thenReturn(false);
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(loanEntity));
+        when(repaymentAllocator.allocate(eq(loanEntity), eq(BigDecimal.valueOf(50)), any(LocalDate.class)))
+                .thenReturn(new RepaymentAllocator.Allocation(null, null, false));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        when(loanRepository.findByStatusIn(Arrays.asList(LoanStatus.OPEN, LoanStatus.OVERDUE)))
-                .thenReturn(Collections.singletonList(loanEntity));
-        when(feeService.applyLateFeeIfNeeded(eq(loanEntity), eq(pendingInstallment)))
-                .thenAnswer(invocation -> {
-                    loanEntity.setOutstandingAmount(loanEntity.getOutstandingAmount().add(BigDecimal.TEN));
-                    return Optional.of(AppliedFee.builder().amount(BigDecimal.TEN).build());
-                });
-        when(loanRepository.save(any(Loan.class))).thenReturn(loanEntity);
+        loanService.processRepayment(1L, repaymentDto);
+
+        verify(repaymentRepository, never()).findByTransactionReference(any());
+        verify(repaymentRepository).saveAndFlush(any(Repayment.class));
+        verify(repaymentReferenceFilter).add("GW-2");
+    }
+
+    @Test
+    void processRepayment_concurrentDuplicateInsert_returnsOriginalFromNewTransaction() {
+        loanEntity.setStatus(LoanStatus.OPEN);
+        loanEntity.setOutstandingAmount(BigDecimal.valueOf(200));
+        RepaymentRequestDto repaymentDto = RepaymentRequestDto.builder().amount(BigDecimal.valueOf(50)).paymentMethod("CARD").transactionReference("GW-3").build();
+        Repayment original = Repayment.builder().id(12L).amount(BigDecimal.valueOf(50)).loan(loanEntity).transactionReference("GW-3").build();
+        RepaymentResponseDto originalDto = RepaymentResponseDto.builder().id(12L).transactionReference("GW-3").build();
+        when(repaymentReferenceFilter.mightContain("GW-3")).thenReturn(false);
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(loanEntity));
+        when(repaymentAllocator.allocate(eq(loanEntity), eq(BigDecimal.valueOf(50)), any(LocalDate.class)))
+                .thenReturn(new RepaymentAllocator.Allocation(null, null, false));
+        when(repaymentRepository.saveAndFlush(any(Repayment.class))).thenThrow(new DataIntegrityViolationException("uq_repayment_transaction_reference"));
+        when(repaymentRepository.findByTransactionReference("GW-3")).thenReturn(Optional.of(original));
+        when(repaymentMapper.toDto(eq(original), anyString())).thenReturn(originalDto);
+
+        RepaymentResponseDto result = loanService.processRepayment(1L, repaymentDto);
+
+        assertSame(originalDto, result);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(repaymentReferenceFilter).add("GW-3");
+        verify(loanRepository, never()).save(any());
+        verifyNoInteractions(notificationOutbox);
+    }
 
+    @Test
+    void processRepayment_constraintViolationWithoutStoredOriginal_throwsLoanProcessingException() {
+        loanEntity.setStatus(LoanStatus.OPEN);
+        loanEntity.setOutstandingAmount(BigDecimal.valueOf(200));
+        RepaymentRequestDto repaymentDto = RepaymentRequestDto.builder().amount(BigDecimal.valueOf(50)).paymentMethod("CARD").transactionReference("GW-5").build();
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(loanEntity));
+        when(repaymentAllocator.allocate(eq(loanEntity), eq(BigDecimal.valueOf(50)), any(LocalDate.class)))
+                .thenReturn(new RepaymentAllocator.Allocation(null, null, false));
+        when(repaymentRepository.saveAndFlush(any(Repayment.class))).thenThrow(new DataIntegrityViolationException("uq_repayment_transaction_reference"));
+        when(repaymentRepository.findByTransactionReference("GW-5")).thenReturn(Optional.empty());
+
+        assertThrows(LoanProcessingException.class, () -> loanService.processRepayment(1L, repaymentDto));
+        verifyNoInteractions(notificationOutbox);
+    }
 
+    @Test
+    void processRepayments_repeatedReferenceIsReportedAsDuplicate() {
+        loanEntity.setStatus(LoanStatus.OPEN);
+        loanEntity.setOutstandingAmount(BigDecimal.valueOf(500));
+        loanEntity.setTotalRepaidAmount(BigDecimal.ZERO);
+        RepaymentRequestDto first = RepaymentRequestDto.builder().amount(BigDecimal.valueOf(100)).paymentMethod("CARD").transactionReference("GW-4").build();
+        RepaymentRequestDto retry = RepaymentRequestDto.builder().amount(BigDecimal.valueOf(100)).paymentMethod("CARD").transactionReference("GW-4").build();
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(loanEntity));
+        when(repaymentAllocator.allocate(eq(loanEntity), eq(BigDecimal.valueOf(100)), any(LocalDate.class)))
+                .thenReturn(new RepaymentAllocator.Allocation(null, null, false));
+        when(repaymentRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Repayment> saved = inv.getArgument(0);
+            saved.forEach(repayment -> repayment.setId(21L));
+            return saved;
+        });
+        when(loanRepository.save(any(Loan.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        List<BulkRepaymentResultDto> results = loanService.processRepayments(1L, List.of(first, retry));
+
+        assertEquals(RepaymentItemStatus.APPLIED, results.get(0).getStatus());
+        assertEquals(RepaymentItemStatus.DUPLICATE, results.get(1).getStatus());
+        assertEquals(21L, results.get(1).getRepaymentId());
+        assertEquals(0, BigDecimal.valueOf(400).compareTo(loanEntity.getOutstandingAmount()));
+        verify(repaymentAllocator, times(1)).allocate(any(), any(), any());
+        verify(repaymentReferenceFilter).add("GW-4");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processRepayments_appliesInOrderAndSavesLoanOnce() {
+        loanEntity.setStatus(LoanStatus.OPEN);
+        loanEntity.setOutstandingAmount(BigDecimal.valueOf(150));
+        loanEntity.setTotalRepaidAmount(BigDecimal.ZERO);
+        List<RepaymentRequestDto> repayments = List.of(
+                RepaymentRequestDto.builder().amount(BigDecimal.valueOf(100)).paymentMethod("CARD").transactionReference("T1").build(),
+                RepaymentRequestDto.builder().amount(BigDecimal.valueOf(-5)).paymentMethod("CARD").transactionReference("T2").build(),
+                RepaymentRequestDto.builder().amount(BigDecimal.valueOf(100)).paymentMethod("CARD").transactionReference("T3").build(),
+                RepaymentRequestDto.builder().amount(BigDecimal.TEN).paymentMethod("CARD").transactionReference("T4").build());
+
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(loanEntity));
+        when(repaymentAllocator.allocate(eq(loanEntity), any(BigDecimal.class), any(LocalDate.class)))
+                .thenReturn(new RepaymentAllocator.Allocation(null, null, false));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(inv -> inv.getArgument(0));
+        ArgumentCaptor<List<Repayment>> savedRepaymentsCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<NotificationEventDto> eventCaptor = ArgumentCaptor.forClass(NotificationEventDto.class);
+
+        List<BulkRepaymentResultDto> results = loanService.processRepayments(1L, repayments);
+
+        assertEquals(List.of(RepaymentItemStatus.APPLIED, RepaymentItemStatus.REJECTED, RepaymentItemStatus.APPLIED, RepaymentItemStatus.REJECTED),
+                results.stream().map(BulkRepaymentResultDto::getStatus).toList());
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(results.get(0).getOutstandingAmount()));
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(results.get(2).getAmountApplied()));
+        assertEquals(LoanStatus.CLOSED, results.get(2).getLoanStatus());
+        assertEquals("T4", results.get(3).getTransactionReference());
+        verify(loanRepository, times(1)).findById(1L);
+        verify(loanRepository, times(1)).save(loanEntity);
+        verify(repaymentRepository).saveAll(savedRepaymentsCaptor.capture());
+        assertEquals(2, savedRepaymentsCaptor.getValue().size());
+        verify(notificationOutbox, times(1)).enqueue(eventCaptor.capture());
+        assertEquals("150", eventCaptor.getValue().getPayload().get("amountPaid"));
+        assertEquals(LoanStatus.CLOSED, loanEntity.getStatus());
+    }
+
+    @Test
+    void processRepayments_nothingApplied_leavesLoanUnsaved() {
+        loanEntity.setStatus(LoanStatus.CLOSED);
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(loanEntity));
+
+        List<BulkRepaymentResultDto> results = loanService.processRepayments(1L,
+                List.of(RepaymentRequestDto.builder().amount(BigDecimal.TEN).paymentMethod("CARD").build()));
+
+        assertEquals(RepaymentItemStatus.REJECTED, results.get(0).getStatus());
+        verify(loanRepository, never()).save(any());
+        verifyNoInteractions(repaymentRepository, notificationOutbox, repaymentAllocator);
+    }
+
+    @Test
+    void processOverdueLoans_delegatesToSweepEngine() {
         loanService.processOverdueLoans();
 
-        assertEquals(InstallmentStatus.OVERDUE, pendingInstallment.getStatus());
-        assertEquals(LoanStatus.OVERDUE, loanEntity.getStatus());
-        verify(feeService).applyLateFeeIfNeeded(loanEntity, pendingInstallment);
-        verify(feeService).applyDailyFees(loanEntity);
-        assertEquals("LOAN_OVERDUE", notificationCaptor.getValue().getEventType());
-        verify(loanRepository).save(loanEntity);
+        verify(loanSweepService).sweepOverdueLoans(LocalDate.now());
+    }
+
+    @Test
+    void getLoansPageByCustomerId_fetchesOneExtraRowToDetectMore() {
+        Loan second = Loan.builder().id(2L).customerId(1L).build();
+        when(loanRepository.findByCustomerIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(2)))
+                .thenReturn(List.of(loanEntity, second));
+        when(loanMapper.toDto(loanEntity, LoanView.DETAIL)).thenReturn(loanResponseDto);
+
+        CursorPageResponseDto<LoanResponseDto> page = loanService.getLoansPageByCustomerId(1L, null, 1, LoanView.DETAIL);
+
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(1L, page.getNextCursor());
+        verify(loanMapper, never()).toDto(second, LoanView.DETAIL);
+    }
+
+    @Test
+    void getLoansPageByCustomerId_sizeOutOfRange_throwsValidationException() {
+        assertThrows(ValidationException.class, () -> loanService.getLoansPageByCustomerId(1L, null, 0, LoanView.DETAIL));
+        assertThrows(ValidationException.class, () -> loanService.getLoansPageByCustomerId(1L, null, 501, LoanView.DETAIL));
+        verifyNoInteractions(loanRepository);
+    }
+
+    @Test
+    void getLoansByCustomerId_summaryUsesSummaryFetchPlan() {
+        when(loanRepository.findSummariesByCustomerIdOrderByIdAsc(1L)).thenReturn(List.of(loanEntity));
+        when(loanMapper.toDto(loanEntity, LoanView.SUMMARY)).thenReturn(loanResponseDto);
+
+        List<LoanResponseDto> result = loanService.getLoansByCustomerId(1L, LoanView.SUMMARY);
+
+        assertEquals(List.of(loanResponseDto), result);
+        verify(loanRepository, never()).findDetailsByCustomerIdOrderByIdAsc(any());
     }
-}
\ No newline at end of file
+}
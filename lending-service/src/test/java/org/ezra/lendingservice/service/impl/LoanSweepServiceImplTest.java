@@ -0,0 +1,222 @@
+package org.ezra.lendingservice.service.impl;
+
+import org.ezra.lendingservice.dto.SweepReportDto;
+import org.ezra.lendingservice.entity.SweepCheckpoint;
+import org.ezra.lendingservice.entity.SweepRun;
+import org.ezra.lendingservice.enums.SweepRunStatus;
+import org.ezra.lendingservice.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanSweepServiceImplTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+    @Mock
+    private OverdueMarker overdueMarker;
+    @Mock
+    private OverdueLoanChunkProcessor chunkProcessor;
+    @Mock
+    private SweepRunStore sweepRunStore;
+
+    @InjectMocks
+    private LoanSweepServiceImpl loanSweepService;
+
+    private final LocalDate today = LocalDate.now();
+    private SweepRun sweepRun;
+    private final Set<Long> failedLoans = new ConcurrentSkipListSet<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loanSweepService, "partitionCount", 4);
+        ReflectionTestUtils.setField(loanSweepService, "workerThreads", 2);
+        ReflectionTestUtils.setField(loanSweepService, "chunkSize", 10);
+        ReflectionTestUtils.setField(loanSweepService, "progressLogInterval", 0);
+
+        sweepRun = SweepRun.builder()
+                .id(1L)
+                .businessDate(today)
+                .status(SweepRunStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build();
+        lenient().when(loanRepository.findFeeSweepIds(anyLong(), anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    long afterId = inv.getArgument(0);
+                    long upToId = inv.getArgument(1);
+                    Pageable page = inv.getArgument(2);
+                    return LongStream.rangeClosed(afterId + 1, upToId)
+                            .limit(page.getPageSize())
+                            .boxed()
+                            .toList();
+                });
+        lenient().doAnswer(inv -> failedLoans.add(inv.getArgument(1)))
+                .when(sweepRunStore).recordFailedLoan(eq(1L), anyLong(), any());
+        lenient().doAnswer(inv -> failedLoans.remove(inv.<Long>getArgument(1)))
+                .when(sweepRunStore).clearFailedLoan(eq(1L), anyLong());
+        lenient().when(sweepRunStore.findFailedLoanIds(1L)).thenAnswer(inv -> List.copyOf(failedLoans));
+        lenient().when(sweepRunStore.finishRun(eq(1L), anyLong(), anyLong())).thenAnswer(inv -> {
+            sweepRun.setLoansFailed(failedLoans.size());
+            sweepRun.setPartitionsFailed(inv.getArgument(1));
+            sweepRun.setStatus(SweepRunStore.outcome(sweepRun.getPartitionsFailed(), sweepRun.getLoansFailed()));
+            return sweepRun;
+        });
+    }
+
+    @Test
+    void planPartitions_coversWholeIdRangeWithoutOverlap() {
+        when(loanRepository.findMinFeeSweepId()).thenReturn(1L);
+        when(loanRepository.findMaxFeeSweepId()).thenReturn(100L);
+
+        List<LoanSweepServiceImpl.SweepPartition> partitions = loanSweepService.planPartitions();
+
+        assertEquals(4, partitions.size());
+        assertEquals(1L, partitions.getFirst().lowerBound());
+        assertEquals(100L, partitions.getLast().upperBound());
+        for (int i = 1; i < partitions.size(); i++) {
+            assertEquals(partitions.get(i - 1).upperBound() + 1, partitions.get(i).lowerBound());
+        }
+    }
+
+    @Test
+    void sweepOverdueLoans_newRun_checkpointsEveryPartitionAndRecordsLoanThatFailsOnItsOwn() {
+        when(sweepRunStore.findResumableRun(today)).thenReturn(Optional.empty());
+        when(loanRepository.findMinFeeSweepId()).thenReturn(1L);
+        when(loanRepository.findMaxFeeSweepId()).thenReturn(40L);
+        when(sweepRunStore.startRun(eq(today), anyList())).thenReturn(sweepRun);
+        when(sweepRunStore.findPendingCheckpoints(1L)).thenReturn(List.of(
+                checkpoint(10L, 0, 1, 10, 0),
+                checkpoint(11L, 1, 11, 20, 10),
+                checkpoint(12L, 2, 21, 30, 20),
+                checkpoint(13L, 3, 31, 40, 30)));
+        AtomicLong processedLoans = new AtomicLong();
+        when(chunkProcessor.processChunk(anyList(), eq(today), anyLong())).thenAnswer(inv -> {
+            List<Long> ids = inv.getArgument(0);
+            if (ids.contains(13L)) {
+                throw new IllegalStateException("bad loan");
+            }
+            processedLoans.addAndGet(ids.size());
+            return ids.size();
+        });
+
+        SweepReportDto report = loanSweepService.sweepOverdueLoans(today);
+
+        assertEquals(39, processedLoans.get());
+        assertEquals(1, report.getLoansFailed());
+        assertEquals(0, report.getPartitionsFailed());
+        assertEquals(SweepRunStatus.PARTIALLY_FAILED, report.getStatus());
+        verify(chunkProcessor).processChunk(List.of(13L), today, 11L);
+        verify(sweepRunStore).recordFailedLoan(1L, 13L, "bad loan");
+        verify(sweepRunStore, times(4)).completePartition(anyLong());
+    }
+
+    @Test
+    void sweepOverdueLoans_marksOverdueBeforePlanningFeePartitions() {
+        when(overdueMarker.markOverdue(today)).thenReturn(List.of(3L, 8L));
+        when(sweepRunStore.findResumableRun(today)).thenReturn(Optional.empty());
+        when(sweepRunStore.startRun(eq(today), anyList())).thenReturn(sweepRun);
+
+        SweepReportDto report = loanSweepService.sweepOverdueLoans(today);
+
+        assertEquals(2, report.getLoansMarkedOverdue());
+        InOrder inOrder = inOrder(overdueMarker, loanRepository);
+        inOrder.verify(overdueMarker).markOverdue(today);
+        inOrder.verify(loanRepository).findMinFeeSweepId();
+    }
+
+    @Test
+    void sweepOverdueLoans_resumedRun_continuesAfterCheckpointWithoutReplanning() {
+        when(sweepRunStore.findResumableRun(today)).thenReturn(Optional.of(sweepRun));
+        when(sweepRunStore.findPendingCheckpoints(1L)).thenReturn(List.of(checkpoint(20L, 3, 1, 30, 25)));
+        when(chunkProcessor.processChunk(anyList(), eq(today), eq(20L))).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        loanSweepService.sweepOverdueLoans(today);
+
+        verify(chunkProcessor).processChunk(List.of(26L, 27L, 28L, 29L, 30L), today, 20L);
+        verify(chunkProcessor, times(1)).processChunk(anyList(), any(), any());
+        verify(sweepRunStore, never()).startRun(any(), anyList());
+        verify(loanRepository, never()).findMinFeeSweepId();
+        verify(sweepRunStore).completePartition(20L);
+    }
+
+    @Test
+    void sweepOverdueLoans_resumedRun_retriesRecordedLoansBeforePartitions() {
+        failedLoans.addAll(List.of(13L, 17L));
+        when(sweepRunStore.findResumableRun(today)).thenReturn(Optional.of(sweepRun));
+        when(chunkProcessor.processChunk(List.of(13L), today, null)).thenReturn(1);
+        when(chunkProcessor.processChunk(List.of(17L), today, null)).thenThrow(new IllegalStateException("still bad"));
+
+        SweepReportDto report = loanSweepService.sweepOverdueLoans(today);
+
+        verify(sweepRunStore).clearFailedLoan(1L, 13L);
+        verify(sweepRunStore).recordFailedLoan(1L, 17L, "still bad");
+        assertEquals(Set.of(17L), failedLoans);
+        assertEquals(SweepRunStatus.PARTIALLY_FAILED, report.getStatus());
+    }
+
+    @Test
+    void sweepOverdueLoans_resumedRun_completesOnceRecordedLoansSucceed() {
+        failedLoans.add(13L);
+        when(sweepRunStore.findResumableRun(today)).thenReturn(Optional.of(sweepRun));
+        when(chunkProcessor.processChunk(List.of(13L), today, null)).thenReturn(1);
+
+        SweepReportDto report = loanSweepService.sweepOverdueLoans(today);
+
+        assertTrue(failedLoans.isEmpty());
+        assertEquals(0, report.getLoansFailed());
+        assertEquals(SweepRunStatus.COMPLETED, report.getStatus());
+    }
+
+    @Test
+    void outcome_partitionFailuresOutrankLoanFailures() {
+        assertEquals(SweepRunStatus.COMPLETED, SweepRunStore.outcome(0, 0));
+        assertEquals(SweepRunStatus.PARTIALLY_FAILED, SweepRunStore.outcome(0, 2));
+        assertEquals(SweepRunStatus.FAILED, SweepRunStore.outcome(1, 2));
+    }
+
+    @Test
+    void sweepOverdueLoans_partitionQueryFails_runMarkedFailedAndPartitionLeftOpen() {
+        when(sweepRunStore.findResumableRun(today)).thenReturn(Optional.of(sweepRun));
+        when(sweepRunStore.findPendingCheckpoints(1L)).thenReturn(List.of(checkpoint(20L, 0, 1, 30, 0)));
+        when(loanRepository.findFeeSweepIds(anyLong(), anyLong(), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        SweepReportDto report = loanSweepService.sweepOverdueLoans(today);
+
+        assertEquals(SweepRunStatus.FAILED, report.getStatus());
+        assertEquals(1, report.getPartitionsFailed());
+        verify(sweepRunStore, never()).completePartition(anyLong());
+    }
+
+    private SweepCheckpoint checkpoint(Long id, int index, long lowerBound, long upperBound, long lastProcessedId) {
+        return SweepCheckpoint.builder()
+                .id(id)
+                .sweepRun(sweepRun)
+                .partitionIndex(index)
+                .lowerBound(lowerBound)
+                .upperBound(upperBound)
+                .lastProcessedId(lastProcessedId)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package org.ezra.lendingservice.service.impl;
+
+import org.ezra.lendingservice.amortization.FlatInterestStrategy;
+import org.ezra.lendingservice.catalog.FeeRule;
+import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.entity.FeeConfiguration;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.FeeCalculationType;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.TenureType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the minor-unit fee and schedule arithmetic with the BigDecimal reference it replaced:
+ * operations per second, and bytes allocated per operation on the calling thread. Tagged
+ * {@code benchmark}, so it only runs with {@code -Pperformance}.
+ */
+@Tag("benchmark")
+@ExtendWith(MockitoExtension.class)
+class MinorUnitsBenchmarkTest {
+
+    private static final int SAMPLES = 1_024;
+    private static final int FEE_ITERATIONS = 500_000;
+    private static final int SCHEDULE_ITERATIONS = 20_000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private final FlatInterestStrategy flatInterestStrategy = new FlatInterestStrategy();
+
+    @InjectMocks
+    private FeeServiceImpl feeService;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private long sink;
+
+    @Test
+    void percentageFee_allocatesLessThanBigDecimal(TestReporter reporter) {
+        SplittableRandom random = new SplittableRandom(18);
+        BigDecimal[] bases = new BigDecimal[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            bases[i] = BigDecimal.valueOf(random.nextLong(10_000, 100_000_000L), 2);
+        }
+        FeeRule rule = FeeRule.from(FeeConfiguration.builder()
+                .feeType(FeeType.LATE_FEE)
+                .calculationType(FeeCalculationType.PERCENTAGE)
+                .feeAmount(new BigDecimal("2.5"))
+                .build());
+
+        Result reference = measure(FEE_ITERATIONS,
+                i -> BigDecimalReference.calculateFeeAmount(bases[i & (SAMPLES - 1)], rule).hashCode());
+        Result minorUnits = measure(FEE_ITERATIONS,
+                i -> feeService.calculateFeeAmount(bases[i & (SAMPLES - 1)], rule).hashCode());
+
+        report(reporter, "percentageFee", reference, minorUnits);
+        assertTrue(minorUnits.bytesPerOp() < reference.bytesPerOp(),
+                minorUnits.bytesPerOp() + " B/op vs " + reference.bytesPerOp() + " B/op");
+    }
+
+    @Test
+    void installmentSchedule_allocatesLessThanBigDecimal(TestReporter reporter) {
+        SplittableRandom random = new SplittableRandom(1018);
+        List<Loan> loans = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            Loan loan = Loan.builder()
+                    .principalAmount(BigDecimal.valueOf(random.nextLong(50_000, 1_000_000L), 2))
+                    .interestRate(new BigDecimal("12.0"))
+                    .tenure(12)
+                    .tenureUnit(TenureType.MONTHS)
+                    .originationDate(LocalDate.of(2025, 1, 31))
+                    .appliedFees(new ArrayList<>(List.of(AppliedFee.builder()
+                            .feeType(FeeType.SERVICE_FEE)
+                            .amount(new BigDecimal("75.00"))
+                            .build())))
+                    .installments(new ArrayList<>())
+                    .build();
+            loans.add(loan);
+        }
+
+        Result reference = measure(SCHEDULE_ITERATIONS,
+                i -> BigDecimalReference.generateInstallmentSchedule(loans.get(i & (SAMPLES - 1))).size());
+        Result minorUnits = measure(SCHEDULE_ITERATIONS,
+                i -> flatInterestStrategy.schedule(loans.get(i & (SAMPLES - 1))).size());
+
+        report(reporter, "installmentSchedule", reference, minorUnits);
+        assertTrue(minorUnits.bytesPerOp() < reference.bytesPerOp(),
+                minorUnits.bytesPerOp() + " B/op vs " + reference.bytesPerOp() + " B/op");
+    }
+
+    private Result measure(int iterations, IntToLongFunction operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(iterations, operation);
+        }
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        run(iterations, operation);
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        return new Result(iterations / (nanos / 1e9), bytes / iterations);
+    }
+
+    private void run(int iterations, IntToLongFunction operation) {
+        long accumulated = 0;
+        for (int i = 0; i < iterations; i++) {
+            accumulated += operation.applyAsLong(i);
+        }
+        sink += accumulated;
+    }
+
+    private void report(TestReporter reporter, String name, Result reference, Result minorUnits) {
+        reporter.publishEntry(name + ".bigDecimal",
+                String.format("%.0f ops/s, %d B/op", reference.opsPerSecond(), reference.bytesPerOp()));
+        reporter.publishEntry(name + ".minorUnits",
+                String.format("%.0f ops/s, %d B/op", minorUnits.opsPerSecond(), minorUnits.bytesPerOp()));
+    }
+
+    private record Result(double opsPerSecond, long bytesPerOp) {
+    }
+}
@@ -0,0 +1,145 @@
+package org.ezra.lendingservice.service.impl;
+
+import org.ezra.lendingservice.amortization.FlatInterestStrategy;
+import org.ezra.lendingservice.catalog.FeeRule;
+import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.entity.FeeConfiguration;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.FeeCalculationType;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.TenureType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Property checks that the minor-unit fee and schedule arithmetic produces, cent for cent, what
+ * the BigDecimal implementation stored, over randomly generated amounts, rates and terms.
+ */
+@ExtendWith(MockitoExtension.class)
+class MinorUnitsEquivalenceTest {
+
+    private static final int FEE_CASES = 50_000;
+    private static final int SCHEDULE_CASES = 5_000;
+    private static final int LONG_TERM_CASES = 500;
+
+    private final FlatInterestStrategy flatInterestStrategy = new FlatInterestStrategy();
+
+    @InjectMocks
+    private FeeServiceImpl feeService;
+
+    @Test
+    void calculateFeeAmount_isCentIdenticalToBigDecimal() {
+        SplittableRandom random = new SplittableRandom(2018);
+        for (int i = 0; i < FEE_CASES; i++) {
+            BigDecimal base = BigDecimal.valueOf(random.nextLong(0, 1_000_000_000L), random.nextInt(5));
+            FeeRule rule = FeeRule.from(FeeConfiguration.builder()
+                    .feeType(FeeType.LATE_FEE)
+                    .calculationType(random.nextBoolean() ? FeeCalculationType.FIXED : FeeCalculationType.PERCENTAGE)
+                    .feeAmount(BigDecimal.valueOf(random.nextLong(1, 1_000_000L), random.nextInt(5)))
+                    .build());
+
+            assertEquals(BigDecimalReference.calculateFeeAmount(base, rule), feeService.calculateFeeAmount(base, rule),
+                    () -> rule.calculationType() + " " + rule.feeAmount() + " of " + base);
+        }
+    }
+
+    @Test
+    void flatSchedule_isCentIdenticalToBigDecimal() {
+        SplittableRandom random = new SplittableRandom(1018);
+        for (int i = 0; i < SCHEDULE_CASES; i++) {
+            assertScheduleMatchesReference(randomLoan(random));
+        }
+    }
+
+    @Test
+    void flatSchedule_longTermsOnLargePrincipals_isCentIdenticalToBigDecimal() {
+        // At 12% over 360 months the total interest in units of 10^-10 leaves the long range just above 256M.
+        assertScheduleMatchesReference(loan(BigDecimal.valueOf(256_500_000_00L, 2), BigDecimal.valueOf(12), 360, TenureType.MONTHS));
+        assertScheduleMatchesReference(loan(BigDecimal.valueOf(1_000_000_000_00L, 2), BigDecimal.valueOf(99.99), 360, TenureType.MONTHS));
+        assertScheduleMatchesReference(loan(BigDecimal.valueOf(9_000_000_000L), BigDecimal.ZERO, 1, TenureType.MONTHS));
+
+        SplittableRandom random = new SplittableRandom(3019);
+        for (int i = 0; i < LONG_TERM_CASES; i++) {
+            Loan loan = randomLoan(random);
+            loan.setPrincipalAmount(BigDecimal.valueOf(random.nextLong(100, 100_000_000_000_00L), 2));
+            loan.setTenure(loan.getTenureUnit() == TenureType.MONTHS ? random.nextInt(1, 361) : random.nextInt(1, 3651));
+            assertScheduleMatchesReference(loan);
+        }
+    }
+
+    private void assertScheduleMatchesReference(Loan loan) {
+        List<Installment> expected = BigDecimalReference.generateInstallmentSchedule(loan);
+
+        List<Installment> actual = flatInterestStrategy.schedule(loan);
+
+        assertEquals(expected.size(), actual.size());
+        for (int j = 0; j < expected.size(); j++) {
+            Installment want = expected.get(j);
+            Installment got = actual.get(j);
+            String context = loan.getPrincipalAmount() + " at " + loan.getInterestRate() + "% over "
+                    + loan.getTenure() + " " + loan.getTenureUnit() + ", installment " + (j + 1);
+            assertEquals(want.getDueDate(), got.getDueDate(), context);
+            assertEquals(cents(want.getPrincipalComponent()), got.getPrincipalComponent(), context);
+            assertEquals(cents(want.getInterestComponent()), got.getInterestComponent(), context);
+            assertEquals(cents(want.getFeeComponent()), got.getFeeComponent(), context);
+            assertEquals(cents(want.getTotalAmountDue()), got.getTotalAmountDue(), context);
+        }
+    }
+
+    /**
+     * What the DECIMAL(19, 2) installment columns store for a computed amount.
+     */
+    private static BigDecimal cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static Loan randomLoan(SplittableRandom random) {
+        boolean months = random.nextBoolean();
+        BigDecimal principal = random.nextInt(4) == 0
+                ? BigDecimal.valueOf(random.nextLong(1, 5_000_000L))
+                : BigDecimal.valueOf(random.nextLong(100, 500_000_000L), 2);
+        BigDecimal interestRate = random.nextBoolean()
+                ? BigDecimal.valueOf(random.nextLong(1, 600), 1)
+                : BigDecimal.valueOf(random.nextLong(1, 60_000), 3);
+        Loan loan = loan(principal, interestRate,
+                months ? random.nextInt(1, 37) : random.nextInt(1, 366), months ? TenureType.MONTHS : TenureType.DAYS);
+        int fees = random.nextInt(3);
+        for (int f = 0; f < fees; f++) {
+            loan.getAppliedFees().add(AppliedFee.builder()
+                    .feeType(FeeType.SERVICE_FEE)
+                    .amount(BigDecimal.valueOf(random.nextLong(0, 5_000_000L), 2))
+                    .build());
+        }
+        if (random.nextInt(4) == 0) {
+            loan.getAppliedFees().add(AppliedFee.builder()
+                    .feeType(FeeType.LATE_FEE)
+                    .amount(BigDecimal.valueOf(random.nextLong(0, 10_000L), 2))
+                    .build());
+        }
+        return loan;
+    }
+
+    private static Loan loan(BigDecimal principal, BigDecimal interestRate, int tenure, TenureType tenureUnit) {
+        return Loan.builder()
+                .principalAmount(principal)
+                .interestRate(interestRate)
+                .tenure(tenure)
+                .tenureUnit(tenureUnit)
+                .originationDate(LocalDate.of(2025, 1, 31))
+                .appliedFees(new ArrayList<>())
+                .installments(new ArrayList<>())
+                .build();
+    }
+}
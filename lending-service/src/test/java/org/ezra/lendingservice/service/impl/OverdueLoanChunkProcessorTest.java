@@ -0,0 +1,139 @@
+package org.ezra.lendingservice.service.impl;
+
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.entity.LoanProduct;
+import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.enums.LoanStatus;
+import org.ezra.lendingservice.enums.TenureType;
+import org.ezra.lendingservice.repository.LoanRepository;
+import org.ezra.lendingservice.repository.SweepCheckpointRepository;
+import org.ezra.lendingservice.service.FeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueLoanChunkProcessorTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+    @Mock
+    private SweepCheckpointRepository sweepCheckpointRepository;
+    @Mock
+    private FeeService feeService;
+
+    @InjectMocks
+    private OverdueLoanChunkProcessor chunkProcessor;
+
+    private Loan loanEntity;
+
+    @BeforeEach
+    void setUp() {
+        LoanProduct loanProduct = LoanProduct.builder()
+                .id(1L)
+                .name("Monthly Loan")
+                .tenureType(TenureType.MONTHS)
+                .feeConfigurations(Collections.emptyList())
+                .build();
+
+        loanEntity = Loan.builder()
+                .id(1L)
+                .customerId(1L)
+                .loanProduct(loanProduct)
+                .principalAmount(BigDecimal.valueOf(1000))
+                .outstandingAmount(BigDecimal.valueOf(1000))
+                .status(LoanStatus.OPEN)
+                .isInstallmentLoan(true)
+                .installments(new ArrayList<>())
+                .appliedFees(new ArrayList<>())
+                .build();
+    }
+
+    @Test
+    void processChunk_appliesLateFeesToOverdueInstallmentsOnly() {
+        LocalDate today = LocalDate.now();
+        loanEntity.setStatus(LoanStatus.OVERDUE);
+        Installment overdueInstallment = installment(1L, today.minusDays(10), InstallmentStatus.OVERDUE);
+        Installment pendingInstallment = installment(2L, today.plusDays(20), InstallmentStatus.PENDING);
+        loanEntity.getInstallments().addAll(List.of(overdueInstallment, pendingInstallment));
+        when(loanRepository.findAllForSweepByIdIn(List.of(1L))).thenReturn(List.of(loanEntity));
+
+        int processed = chunkProcessor.processChunk(List.of(1L), today, null);
+
+        assertEquals(1, processed);
+        assertEquals(LoanStatus.OVERDUE, loanEntity.getStatus());
+        verify(feeService).applyLateFeeIfNeeded(loanEntity, overdueInstallment, today);
+        verify(feeService, never()).applyLateFeeIfNeeded(eq(loanEntity), eq(pendingInstallment), any());
+        verify(feeService).applyDailyFees(loanEntity, today);
+    }
+
+    @Test
+    void processChunk_overdueLumpSumLoanGetsLateFee() {
+        loanEntity.setStatus(LoanStatus.OVERDUE);
+        loanEntity.setInstallmentLoan(false);
+        when(loanRepository.findAllForSweepByIdIn(List.of(1L))).thenReturn(List.of(loanEntity));
+
+        LocalDate today = LocalDate.of(2025, 6, 1);
+
+        chunkProcessor.processChunk(List.of(1L), today, null);
+
+        verify(feeService).applyLateFeeIfNeeded(loanEntity, today);
+        verify(feeService).applyDailyFees(loanEntity, today);
+    }
+
+    @Test
+    void processChunk_openLoanOnlyAccruesDailyFees() {
+        loanEntity.getInstallments().add(installment(1L, LocalDate.now().plusDays(5), InstallmentStatus.PENDING));
+        when(loanRepository.findAllForSweepByIdIn(List.of(1L))).thenReturn(List.of(loanEntity));
+
+        chunkProcessor.processChunk(List.of(1L), LocalDate.now(), null);
+
+        verify(feeService, never()).applyLateFeeIfNeeded(any(), any(), any());
+        verify(feeService, never()).applyLateFeeIfNeeded(any(), any());
+        verify(feeService).applyDailyFees(eq(loanEntity), any(LocalDate.class));
+    }
+
+    @Test
+    void processChunk_skipsLoansClosedSinceIdsWereRead() {
+        loanEntity.setStatus(LoanStatus.CLOSED);
+        when(loanRepository.findAllForSweepByIdIn(List.of(1L))).thenReturn(List.of(loanEntity));
+
+        chunkProcessor.processChunk(List.of(1L), LocalDate.now(), null);
+
+        verifyNoInteractions(feeService);
+    }
+
+    @Test
+    void processChunk_advancesCheckpointPastLastLoanId() {
+        when(loanRepository.findAllForSweepByIdIn(List.of(1L, 7L))).thenReturn(List.of(loanEntity));
+
+        chunkProcessor.processChunk(List.of(1L, 7L), LocalDate.now(), 42L);
+
+        verify(sweepCheckpointRepository).advance(eq(42L), eq(7L), eq(1L), any(LocalDateTime.class));
+    }
+
+    private Installment installment(Long id, LocalDate dueDate, InstallmentStatus status) {
+        return Installment.builder()
+                .id(id).loan(loanEntity)
+                .dueDate(dueDate)
+                .status(status)
+                .totalAmountDue(BigDecimal.valueOf(100))
+                .amountPaid(BigDecimal.ZERO)
+                .build();
+    }
+}
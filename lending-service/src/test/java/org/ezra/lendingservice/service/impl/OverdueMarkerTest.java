@@ -0,0 +1,127 @@
+package org.ezra.lendingservice.service.impl;
+
+import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.enums.LoanStatus;
+import org.ezra.lendingservice.enums.ProducerProfile;
+import org.ezra.lendingservice.events.NotificationEventDto;
+import org.ezra.lendingservice.events.NotificationOutbox;
+import org.ezra.lendingservice.exception.LoanProcessingException;
+import org.ezra.lendingservice.repository.InstallmentRepository;
+import org.ezra.lendingservice.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueMarkerTest {
+
+    @Mock
+    private InstallmentRepository installmentRepository;
+    @Mock
+    private LoanRepository loanRepository;
+    @Mock
+    private NotificationOutbox notificationOutbox;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OverdueMarker overdueMarker;
+
+    @Captor
+    private ArgumentCaptor<NotificationEventDto> eventCaptor;
+
+    private final LocalDate today = LocalDate.of(2025, 6, 1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(overdueMarker, "chunkSize", 2);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void markOverdue_updatesOnlyLoansThatFellDueAndReturnsTheirIds() {
+        when(installmentRepository.findLoanIdsWithUnpaidDueBefore(
+                InstallmentStatus.PENDING, today, LoanSweepServiceImpl.SWEEPABLE_STATUSES)).thenReturn(List.of(2L, 9L));
+        when(loanRepository.findLumpSumIdsDueBefore(LoanStatus.OPEN, today)).thenReturn(List.of(5L));
+        when(installmentRepository.updateStatusOfUnpaidDueBefore(any(), eq(today), eq(InstallmentStatus.PENDING), eq(InstallmentStatus.OVERDUE)))
+                .thenReturn(1);
+
+        List<Long> marked = overdueMarker.markOverdue(today);
+
+        assertEquals(List.of(2L, 5L, 9L), marked);
+        verify(installmentRepository).updateStatusOfUnpaidDueBefore(List.of(2L, 5L), today, InstallmentStatus.PENDING, InstallmentStatus.OVERDUE);
+        verify(installmentRepository).updateStatusOfUnpaidDueBefore(List.of(9L), today, InstallmentStatus.PENDING, InstallmentStatus.OVERDUE);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void markOverdue_notifiesOnlyLoansMovingFromOpenToOverdue() {
+        when(loanRepository.findLumpSumIdsDueBefore(LoanStatus.OPEN, today)).thenReturn(List.of(4L, 6L));
+        when(loanRepository.findByIdInAndStatus(List.of(4L, 6L), LoanStatus.OPEN)).thenReturn(List.of(candidate(6L, 60L)));
+        when(loanRepository.updateStatus(List.of(6L), LoanStatus.OPEN, LoanStatus.OVERDUE)).thenReturn(1);
+
+        overdueMarker.markOverdue(today);
+
+        verify(notificationOutbox).enqueue(eventCaptor.capture(), eq(ProducerProfile.THROUGHPUT));
+        NotificationEventDto event = eventCaptor.getValue();
+        assertEquals("LOAN_OVERDUE", event.getEventType());
+        assertEquals(60L, event.getCustomerId());
+        assertEquals("6", event.getPayload().get("loanId"));
+    }
+
+    @Test
+    void markChunk_updateCountDiffersFromLockedLoans_failsWithoutNotifying() {
+        when(loanRepository.findByIdInAndStatus(List.of(4L, 6L), LoanStatus.OPEN))
+                .thenReturn(List.of(candidate(4L, 40L), candidate(6L, 60L)));
+        when(loanRepository.updateStatus(List.of(4L, 6L), LoanStatus.OPEN, LoanStatus.OVERDUE)).thenReturn(1);
+
+        assertThrows(LoanProcessingException.class, () -> overdueMarker.markChunk(List.of(4L, 6L), today));
+
+        verifyNoInteractions(notificationOutbox);
+    }
+
+    @Test
+    void markOverdue_nothingDue_runsNoUpdates() {
+        List<Long> marked = overdueMarker.markOverdue(today);
+
+        assertEquals(List.of(), marked);
+        verifyNoInteractions(transactionTemplate, notificationOutbox);
+    }
+
+    private LoanRepository.OverdueCandidate candidate(Long id, Long customerId) {
+        return new LoanRepository.OverdueCandidate() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getCustomerId() {
+                return customerId;
+            }
+
+            @Override
+            public BigDecimal getOutstandingAmount() {
+                return BigDecimal.valueOf(250);
+            }
+        };
+    }
+}
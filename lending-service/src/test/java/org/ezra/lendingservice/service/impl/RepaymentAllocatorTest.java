@@ -0,0 +1,104 @@
+package org.ezra.lendingservice.service.impl;
+
+import org.ezra.lendingservice.entity.AppliedFee;
+import org.ezra.lendingservice.entity.Installment;
+import org.ezra.lendingservice.entity.Loan;
+import org.ezra.lendingservice.enums.FeeType;
+import org.ezra.lendingservice.enums.InstallmentStatus;
+import org.ezra.lendingservice.repository.AppliedFeeRepository;
+import org.ezra.lendingservice.repository.InstallmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepaymentAllocatorTest {
+
+    @Mock
+    private AppliedFeeRepository appliedFeeRepository;
+    @Mock
+    private InstallmentRepository installmentRepository;
+
+    @InjectMocks
+    private RepaymentAllocator repaymentAllocator;
+
+    private final LocalDate today = LocalDate.of(2025, 6, 15);
+    private Loan loan;
+
+    @BeforeEach
+    void setUp() {
+        loan = Loan.builder().id(1L).isInstallmentLoan(true).build();
+    }
+
+    @Test
+    void allocate_paysFeesThenOldestInstallmentsInOneQuery() {
+        AppliedFee lateFee = AppliedFee.builder().feeType(FeeType.LATE_FEE).amount(BigDecimal.valueOf(10)).build();
+        when(appliedFeeRepository.findByLoanIdAndPaidFalseAndFeeTypeNotOrderByIdAsc(1L, FeeType.SERVICE_FEE))
+                .thenReturn(List.of(lateFee));
+        Installment overdue = installment(1, today.minusDays(20), InstallmentStatus.OVERDUE, 100, 40);
+        Installment current = installment(2, today.plusDays(10), InstallmentStatus.PENDING, 100, 0);
+        Installment later = installment(3, today.plusDays(40), InstallmentStatus.PENDING, 100, 0);
+        when(installmentRepository.findByLoanIdAndStatusInOrderByDueDateAscInstallmentNumberAsc(eq(1L), anyCollection()))
+                .thenReturn(List.of(overdue, current, later));
+
+        RepaymentAllocator.Allocation allocation = repaymentAllocator.allocate(loan, BigDecimal.valueOf(100), today);
+
+        assertTrue(lateFee.isPaid());
+        assertEquals(InstallmentStatus.PAID, overdue.getStatus());
+        assertEquals(today, overdue.getPaymentDate());
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(current.getAmountPaid()));
+        assertEquals(InstallmentStatus.PENDING, current.getStatus());
+        assertSame(overdue, allocation.installment());
+        assertEquals(current.getDueDate(), allocation.nextBillingDate());
+        assertFalse(allocation.overdue());
+        verify(installmentRepository, times(1)).findByLoanIdAndStatusInOrderByDueDateAscInstallmentNumberAsc(eq(1L), anyCollection());
+    }
+
+    @Test
+    void allocate_partialPaymentOfOverdueInstallment_staysOverdue() {
+        Installment overdue = installment(1, today.minusDays(5), InstallmentStatus.OVERDUE, 100, 0);
+        when(installmentRepository.findByLoanIdAndStatusInOrderByDueDateAscInstallmentNumberAsc(eq(1L), anyCollection()))
+                .thenReturn(List.of(overdue));
+
+        RepaymentAllocator.Allocation allocation = repaymentAllocator.allocate(loan, BigDecimal.valueOf(60), today);
+
+        assertEquals(InstallmentStatus.OVERDUE, overdue.getStatus());
+        assertEquals(overdue.getDueDate(), allocation.nextBillingDate());
+        assertTrue(allocation.overdue());
+    }
+
+    @Test
+    void allocate_lumpSumLoan_overdueUntilFinalDueDateIsNotPast() {
+        loan.setInstallmentLoan(false);
+        loan.setFinalDueDate(today.minusDays(1));
+
+        RepaymentAllocator.Allocation allocation = repaymentAllocator.allocate(loan, BigDecimal.TEN, today);
+
+        assertTrue(allocation.overdue());
+        assertNull(allocation.installment());
+        verifyNoInteractions(installmentRepository);
+    }
+
+    private Installment installment(int number, LocalDate dueDate, InstallmentStatus status, long due, long paid) {
+        return Installment.builder()
+                .id((long) number)
+                .installmentNumber(number)
+                .dueDate(dueDate)
+                .status(status)
+                .totalAmountDue(BigDecimal.valueOf(due))
+                .amountPaid(BigDecimal.valueOf(paid))
+                .build();
+    }
+}
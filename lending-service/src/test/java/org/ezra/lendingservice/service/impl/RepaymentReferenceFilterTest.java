@@ -0,0 +1,88 @@
+package org.ezra.lendingservice.service.impl;
+
+import org.ezra.lendingservice.repository.RepaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepaymentReferenceFilterTest {
+
+    @Mock
+    private RepaymentRepository repaymentRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private RepaymentReferenceFilter repaymentReferenceFilter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repaymentReferenceFilter, "expectedReferences", 10_000);
+        ReflectionTestUtils.setField(repaymentReferenceFilter, "falsePositiveRate", 0.001);
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void mightContain_beforeLoad_reportsEveryReferenceAsPossiblySeen() {
+        assertTrue(repaymentReferenceFilter.mightContain("never-stored"));
+        verifyNoInteractions(repaymentRepository);
+    }
+
+    @Test
+    void load_storedReferencesAreFoundAndUnknownOnesMostlyRejected() {
+        when(repaymentRepository.streamTransactionReferences())
+                .thenReturn(IntStream.range(0, 10_000).mapToObj(i -> "GW-" + i));
+
+        repaymentReferenceFilter.load();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(repaymentReferenceFilter.mightContain("GW-" + i));
+        }
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> repaymentReferenceFilter.mightContain("MPESA-" + i))
+                .count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void add_referenceRecordedDuringLoadIsKept() {
+        when(repaymentRepository.streamTransactionReferences()).thenAnswer(inv -> {
+            repaymentReferenceFilter.add("GW-concurrent");
+            return Stream.of("GW-stored");
+        });
+
+        repaymentReferenceFilter.load();
+
+        assertTrue(repaymentReferenceFilter.mightContain("GW-stored"));
+        assertTrue(repaymentReferenceFilter.mightContain("GW-concurrent"));
+        assertFalse(repaymentReferenceFilter.mightContain("GW-unknown"));
+    }
+
+    @Test
+    void load_failureKeepsDatabaseFallback() {
+        when(repaymentRepository.streamTransactionReferences()).thenThrow(new IllegalStateException("db down"));
+
+        repaymentReferenceFilter.load();
+
+        assertTrue(repaymentReferenceFilter.mightContain("GW-unknown"));
+    }
+}
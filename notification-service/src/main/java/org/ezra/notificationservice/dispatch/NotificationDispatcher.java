@@ -0,0 +1,100 @@
+package org.ezra.notificationservice.dispatch;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.notificationservice.enums.NotificationChannel;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs sends on a separate bounded executor per channel, so a slow gateway only occupies its own
+ * channel's workers. Each channel admits at most {@code concurrency + queue-capacity} sends in flight;
+ * once full, {@link #submit} blocks the calling listener thread until a slot frees up, which slows
+ * down polling instead of buffering without limit.
+ * Configured per channel via {@code app.notification.dispatch.<channel>.concurrency} and
+ * {@code app.notification.dispatch.<channel>.queue-capacity}. Lane workers are virtual threads when
+ * {@code spring.threads.virtual.enabled} is set; the lane size still bounds concurrency per gateway.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int DEFAULT_QUEUE_CAPACITY = 500;
+
+    private final Map<NotificationChannel, ChannelLane> lanes = new EnumMap<>(NotificationChannel.class);
+
+    public NotificationDispatcher(Environment environment) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            String prefix = "app.notification.dispatch." + channel.name().toLowerCase(Locale.ROOT);
+            int concurrency = environment.getProperty(prefix + ".concurrency", Integer.class, DEFAULT_CONCURRENCY);
+            int queueCapacity = environment.getProperty(prefix + ".queue-capacity", Integer.class, DEFAULT_QUEUE_CAPACITY);
+            lanes.put(channel, new ChannelLane(channel, concurrency, queueCapacity, virtualThreads));
+            log.info("Notification dispatch lane {}: concurrency={}, queueCapacity={}, virtualThreads={}",
+                    channel, concurrency, queueCapacity, virtualThreads);
+        }
+    }
+
+    /**
+     * Schedules {@code send} on the channel's executor, blocking while the channel is at capacity.
+     */
+    public <T> CompletableFuture<T> submit(NotificationChannel channel, Supplier<T> send) {
+        return submitAsync(channel, () -> CompletableFuture.completedFuture(send.get()));
+    }
+
+    /**
+     * Like {@link #submit}, for sends that return a pending stage: the channel slot stays taken until
+     * that stage completes, so asynchronous providers are bounded by the same limits.
+     */
+    public <T> CompletableFuture<T> submitAsync(NotificationChannel channel, Supplier<? extends CompletionStage<T>> send) {
+        ChannelLane lane = lanes.get(channel);
+        try {
+            lane.permits().acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        try {
+            return CompletableFuture.<CompletionStage<T>>supplyAsync(send::get, lane.executor())
+                    .thenCompose(stage -> stage)
+                    .whenComplete((result, error) -> lane.permits().release());
+        } catch (RuntimeException e) {
+            lane.permits().release();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.values().forEach(lane -> lane.executor().shutdown());
+    }
+
+    private record ChannelLane(ExecutorService executor, Semaphore permits) {
+
+        ChannelLane(NotificationChannel channel, int concurrency, int queueCapacity, boolean virtualThreads) {
+            this(new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                            threadFactory("notify-" + channel.name().toLowerCase(Locale.ROOT) + "-", virtualThreads)),
+                    new Semaphore(concurrency + queueCapacity));
+        }
+
+        private static ThreadFactory threadFactory(String prefix, boolean virtualThreads) {
+            return virtualThreads
+                    ? Thread.ofVirtual().name(prefix, 0).factory()
+                    : Thread.ofPlatform().daemon().name(prefix, 0).factory();
+        }
+    }
+}
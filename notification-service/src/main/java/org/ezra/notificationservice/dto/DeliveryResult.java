@@ -0,0 +1,23 @@
+package org.ezra.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliveryResult {
+    private boolean delivered;
+    private String failureReason;
+
+    public static DeliveryResult success() {
+        return new DeliveryResult(true, null);
+    }
+
+    public static DeliveryResult failure(String failureReason) {
+        return new DeliveryResult(false, failureReason);
+    }
+}
@@ -0,0 +1,22 @@
+package org.ezra.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.ezra.notificationservice.enums.NotificationChannel;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationMessage {
+    private String eventId;
+    private NotificationChannel channel;
+    private String recipientAddress;
+    private String subject;
+    private String body;
+    private Map<String, String> contextData;
+}
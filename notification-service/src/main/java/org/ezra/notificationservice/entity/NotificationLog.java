@@ -20,9 +20,13 @@ import java.util.Map;
 public class NotificationLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_log_seq")
+    @SequenceGenerator(name = "notification_log_seq", sequenceName = "NOTIFICATION_LOG_SEQ", allocationSize = 50)
     private Long id;
 
+    @Column(unique = true, updatable = false, length = 100)
+    private String eventId;
+
     private Long customerId;
 
     private String recipientAddress;
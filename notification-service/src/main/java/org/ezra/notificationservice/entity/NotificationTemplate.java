@@ -10,7 +10,8 @@ import org.ezra.notificationservice.enums.NotificationChannel;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notification_templates")
+@Table(name = "notification_templates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_nt_template_code_language", columnNames = {"template_code", "language_code"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +21,7 @@ public class NotificationTemplate {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String templateCode;
 
     @Column(nullable = false)
@@ -34,6 +35,7 @@ public class NotificationTemplate {
     @Column(nullable = false)
     private NotificationChannel defaultChannel;
 
+    @Column(nullable = false)
     private String languageCode;
 
     @Column(nullable = false, updatable = false)
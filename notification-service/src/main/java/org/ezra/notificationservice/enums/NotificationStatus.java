@@ -5,5 +5,6 @@ public enum NotificationStatus {
     SENT,
     DELIVERED,
     FAILED,
+    UNKNOWN,
     SIMULATED
 }
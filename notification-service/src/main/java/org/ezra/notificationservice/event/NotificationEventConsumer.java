@@ -5,33 +5,44 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.ezra.notificationservice.service.NotificationProcessingService;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class NotificationEventConsumer {
     private final NotificationProcessingService notificationProcessingService;
+
+    /**
+     * Handles one poll at a time. If persisting the batch fails the exception propagates, no offsets
+     * are committed and the container's error handler retries the batch with backoff before sending
+     * it to the dead-letter topic. Events logged by an earlier attempt are not sent again.
+     */
     @KafkaListener(
             topics = "${app.kafka.topic.notification-events}",
             groupId = "${spring.kafka.consumer.group-id}",
             containerFactory = "kafkaListenerContainerFactory"
     )
-    public void consumeNotificationEvent(ConsumerRecord<String, NotificationEventDto> record, @Payload NotificationEventDto eventDto) {
-        log.info("<<< Consumed Kafka Message [Key: '{}', EventId: '{}', EventType: '{}', Offset: '{}', Partition: '{}']",
-                record.key(),
-                eventDto.getEventId(),
-                eventDto.getEventType(),
-                record.offset(),
-                record.partition());
-
-        try {
-            notificationProcessingService.processNotificationEvent(eventDto);
-            log.info(">>> Successfully processed event: EventId='{}', EventType='{}'", eventDto.getEventId(), eventDto.getEventType());
-        } catch (Exception e) {
-            log.error("!!! Error processing notification event: EventId='{}', EventType='{}'. Error: {}",
-                    eventDto.getEventId(), eventDto.getEventType(), e.getMessage(), e);
+    public void consumeNotificationEvents(List<ConsumerRecord<String, NotificationEventDto>> records) {
+        List<NotificationEventDto> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, NotificationEventDto> record : records) {
+            if (record.value() == null) {
+                log.error("!!! Skipping unreadable notification event [Key: '{}', Offset: '{}', Partition: '{}']",
+                        record.key(), record.offset(), record.partition());
+                continue;
+            }
+            events.add(record.value());
+        }
+        if (events.isEmpty()) {
+            return;
         }
+        ConsumerRecord<String, NotificationEventDto> first = records.getFirst();
+        log.info("<<< Consumed {} notification events [Partition: '{}', First offset: '{}']",
+                events.size(), first.partition(), first.offset());
+        notificationProcessingService.processNotificationEvents(events);
+        log.info(">>> Successfully processed batch of {} notification events", events.size());
     }
 }
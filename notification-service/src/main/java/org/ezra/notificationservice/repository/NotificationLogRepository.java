@@ -1,7 +1,28 @@
 package org.ezra.notificationservice.repository;
 
 import org.ezra.notificationservice.entity.NotificationLog;
+import org.ezra.notificationservice.enums.NotificationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface NotificationLogRepository extends JpaRepository<NotificationLog, Long> {
-}
\ No newline at end of file
+    boolean existsByEventId(String eventId);
+
+    @Query("SELECT l.eventId FROM NotificationLog l WHERE l.eventId IN :eventIds")
+    List<String> findEventIdsIn(@Param("eventIds") Collection<String> eventIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationLog l SET l.status = :status, l.sentAt = :sentAt, l.failureReason = :failureReason WHERE l.id IN :ids")
+    int updateOutcome(@Param("ids") Collection<Long> ids,
+                      @Param("status") NotificationStatus status,
+                      @Param("sentAt") LocalDateTime sentAt,
+                      @Param("failureReason") String failureReason);
+}
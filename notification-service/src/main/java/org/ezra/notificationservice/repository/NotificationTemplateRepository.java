@@ -2,9 +2,14 @@ package org.ezra.notificationservice.repository;
 
 import org.ezra.notificationservice.entity.NotificationTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface NotificationTemplateRepository extends JpaRepository<NotificationTemplate, Long> {
-    Optional<NotificationTemplate> findByTemplateCode(String templateCode);
-}
\ No newline at end of file
+    Optional<NotificationTemplate> findByTemplateCodeAndLanguageCode(String templateCode, String languageCode);
+
+    @Query("SELECT MAX(t.updatedAt) FROM NotificationTemplate t")
+    Optional<LocalDateTime> findLatestUpdatedAt();
+}
@@ -2,6 +2,10 @@ package org.ezra.notificationservice.service;
 
 import org.ezra.notificationservice.event.NotificationEventDto;
 
+import java.util.List;
+
 public interface NotificationProcessingService {
     void processNotificationEvent(NotificationEventDto eventDto);
+
+    void processNotificationEvents(List<NotificationEventDto> events);
 }
@@ -1,12 +1,50 @@
 package org.ezra.notificationservice.service;
 
+import org.ezra.notificationservice.dto.DeliveryResult;
+import org.ezra.notificationservice.dto.NotificationMessage;
 import org.ezra.notificationservice.enums.NotificationChannel;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
+/**
+ * Delivery provider for one or more channels. Blocking providers only implement {@link #send}; the
+ * async and batch methods default to it. Providers with non-blocking clients override
+ * {@link #sendAsync}, and those that accept bulk submissions override {@link #supportsBatch} and
+ * {@link #sendBatch} to take many messages per call.
+ */
 public interface NotificationSender {
     boolean supports(NotificationChannel channel);
 
     void send(String recipientAddress, String subject, String body, Map<String, String> contextData) throws Exception;
-}
 
+    default CompletionStage<Void> sendAsync(NotificationMessage message) {
+        try {
+            send(message.getRecipientAddress(), message.getSubject(), message.getBody(), message.getContextData());
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default boolean supportsBatch() {
+        return false;
+    }
+
+    /**
+     * Sends all messages, completing with one result per message in the same order. A failed message
+     * does not fail the batch.
+     */
+    default CompletionStage<List<DeliveryResult>> sendBatch(List<NotificationMessage> messages) {
+        List<CompletableFuture<DeliveryResult>> results = messages.stream()
+                .map(message -> sendAsync(message).toCompletableFuture()
+                        .handle((ignored, error) -> error == null
+                                ? DeliveryResult.success()
+                                : DeliveryResult.failure(error.getMessage())))
+                .toList();
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
+    }
+}
@@ -2,49 +2,161 @@ package org.ezra.notificationservice.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.ezra.notificationservice.dispatch.NotificationDispatcher;
+import org.ezra.notificationservice.dto.DeliveryResult;
+import org.ezra.notificationservice.dto.NotificationMessage;
 import org.ezra.notificationservice.entity.NotificationLog;
-import org.ezra.notificationservice.entity.NotificationTemplate;
 import org.ezra.notificationservice.enums.NotificationChannel;
 import org.ezra.notificationservice.enums.NotificationStatus;
 import org.ezra.notificationservice.event.NotificationEventDto;
 import org.ezra.notificationservice.repository.NotificationLogRepository;
-import org.ezra.notificationservice.repository.NotificationTemplateRepository;
 import org.ezra.notificationservice.service.NotificationProcessingService;
 import org.ezra.notificationservice.service.NotificationSender;
+import org.ezra.notificationservice.template.CompiledTemplate;
+import org.ezra.notificationservice.template.NotificationTemplateCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationProcessingServiceImpl implements NotificationProcessingService {
-    private final NotificationTemplateRepository templateRepository;
+    private static final String LANGUAGE_CODE_PARAMETER = "languageCode";
+
+    private final NotificationTemplateCache templateCache;
     private final NotificationLogRepository logRepository;
-    private final List<NotificationSender> notificationSenders;
+    private final NotificationSenderRegistry senderRegistry;
+    private final NotificationDispatcher notificationDispatcher;
+
+    @Value("${app.notification.dispatch.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
 
-    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{(.+?)}");
+    @Value("${app.notification.dispatch.batch-size:100}")
+    private int sendBatchSize;
 
     @Override
-    @Transactional
     public void processNotificationEvent(NotificationEventDto eventDto) {
+        if (eventDto.getEventId() != null && logRepository.existsByEventId(eventDto.getEventId())) {
+            log.info("Skipping notification event {}: it already has a log.", eventDto.getEventId());
+            return;
+        }
+        PreparedBatch batch = prepare(List.of(eventDto));
+        NotificationLog notificationLog = batch.logs().getFirst();
+        logRepository.save(notificationLog);
+        dispatchAndRecord(batch);
+        log.info("Notification log with status {} saved for EventId: {}", notificationLog.getStatus(), eventDto.getEventId());
+    }
+
+    /**
+     * Renders a whole poll's worth of events from the compiled template cache and writes their logs,
+     * PENDING where a send is due, with one batched saveAll before anything is sent. The sends are
+     * then handed to the per-channel dispatch lanes and their outcomes written once all of them have
+     * completed. Events that already have a log are skipped, so a redelivered poll only sends what
+     * was never logged; a send is not repeated even when recording its outcome failed, its log then
+     * stays PENDING. No transaction is held open while sends are in flight.
+     */
+    @Override
+    public void processNotificationEvents(List<NotificationEventDto> events) {
+        List<NotificationEventDto> unprocessed = withoutLoggedEvents(events);
+        if (unprocessed.isEmpty()) {
+            log.info("All {} notification events in the batch already have logs; nothing to send.", events.size());
+            return;
+        }
+        PreparedBatch batch = prepare(unprocessed);
+        logRepository.saveAll(batch.logs());
+        dispatchAndRecord(batch);
+        log.info("Saved {} notification logs for batch of {} events.", batch.logs().size(), events.size());
+    }
+
+    private List<NotificationEventDto> withoutLoggedEvents(List<NotificationEventDto> events) {
+        Set<String> eventIds = events.stream()
+                .map(NotificationEventDto::getEventId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> logged = eventIds.isEmpty() ? Set.of() : new HashSet<>(logRepository.findEventIdsIn(eventIds));
+        Set<String> seen = new HashSet<>();
+        List<NotificationEventDto> unprocessed = new ArrayList<>(events.size());
+        for (NotificationEventDto eventDto : events) {
+            String eventId = eventDto.getEventId();
+            if (eventId != null && (logged.contains(eventId) || !seen.add(eventId))) {
+                log.info("Skipping notification event {}: it already has a log.", eventId);
+                continue;
+            }
+            unprocessed.add(eventDto);
+        }
+        return unprocessed;
+    }
+
+    private PreparedBatch prepare(List<NotificationEventDto> events) {
+        List<NotificationLog> logs = new ArrayList<>(events.size());
+        Map<NotificationChannel, List<PendingSend>> pendingByChannel = new EnumMap<>(NotificationChannel.class);
+        for (NotificationEventDto eventDto : events) {
+            logs.add(prepare(eventDto, findTemplate(eventDto), pendingByChannel));
+        }
+        return new PreparedBatch(logs, pendingByChannel);
+    }
+
+    private void dispatchAndRecord(PreparedBatch batch) {
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        batch.pendingByChannel().forEach((channel, pending) -> sends.addAll(send(channel, pending)));
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        recordOutcomes(batch.pendingByChannel().values().stream()
+                .flatMap(List::stream)
+                .map(PendingSend::notificationLog)
+                .toList());
+    }
+
+    /**
+     * Writes the outcomes of the sent logs with one update per distinct status and failure reason.
+     * A group's {@code sentAt} is the time its last send completed.
+     */
+    private void recordOutcomes(List<NotificationLog> sentLogs) {
+        Map<Outcome, List<NotificationLog>> byOutcome = sentLogs.stream()
+                .collect(Collectors.groupingBy(l -> new Outcome(l.getStatus(), l.getFailureReason()),
+                        LinkedHashMap::new, Collectors.toList()));
+        byOutcome.forEach((outcome, logs) -> logRepository.updateOutcome(
+                logs.stream().map(NotificationLog::getId).toList(),
+                outcome.status(),
+                logs.stream().map(NotificationLog::getSentAt).filter(Objects::nonNull).max(LocalDateTime::compareTo).orElse(null),
+                outcome.failureReason()));
+    }
+
+    private Optional<CompiledTemplate> findTemplate(NotificationEventDto eventDto) {
+        String languageCode = eventDto.getPayload() != null ? eventDto.getPayload().get(LANGUAGE_CODE_PARAMETER) : null;
+        return templateCache.find(eventDto.getEventType(), languageCode);
+    }
+
+    /**
+     * Builds the event's log. Events that can be sent are left PENDING and queued under their channel.
+     */
+    private NotificationLog prepare(NotificationEventDto eventDto, Optional<CompiledTemplate> templateOpt,
+                                    Map<NotificationChannel, List<PendingSend>> pendingByChannel) {
         log.info("Processing notification event: Type='{}', CustomerId='{}', EventId='{}'",
                 eventDto.getEventType(), eventDto.getCustomerId(), eventDto.getEventId());
         NotificationLog.NotificationLogBuilder logBuilder = NotificationLog.builder()
+                .eventId(eventDto.getEventId())
                 .customerId(eventDto.getCustomerId())
                 .eventType(eventDto.getEventType())
                 .parameters(eventDto.getPayload())
                 .processedAt(LocalDateTime.now())
                 .status(NotificationStatus.PENDING);
 
-        Optional<NotificationTemplate> templateOpt = templateRepository.findByTemplateCode(eventDto.getEventType());
-
         if (templateOpt.isEmpty()) {
             log.warn("No template found for templateCode/eventType: '{}'. Logging raw event. EventId: {}",
                     eventDto.getEventType(), eventDto.getEventId());
@@ -52,13 +164,12 @@ public class NotificationProcessingServiceImpl implements NotificationProcessing
                     .channel(NotificationChannel.PUSH)
                     .status(NotificationStatus.FAILED)
                     .failureReason("Template not found: " + eventDto.getEventType());
-            logRepository.save(logBuilder.build());
-            return;
+            return logBuilder.build();
         }
 
-        NotificationTemplate template = templateOpt.get();
-        logBuilder.templateUsed(template);
-        NotificationChannel targetChannel = template.getDefaultChannel();
+        CompiledTemplate compiledTemplate = templateOpt.get();
+        logBuilder.templateUsed(compiledTemplate.getTemplate());
+        NotificationChannel targetChannel = compiledTemplate.getTemplate().getDefaultChannel();
         logBuilder.channel(targetChannel);
 
         String recipientAddress = determineRecipientAddress(targetChannel, eventDto.getCustomerId(), eventDto.getPayload());
@@ -67,65 +178,139 @@ public class NotificationProcessingServiceImpl implements NotificationProcessing
                     eventDto.getCustomerId(), targetChannel, eventDto.getEventId());
             logBuilder.status(NotificationStatus.FAILED)
                     .failureReason("Recipient address not found or not provided for channel " + targetChannel);
-            logRepository.save(logBuilder.build());
-            return;
+            return logBuilder.build();
         }
         logBuilder.recipientAddress(recipientAddress);
-        String renderedSubject = renderTemplate(template.getSubjectTemplate(), eventDto.getPayload());
-        String renderedBody = renderTemplate(template.getBodyTemplate(), eventDto.getPayload());
+        String renderedSubject = compiledTemplate.renderSubject(eventDto.getPayload());
+        String renderedBody = compiledTemplate.renderBody(eventDto.getPayload());
 
         logBuilder.subject(renderedSubject);
         logBuilder.body(renderedBody);
-        boolean sentSuccessfully = false;
-        String sendFailureReason = "No suitable sender found for channel: " + targetChannel;
-
-        for (NotificationSender sender : notificationSenders) {
-            if (sender.supports(targetChannel)) {
-                try {
-                    sender.send(recipientAddress, renderedSubject, renderedBody, eventDto.getPayload());
-                    sentSuccessfully = true;
-                    log.info("SIMULATED SEND via {}: Channel='{}', To='{}', Subject='{}', EventId='{}'",
-                            sender.getClass().getSimpleName(), targetChannel, recipientAddress, renderedSubject, eventDto.getEventId());
-                    break; // Sent successfully by one sender
-                } catch (Exception e) {
-                    log.error("Error sending notification via {}: Channel='{}', To='{}', EventId='{}': {}",
-                            sender.getClass().getSimpleName(), targetChannel, recipientAddress, eventDto.getEventId(), e.getMessage(), e);
-                    sendFailureReason = "Failed to send via " + sender.getClass().getSimpleName() + ": " + e.getMessage();
-                }
-            }
+        NotificationLog notificationLog = logBuilder.build();
+        NotificationMessage message = NotificationMessage.builder()
+                .eventId(eventDto.getEventId())
+                .channel(targetChannel)
+                .recipientAddress(recipientAddress)
+                .subject(renderedSubject)
+                .body(renderedBody)
+                .contextData(eventDto.getPayload())
+                .build();
+        pendingByChannel.computeIfAbsent(targetChannel, channel -> new ArrayList<>())
+                .add(new PendingSend(notificationLog, message));
+        return notificationLog;
+    }
+
+    /**
+     * Submits a channel's messages to its dispatch lane, in chunks of {@code sendBatchSize} when the
+     * channel's sender accepts batches and one by one otherwise. The returned futures never fail;
+     * outcomes are written to the logs. A provider call cannot be withdrawn once it has started, so a
+     * send with no outcome after {@code send-timeout-ms} is logged UNKNOWN rather than FAILED, and its
+     * eventual outcome is logged when it arrives.
+     */
+    private List<CompletableFuture<Void>> send(NotificationChannel channel, List<PendingSend> pending) {
+        Optional<NotificationSender> senderOpt = senderRegistry.senderFor(channel);
+        if (senderOpt.isEmpty()) {
+            pending.forEach(send -> complete(send, DeliveryResult.failure("No suitable sender found for channel: " + channel), null));
+            return List.of();
         }
-        if (sentSuccessfully) {
-            logBuilder.status(NotificationStatus.SIMULATED);
-            logBuilder.sentAt(LocalDateTime.now());
+        NotificationSender sender = senderOpt.get();
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        if (sender.supportsBatch()) {
+            for (int from = 0; from < pending.size(); from += sendBatchSize) {
+                List<PendingSend> chunk = pending.subList(from, Math.min(from + sendBatchSize, pending.size()));
+                List<NotificationMessage> messages = chunk.stream().map(PendingSend::message).toList();
+                CompletableFuture<List<DeliveryResult>> dispatched =
+                        notificationDispatcher.submitAsync(channel, () -> sender.sendBatch(messages));
+                sends.add(dispatched.copy()
+                        .orTimeout(sendTimeoutMs, TimeUnit.MILLISECONDS)
+                        .handle((results, error) -> {
+                            if (isTimeout(error)) {
+                                chunk.forEach(send -> completeUnknown(send, channel));
+                                logLateOutcome(dispatched, channel, chunk.size());
+                                return null;
+                            }
+                            for (int i = 0; i < chunk.size(); i++) {
+                                DeliveryResult result = error == null && results != null && results.size() == chunk.size()
+                                        ? results.get(i)
+                                        : DeliveryResult.failure(failureReason(sender, error));
+                                complete(chunk.get(i), result, sender);
+                            }
+                            return null;
+                        }));
+            }
         } else {
-            logBuilder.status(NotificationStatus.FAILED);
-            logBuilder.failureReason(sendFailureReason);
+            for (PendingSend send : pending) {
+                CompletableFuture<Void> dispatched =
+                        notificationDispatcher.submitAsync(channel, () -> sender.sendAsync(send.message()));
+                sends.add(dispatched.copy()
+                        .orTimeout(sendTimeoutMs, TimeUnit.MILLISECONDS)
+                        .handle((ignored, error) -> {
+                            if (isTimeout(error)) {
+                                completeUnknown(send, channel);
+                                logLateOutcome(dispatched, channel, 1);
+                                return null;
+                            }
+                            complete(send, error == null
+                                    ? DeliveryResult.success()
+                                    : DeliveryResult.failure(failureReason(sender, error)), sender);
+                            return null;
+                        }));
+            }
         }
-        logRepository.save(logBuilder.build());
-        log.info("Notification log with status {} saved for EventId: {}", logBuilder.build().getStatus(), eventDto.getEventId());
+        return sends;
     }
 
-    private String renderTemplate(String templateString, Map<String, String> parameters) {
-        if (templateString == null || templateString.isEmpty()) {
-            return "";
+    private void complete(PendingSend send, DeliveryResult result, NotificationSender sender) {
+        NotificationLog notificationLog = send.notificationLog();
+        NotificationMessage message = send.message();
+        if (result.isDelivered()) {
+            notificationLog.setStatus(NotificationStatus.SIMULATED);
+            notificationLog.setSentAt(LocalDateTime.now());
+            log.info("SIMULATED SEND via {}: Channel='{}', To='{}', Subject='{}', EventId='{}'",
+                    sender.getClass().getSimpleName(), message.getChannel(), message.getRecipientAddress(),
+                    message.getSubject(), message.getEventId());
+        } else {
+            notificationLog.setStatus(NotificationStatus.FAILED);
+            notificationLog.setFailureReason(result.getFailureReason());
+            log.error("Error sending notification: Channel='{}', To='{}', EventId='{}': {}",
+                    message.getChannel(), message.getRecipientAddress(), message.getEventId(), result.getFailureReason());
         }
-        if (parameters == null || parameters.isEmpty()) {
-            Matcher earlyMatcher = PLACEHOLDER_PATTERN.matcher(templateString);
-            if (!earlyMatcher.find()) {
-                return templateString;
+    }
+
+    private void completeUnknown(PendingSend send, NotificationChannel channel) {
+        NotificationLog notificationLog = send.notificationLog();
+        notificationLog.setStatus(NotificationStatus.UNKNOWN);
+        notificationLog.setFailureReason("No outcome from " + channel + " provider within " + sendTimeoutMs
+                + " ms; the send may still complete");
+        log.warn("Send outcome unknown after {} ms: Channel='{}', To='{}', EventId='{}'",
+                sendTimeoutMs, channel, send.message().getRecipientAddress(), send.message().getEventId());
+    }
+
+    private void logLateOutcome(CompletableFuture<?> dispatched, NotificationChannel channel, int messages) {
+        dispatched.whenComplete((ignored, error) -> {
+            if (error == null) {
+                log.info("Late send of {} message(s) via {} completed after being logged UNKNOWN.", messages, channel);
+            } else {
+                log.warn("Late send of {} message(s) via {} failed after being logged UNKNOWN: {}",
+                        messages, channel, unwrap(error).getMessage());
             }
-        }
+        });
+    }
 
+    private static boolean isTimeout(Throwable error) {
+        return unwrap(error) instanceof TimeoutException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
 
-        StringBuilder sb = new StringBuilder();
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(templateString);
-        while (matcher.find()) {
-            String placeholderKey = matcher.group(1);
-            String replacement = parameters.getOrDefault(placeholderKey, matcher.group(0));
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+    private String failureReason(NotificationSender sender, Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause == null) {
+            return "Failed to send via " + sender.getClass().getSimpleName() + ": incomplete batch result";
         }
-        matcher.appendTail(sb);
-        return sb.toString();
+        return "Failed to send via " + sender.getClass().getSimpleName() + ": " + cause.getMessage();
     }
 
     private String determineRecipientAddress(NotificationChannel channel, Long customerId, Map<String, String> payload) {
@@ -136,4 +321,13 @@ public class NotificationProcessingServiceImpl implements NotificationProcessing
             default -> null;
         };
     }
+
+    private record PendingSend(NotificationLog notificationLog, NotificationMessage message) {
+    }
+
+    private record PreparedBatch(List<NotificationLog> logs, Map<NotificationChannel, List<PendingSend>> pendingByChannel) {
+    }
+
+    private record Outcome(NotificationStatus status, String failureReason) {
+    }
 }
@@ -0,0 +1,38 @@
+package org.ezra.notificationservice.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.notificationservice.enums.NotificationChannel;
+import org.ezra.notificationservice.service.NotificationSender;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves the sender for each channel once at startup. When several senders support a channel the
+ * first in bean order wins.
+ */
+@Component
+@Slf4j
+public class NotificationSenderRegistry {
+
+    private final Map<NotificationChannel, NotificationSender> senders = new EnumMap<>(NotificationChannel.class);
+
+    public NotificationSenderRegistry(List<NotificationSender> notificationSenders) {
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            notificationSenders.stream()
+                    .filter(sender -> sender.supports(channel))
+                    .findFirst()
+                    .ifPresentOrElse(sender -> senders.put(channel, sender),
+                            () -> log.warn("No notification sender registered for channel {}", channel));
+        }
+        senders.forEach((channel, sender) -> log.info("Channel {} -> {} (batch: {})",
+                channel, sender.getClass().getSimpleName(), sender.supportsBatch()));
+    }
+
+    public Optional<NotificationSender> senderFor(NotificationChannel channel) {
+        return Optional.ofNullable(senders.get(channel));
+    }
+}
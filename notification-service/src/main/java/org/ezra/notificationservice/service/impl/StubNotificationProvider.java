@@ -0,0 +1,86 @@
+package org.ezra.notificationservice.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.notificationservice.dto.DeliveryResult;
+import org.ezra.notificationservice.dto.NotificationMessage;
+import org.ezra.notificationservice.enums.NotificationChannel;
+import org.ezra.notificationservice.service.NotificationSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for a bulk-capable gateway on every channel. Each call, single or batch, costs one
+ * simulated round trip of {@code app.notification.stub-provider.latency-ms}, completed without
+ * blocking a thread. When enabled it takes precedence over the logging simulators.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.notification.stub-provider.enabled", havingValue = "true")
+@Slf4j
+public class StubNotificationProvider implements NotificationSender {
+
+    private final long latencyMs;
+    private final Executor roundTrip;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    public StubNotificationProvider(@Value("${app.notification.stub-provider.latency-ms:5}") long latencyMs) {
+        this.latencyMs = latencyMs;
+        this.roundTrip = CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean supports(NotificationChannel channel) {
+        return true;
+    }
+
+    @Override
+    public void send(String recipientAddress, String subject, String body, Map<String, String> contextData) throws Exception {
+        Thread.sleep(latencyMs);
+        calls.incrementAndGet();
+        delivered.incrementAndGet();
+    }
+
+    @Override
+    public CompletionStage<Void> sendAsync(NotificationMessage message) {
+        return CompletableFuture.runAsync(() -> {
+            calls.incrementAndGet();
+            delivered.incrementAndGet();
+        }, roundTrip);
+    }
+
+    @Override
+    public boolean supportsBatch() {
+        return true;
+    }
+
+    @Override
+    public CompletionStage<List<DeliveryResult>> sendBatch(List<NotificationMessage> messages) {
+        return CompletableFuture.supplyAsync(() -> {
+            calls.incrementAndGet();
+            delivered.addAndGet(messages.size());
+            log.debug("Stub provider accepted batch of {} messages", messages.size());
+            return Collections.nCopies(messages.size(), DeliveryResult.success());
+        }, roundTrip);
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+}
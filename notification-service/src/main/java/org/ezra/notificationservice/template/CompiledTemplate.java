@@ -0,0 +1,111 @@
+package org.ezra.notificationservice.template;
+
+import org.ezra.notificationservice.entity.NotificationTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A notification template with its subject and body pre-split into literal and {@code {placeholder}}
+ * segments, so rendering is a single append pass with no pattern matching. Placeholders missing from
+ * the parameters are rendered as written.
+ */
+public final class CompiledTemplate {
+
+    private final NotificationTemplate template;
+    private final Segments subject;
+    private final Segments body;
+
+    private CompiledTemplate(NotificationTemplate template) {
+        this.template = template;
+        this.subject = Segments.compile(template.getSubjectTemplate());
+        this.body = Segments.compile(template.getBodyTemplate());
+    }
+
+    public static CompiledTemplate compile(NotificationTemplate template) {
+        return new CompiledTemplate(template);
+    }
+
+    public NotificationTemplate getTemplate() {
+        return template;
+    }
+
+    public String renderSubject(Map<String, String> parameters) {
+        return subject.render(parameters);
+    }
+
+    public String renderBody(Map<String, String> parameters) {
+        return body.render(parameters);
+    }
+
+    private record Segment(String text, String key) {
+    }
+
+    private record Segments(Segment[] segments, int literalLength) {
+
+        private static final Segments EMPTY = new Segments(new Segment[0], 0);
+
+        /** Same tokenization as the former {@code \{(.+?)}} pattern: a non-empty key on a single line. */
+        static Segments compile(String source) {
+            if (source == null || source.isEmpty()) {
+                return EMPTY;
+            }
+            List<Segment> segments = new ArrayList<>();
+            int literalLength = 0;
+            int literalStart = 0;
+            int i = 0;
+            while (i < source.length()) {
+                int close = source.charAt(i) == '{' ? findClose(source, i) : -1;
+                if (close < 0) {
+                    i++;
+                    continue;
+                }
+                if (i > literalStart) {
+                    segments.add(new Segment(source.substring(literalStart, i), null));
+                    literalLength += i - literalStart;
+                }
+                segments.add(new Segment(source.substring(i, close + 1), source.substring(i + 1, close)));
+                i = close + 1;
+                literalStart = i;
+            }
+            if (literalStart < source.length()) {
+                segments.add(new Segment(source.substring(literalStart), null));
+                literalLength += source.length() - literalStart;
+            }
+            return new Segments(segments.toArray(new Segment[0]), literalLength);
+        }
+
+        private static int findClose(String source, int open) {
+            for (int j = open + 1; j < source.length(); j++) {
+                char c = source.charAt(j);
+                if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                    return -1;
+                }
+                if (c == '}' && j > open + 1) {
+                    return j;
+                }
+            }
+            return -1;
+        }
+
+        String render(Map<String, String> parameters) {
+            if (segments.length == 0) {
+                return "";
+            }
+            if (segments.length == 1 && segments[0].key() == null) {
+                return segments[0].text();
+            }
+            StringBuilder sb = new StringBuilder(literalLength + 16 * segments.length);
+            for (Segment segment : segments) {
+                if (segment.key() == null) {
+                    sb.append(segment.text());
+                    continue;
+                }
+                String value = parameters != null ? parameters.get(segment.key()) : null;
+                sb.append(value != null ? value : segment.text());
+            }
+            return sb.toString();
+        }
+    }
+}
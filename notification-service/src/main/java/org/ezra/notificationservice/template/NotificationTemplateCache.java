@@ -0,0 +1,137 @@
+package org.ezra.notificationservice.template;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ezra.notificationservice.entity.NotificationTemplate;
+import org.ezra.notificationservice.repository.NotificationTemplateRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory snapshot of all notification templates, compiled once and keyed by template code and
+ * language code, which the schema keeps unique. A code's default template is its
+ * {@value #DEFAULT_LANGUAGE_CODE} row, or its lowest-id row when it has none. Lookups never touch
+ * the database. A scheduled check compares the template count and latest {@code updatedAt}; when
+ * either changes the snapshot is rebuilt, recompiling only the templates whose {@code updatedAt}
+ * moved.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationTemplateCache {
+
+    static final String DEFAULT_LANGUAGE_CODE = "en-US";
+
+    private final NotificationTemplateRepository templateRepository;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Returns the template for the code in the requested language, or the code's default template
+     * when the language is not given or has no dedicated template.
+     */
+    public Optional<CompiledTemplate> find(String templateCode, String languageCode) {
+        if (templateCode == null) {
+            return Optional.empty();
+        }
+        Snapshot current = current();
+        CompiledTemplate compiled = languageCode != null
+                ? current.byKey().get(new TemplateKey(templateCode, languageCode))
+                : null;
+        return Optional.ofNullable(compiled != null ? compiled : current.byCode().get(templateCode));
+    }
+
+    @Scheduled(fixedDelayString = "${app.templates.refresh-interval-ms:30000}",
+            initialDelayString = "${app.templates.refresh-interval-ms:30000}")
+    public void refreshIfChanged() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        long count = templateRepository.count();
+        LocalDateTime latestUpdatedAt = templateRepository.findLatestUpdatedAt().orElse(null);
+        if (count != current.count() || !Objects.equals(latestUpdatedAt, current.latestUpdatedAt())) {
+            reload(current);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reloadLock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = reload(null);
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Guarded by a lock rather than a monitor so a virtual thread waiting on the query does not pin
+     * its carrier.
+     */
+    private Snapshot reload(Snapshot previous) {
+        reloadLock.lock();
+        try {
+            return load(previous);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot load(Snapshot previous) {
+        List<NotificationTemplate> templates = templateRepository.findAll(Sort.by("id"));
+        Map<Long, CompiledTemplate> previousById = new HashMap<>();
+        if (previous != null) {
+            previous.byKey().values().forEach(compiled -> previousById.put(compiled.getTemplate().getId(), compiled));
+        }
+        Map<TemplateKey, CompiledTemplate> byKey = new HashMap<>();
+        Map<String, CompiledTemplate> byCode = new HashMap<>();
+        LocalDateTime latestUpdatedAt = null;
+        int recompiled = 0;
+        for (NotificationTemplate template : templates) {
+            CompiledTemplate compiled = previousById.get(template.getId());
+            if (compiled == null || !Objects.equals(compiled.getTemplate().getUpdatedAt(), template.getUpdatedAt())) {
+                compiled = CompiledTemplate.compile(template);
+                recompiled++;
+            }
+            byKey.put(new TemplateKey(template.getTemplateCode(), template.getLanguageCode()), compiled);
+            if (DEFAULT_LANGUAGE_CODE.equals(template.getLanguageCode())) {
+                byCode.put(template.getTemplateCode(), compiled);
+            } else {
+                byCode.putIfAbsent(template.getTemplateCode(), compiled);
+            }
+            if (template.getUpdatedAt() != null
+                    && (latestUpdatedAt == null || template.getUpdatedAt().isAfter(latestUpdatedAt))) {
+                latestUpdatedAt = template.getUpdatedAt();
+            }
+        }
+        Snapshot loaded = new Snapshot(Map.copyOf(byKey), Map.copyOf(byCode), templates.size(), latestUpdatedAt);
+        snapshot = loaded;
+        log.info("Loaded {} notification templates ({} compiled).", templates.size(), recompiled);
+        return loaded;
+    }
+
+    private record TemplateKey(String templateCode, String languageCode) {
+    }
+
+    private record Snapshot(Map<TemplateKey, CompiledTemplate> byKey, Map<String, CompiledTemplate> byCode,
+                            long count, LocalDateTime latestUpdatedAt) {
+    }
+}
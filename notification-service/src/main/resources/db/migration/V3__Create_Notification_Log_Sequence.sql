@@ -0,0 +1,3 @@
+-- Sequence ids let Hibernate batch NOTIFICATION_LOGS and NOTIFICATION_LOG_PARAMETERS inserts;
+-- INCREMENT BY must match allocationSize on NotificationLog.
+CREATE SEQUENCE NOTIFICATION_LOG_SEQ START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,14 @@
+-- Templates are unique per code and language, and a code falls back to its en-US row.
+UPDATE NOTIFICATION_TEMPLATES SET language_code = 'en-US' WHERE language_code IS NULL;
+ALTER TABLE NOTIFICATION_TEMPLATES ALTER COLUMN language_code SET NOT NULL;
+
+-- Recreate template_code so its column-level UNIQUE constraint, which has a generated name, goes with it.
+DROP INDEX idx_nt_template_code;
+ALTER TABLE NOTIFICATION_TEMPLATES ADD COLUMN template_code_new VARCHAR(100);
+UPDATE NOTIFICATION_TEMPLATES SET template_code_new = template_code;
+ALTER TABLE NOTIFICATION_TEMPLATES DROP COLUMN template_code;
+ALTER TABLE NOTIFICATION_TEMPLATES ALTER COLUMN template_code_new RENAME TO template_code;
+ALTER TABLE NOTIFICATION_TEMPLATES ALTER COLUMN template_code SET NOT NULL;
+
+ALTER TABLE NOTIFICATION_TEMPLATES
+    ADD CONSTRAINT uk_nt_template_code_language UNIQUE (template_code, language_code);
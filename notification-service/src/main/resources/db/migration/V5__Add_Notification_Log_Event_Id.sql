@@ -0,0 +1,4 @@
+-- Logs are written PENDING before their event is sent; the event id lets a redelivered event be
+-- recognised and skipped instead of being sent again.
+ALTER TABLE NOTIFICATION_LOGS ADD COLUMN event_id VARCHAR(100);
+CREATE UNIQUE INDEX uk_nl_event_id ON NOTIFICATION_LOGS (event_id);
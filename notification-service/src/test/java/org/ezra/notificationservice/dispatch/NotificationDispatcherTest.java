@@ -0,0 +1,82 @@
+package org.ezra.notificationservice.dispatch;
+
+import org.ezra.notificationservice.enums.NotificationChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    private final CountDownLatch smsGateway = new CountDownLatch(1);
+
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationDispatcher(new MockEnvironment()
+                .withProperty("app.notification.dispatch.sms.concurrency", "1")
+                .withProperty("app.notification.dispatch.sms.queue-capacity", "1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        smsGateway.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void submit_slowChannelDoesNotDelayOtherChannels() throws Exception {
+        CompletableFuture<String> sms = dispatcher.submit(NotificationChannel.SMS, this::awaitSmsGateway);
+
+        String email = dispatcher.submit(NotificationChannel.EMAIL, () -> "email").get(1, TimeUnit.SECONDS);
+        String push = dispatcher.submit(NotificationChannel.PUSH, () -> "push").get(1, TimeUnit.SECONDS);
+
+        assertEquals("email", email);
+        assertEquals("push", push);
+        assertFalse(sms.isDone());
+    }
+
+    @Test
+    void submit_fullChannelBlocksCallerUntilASlotFrees() throws Exception {
+        CompletableFuture<String> running = dispatcher.submit(NotificationChannel.SMS, this::awaitSmsGateway);
+        CompletableFuture<String> queued = dispatcher.submit(NotificationChannel.SMS, () -> "queued");
+
+        CompletableFuture<CompletableFuture<String>> blockedSubmit = CompletableFuture.supplyAsync(
+                () -> dispatcher.submit(NotificationChannel.SMS, () -> "third"));
+        Thread.sleep(200);
+        assertFalse(blockedSubmit.isDone(), "submit should block while the SMS lane is full");
+
+        smsGateway.countDown();
+
+        assertEquals("sms", running.get(1, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(1, TimeUnit.SECONDS));
+        assertEquals("third", blockedSubmit.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_failingSendCompletesExceptionallyAndReleasesSlot() throws Exception {
+        CompletableFuture<String> failed = dispatcher.submit(NotificationChannel.SMS, () -> {
+            throw new IllegalStateException("gateway down");
+        });
+
+        assertTrue(assertThrows(Exception.class, () -> failed.get(1, TimeUnit.SECONDS)).getCause() instanceof IllegalStateException);
+        assertEquals("ok", dispatcher.submit(NotificationChannel.SMS, () -> "ok").get(1, TimeUnit.SECONDS));
+        assertEquals("ok", dispatcher.submit(NotificationChannel.SMS, () -> "ok").get(1, TimeUnit.SECONDS));
+    }
+
+    private String awaitSmsGateway() {
+        try {
+            smsGateway.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "sms";
+    }
+}
@@ -0,0 +1,57 @@
+package org.ezra.notificationservice.event;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.ezra.notificationservice.service.NotificationProcessingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationEventConsumerTest {
+
+    @Mock
+    private NotificationProcessingService notificationProcessingService;
+
+    @InjectMocks
+    private NotificationEventConsumer consumer;
+
+    @Test
+    void consumeNotificationEvents_processesReadableRecordsAsOneBatch() {
+        NotificationEventDto first = event("evt-1");
+        NotificationEventDto second = event("evt-2");
+
+        consumer.consumeNotificationEvents(List.of(
+                new ConsumerRecord<>("notification-events", 0, 10L, "1", first),
+                new ConsumerRecord<>("notification-events", 0, 11L, "1", (NotificationEventDto) null),
+                new ConsumerRecord<>("notification-events", 0, 12L, "2", second)));
+
+        verify(notificationProcessingService).processNotificationEvents(List.of(first, second));
+    }
+
+    @Test
+    void consumeNotificationEvents_persistenceFailurePropagatesSoOffsetsAreNotCommitted() {
+        doThrow(new IllegalStateException("database unavailable"))
+                .when(notificationProcessingService).processNotificationEvents(any());
+
+        assertThrows(IllegalStateException.class, () -> consumer.consumeNotificationEvents(List.of(
+                new ConsumerRecord<>("notification-events", 0, 10L, "1", event("evt-1")))));
+    }
+
+    private NotificationEventDto event(String eventId) {
+        return NotificationEventDto.builder()
+                .eventId(eventId)
+                .eventType("LOAN_DISBURSED")
+                .customerId(1L)
+                .payload(Map.of("loanId", "1"))
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package org.ezra.notificationservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrates the template schema to per-language uniqueness and checks that a code can then have one
+ * template per language, but not two in the same language.
+ */
+class NotificationTemplateMigrationTest {
+
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        flyway("3").migrate();
+    }
+
+    @Test
+    void v4_movesUniquenessToTemplateCodeAndLanguage() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            insertTemplate(connection, "LOAN_OVERDUE_REMINDER", null);
+        }
+
+        flyway("4").migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            assertEquals("en-US", languageCode(connection, "LOAN_OVERDUE_REMINDER"));
+            assertDoesNotThrow(() -> insertTemplate(connection, "LOAN_DISBURSED", "sw-KE"));
+            assertThrows(SQLException.class, () -> insertTemplate(connection, "LOAN_DISBURSED", "en-US"));
+            assertThrows(SQLException.class, () -> insertTemplate(connection, "LOAN_DISBURSED", null));
+        }
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration")
+                .target(target)
+                .load();
+    }
+
+    private void insertTemplate(Connection connection, String templateCode, String languageCode) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO NOTIFICATION_TEMPLATES (template_code, subject_template, body_template, default_channel,
+                                                    language_code, created_at, updated_at)
+                VALUES (?, 'Subject', 'Body', 'SMS', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)""")) {
+            statement.setString(1, templateCode);
+            statement.setString(2, languageCode);
+            statement.executeUpdate();
+        }
+    }
+
+    private String languageCode(Connection connection, String templateCode) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT language_code FROM NOTIFICATION_TEMPLATES WHERE template_code = '" + templateCode + "'")) {
+            assertTrue(rows.next());
+            return rows.getString(1);
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package org.ezra.notificationservice.service.impl;
 
+import org.ezra.notificationservice.dispatch.NotificationDispatcher;
+import org.ezra.notificationservice.dto.NotificationMessage;
 import org.ezra.notificationservice.entity.NotificationLog;
 import org.ezra.notificationservice.entity.NotificationTemplate;
 import org.ezra.notificationservice.enums.NotificationChannel;
 import org.ezra.notificationservice.enums.NotificationStatus;
 import org.ezra.notificationservice.event.NotificationEventDto;
 import org.ezra.notificationservice.repository.NotificationLogRepository;
-import org.ezra.notificationservice.repository.NotificationTemplateRepository;
+import org.ezra.notificationservice.template.CompiledTemplate;
+import org.ezra.notificationservice.template.NotificationTemplateCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,36 +17,59 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationProcessingServiceImplTest {
 
     @Mock
-    private NotificationTemplateRepository templateRepository;
+    private NotificationTemplateCache templateCache;
 
     @Mock
     private NotificationLogRepository logRepository;
 
+    @Spy
+    private NotificationSenderRegistry senderRegistry = new NotificationSenderRegistry(List.of(
+            new EmailNotificationSender(), new SmsNotificationSender(), new PushNotificationSender()));
+
+    @Spy
+    private NotificationDispatcher notificationDispatcher = new NotificationDispatcher(new MockEnvironment());
+
     @InjectMocks
     private NotificationProcessingServiceImpl notificationProcessingService;
 
     @Captor
     private ArgumentCaptor<NotificationLog> notificationLogCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<NotificationLog>> notificationLogsCaptor;
+
     private NotificationEventDto eventDto;
     private NotificationTemplate emailTemplate;
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(notificationProcessingService, "sendTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(notificationProcessingService, "sendBatchSize", 2);
         eventDto = NotificationEventDto.builder()
                 .eventId("evt-123")
                 .eventType("TEST_EVENT_EMAIL")
@@ -66,12 +92,12 @@ class NotificationProcessingServiceImplTest {
 
     @Test
     void processNotificationEvent_whenTemplateExists_rendersAndLogsSuccessfully() {
-        when(templateRepository.findByTemplateCode("TEST_EVENT_EMAIL")).thenReturn(Optional.of(emailTemplate));
+        when(templateCache.find("TEST_EVENT_EMAIL", null)).thenReturn(Optional.of(CompiledTemplate.compile(emailTemplate)));
         when(logRepository.save(any(NotificationLog.class))).thenAnswer(inv -> inv.getArgument(0));
 
         notificationProcessingService.processNotificationEvent(eventDto);
 
-        verify(templateRepository, times(1)).findByTemplateCode("TEST_EVENT_EMAIL");
+        verify(templateCache, times(1)).find("TEST_EVENT_EMAIL", null);
         verify(logRepository, times(1)).save(notificationLogCaptor.capture());
 
         NotificationLog savedLog = notificationLogCaptor.getValue();
@@ -91,7 +117,7 @@ class NotificationProcessingServiceImplTest {
 
     @Test
     void processNotificationEvent_whenTemplateNotFound_logsFailure() {
-        when(templateRepository.findByTemplateCode("UNKNOWN_EVENT")).thenReturn(Optional.empty());
+        when(templateCache.find("UNKNOWN_EVENT", null)).thenReturn(Optional.empty());
         when(logRepository.save(any(NotificationLog.class))).thenAnswer(inv -> inv.getArgument(0));
 
         NotificationEventDto unknownEventDto = NotificationEventDto.builder()
@@ -104,7 +130,7 @@ class NotificationProcessingServiceImplTest {
 
         notificationProcessingService.processNotificationEvent(unknownEventDto);
 
-        verify(templateRepository, times(1)).findByTemplateCode("UNKNOWN_EVENT");
+        verify(templateCache, times(1)).find("UNKNOWN_EVENT", null);
         verify(logRepository, times(1)).save(notificationLogCaptor.capture());
 
         NotificationLog savedLog = notificationLogCaptor.getValue();
@@ -128,7 +154,7 @@ class NotificationProcessingServiceImplTest {
                 .bodyTemplate("Detail: {detail}, Extra: {extraInfo}")
                 .defaultChannel(NotificationChannel.PUSH)
                 .build();
-        when(templateRepository.findByTemplateCode("EVENT_MISSING_PLACEHOLDER")).thenReturn(Optional.of(templateWithMissingPlaceholder));
+        when(templateCache.find("EVENT_MISSING_PLACEHOLDER", null)).thenReturn(Optional.of(CompiledTemplate.compile(templateWithMissingPlaceholder)));
         when(logRepository.save(any(NotificationLog.class))).thenAnswer(inv -> inv.getArgument(0));
 
         NotificationEventDto eventWithPartialPayload = NotificationEventDto.builder()
@@ -155,7 +181,7 @@ class NotificationProcessingServiceImplTest {
                 .bodyTemplate("SMS for {name}: item {item} ready.")
                 .defaultChannel(NotificationChannel.SMS)
                 .build();
-        when(templateRepository.findByTemplateCode("TEST_EVENT_SMS")).thenReturn(Optional.of(smsTemplate));
+        when(templateCache.find("TEST_EVENT_SMS", null)).thenReturn(Optional.of(CompiledTemplate.compile(smsTemplate)));
         when(logRepository.save(any(NotificationLog.class))).thenAnswer(inv -> inv.getArgument(0));
 
         NotificationEventDto smsEventDto = NotificationEventDto.builder()
@@ -172,4 +198,165 @@ class NotificationProcessingServiceImplTest {
         assertEquals("1234567890", savedLog.getRecipientAddress());
         assertEquals(NotificationStatus.SIMULATED, savedLog.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void processNotificationEvents_rendersFromCacheAndSavesAllLogsInOneCall() {
+        when(templateCache.find("TEST_EVENT_EMAIL", null)).thenReturn(Optional.of(CompiledTemplate.compile(emailTemplate)));
+        when(templateCache.find("UNKNOWN_EVENT", null)).thenReturn(Optional.empty());
+        NotificationEventDto secondEvent = NotificationEventDto.builder()
+                .eventId("evt-124")
+                .eventType("TEST_EVENT_EMAIL")
+                .customerId(2L)
+                .payload(Map.of("name", "Second User", "item", "Other Item"))
+                .build();
+        NotificationEventDto unknownEvent = NotificationEventDto.builder()
+                .eventId("evt-125")
+                .eventType("UNKNOWN_EVENT")
+                .customerId(3L)
+                .payload(Map.of())
+                .build();
+
+        notificationProcessingService.processNotificationEvents(List.of(eventDto, secondEvent, unknownEvent));
+
+        verify(templateCache, times(2)).find("TEST_EVENT_EMAIL", null);
+        verify(logRepository, never()).save(any(NotificationLog.class));
+        verify(logRepository, times(1)).saveAll(notificationLogsCaptor.capture());
+        List<NotificationLog> savedLogs = notificationLogsCaptor.getValue();
+        assertEquals(3, savedLogs.size());
+        assertEquals("Hello Test User!", savedLogs.get(0).getSubject());
+        assertEquals("Hello Second User!", savedLogs.get(1).getSubject());
+        assertEquals(NotificationStatus.SIMULATED, savedLogs.get(1).getStatus());
+        assertEquals(NotificationStatus.FAILED, savedLogs.get(2).getStatus());
+    }
+
+    @Test
+    void processNotificationEvents_batchCapableSenderReceivesChunksInsteadOfSingleSends() {
+        StubNotificationProvider stubProvider = new StubNotificationProvider(0);
+        ReflectionTestUtils.setField(notificationProcessingService, "senderRegistry",
+                new NotificationSenderRegistry(List.of(stubProvider, new EmailNotificationSender())));
+        when(templateCache.find("TEST_EVENT_EMAIL", null)).thenReturn(Optional.of(CompiledTemplate.compile(emailTemplate)));
+        List<NotificationEventDto> events = IntStream.range(0, 5)
+                .mapToObj(i -> NotificationEventDto.builder()
+                        .eventId("evt-" + i)
+                        .eventType("TEST_EVENT_EMAIL")
+                        .customerId(1L)
+                        .payload(eventDto.getPayload())
+                        .build())
+                .toList();
+
+        notificationProcessingService.processNotificationEvents(events);
+
+        verify(logRepository).saveAll(notificationLogsCaptor.capture());
+        assertEquals(5, notificationLogsCaptor.getValue().size());
+        assertTrue(notificationLogsCaptor.getValue().stream().allMatch(l -> l.getStatus() == NotificationStatus.SIMULATED));
+        assertEquals(5, stubProvider.getDelivered());
+        assertEquals(3, stubProvider.getCalls());
+    }
+
+    @Test
+    void processNotificationEvent_senderFailure_logsFailureReason() {
+        ReflectionTestUtils.setField(notificationProcessingService, "senderRegistry",
+                new NotificationSenderRegistry(List.of(new EmailNotificationSender() {
+                    @Override
+                    public void send(String recipientAddress, String subject, String body, Map<String, String> contextData) throws Exception {
+                        throw new IllegalStateException("gateway down");
+                    }
+                })));
+        when(templateCache.find("TEST_EVENT_EMAIL", null)).thenReturn(Optional.of(CompiledTemplate.compile(emailTemplate)));
+        when(logRepository.save(any(NotificationLog.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        notificationProcessingService.processNotificationEvent(eventDto);
+
+        verify(logRepository).save(notificationLogCaptor.capture());
+        NotificationLog savedLog = notificationLogCaptor.getValue();
+        assertEquals(NotificationStatus.FAILED, savedLog.getStatus());
+        assertTrue(savedLog.getFailureReason().endsWith(": gateway down"));
+        assertNull(savedLog.getSentAt());
+    }
+
+    @Test
+    void processNotificationEvent_sendWithoutOutcomeBeforeTimeout_logsUnknownNotFailed() {
+        ReflectionTestUtils.setField(notificationProcessingService, "sendTimeoutMs", 50L);
+        CompletableFuture<Void> providerCall = new CompletableFuture<>();
+        ReflectionTestUtils.setField(notificationProcessingService, "senderRegistry",
+                new NotificationSenderRegistry(List.of(new EmailNotificationSender() {
+                    @Override
+                    public CompletionStage<Void> sendAsync(NotificationMessage message) {
+                        return providerCall;
+                    }
+                })));
+        when(templateCache.find("TEST_EVENT_EMAIL", null)).thenReturn(Optional.of(CompiledTemplate.compile(emailTemplate)));
+        when(logRepository.save(any(NotificationLog.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        notificationProcessingService.processNotificationEvent(eventDto);
+
+        verify(logRepository).save(notificationLogCaptor.capture());
+        NotificationLog savedLog = notificationLogCaptor.getValue();
+        assertEquals(NotificationStatus.UNKNOWN, savedLog.getStatus());
+        assertTrue(savedLog.getFailureReason().contains("may still complete"));
+        assertNull(savedLog.getSentAt());
+        assertFalse(providerCall.isDone());
+        providerCall.complete(null);
+    }
+
+    @Test
+    void processNotificationEvents_logsArePendingWhenSavedAndOutcomesWrittenAfterSending() {
+        StubNotificationProvider stubProvider = new StubNotificationProvider(0);
+        ReflectionTestUtils.setField(notificationProcessingService, "senderRegistry",
+                new NotificationSenderRegistry(List.of(stubProvider, new EmailNotificationSender())));
+        when(templateCache.find("TEST_EVENT_EMAIL", null)).thenReturn(Optional.of(CompiledTemplate.compile(emailTemplate)));
+        List<NotificationStatus> statusesWhenSaved = new ArrayList<>();
+        when(logRepository.saveAll(anyList())).thenAnswer(inv -> {
+            assertEquals(0, stubProvider.getCalls());
+            inv.<List<NotificationLog>>getArgument(0).forEach(l -> statusesWhenSaved.add(l.getStatus()));
+            return inv.getArgument(0);
+        });
+
+        notificationProcessingService.processNotificationEvents(List.of(eventDto));
+
+        assertEquals(List.of(NotificationStatus.PENDING), statusesWhenSaved);
+        assertEquals(1, stubProvider.getDelivered());
+        verify(logRepository).updateOutcome(anyList(), eq(NotificationStatus.SIMULATED), any(LocalDateTime.class), isNull());
+    }
+
+    @Test
+    void processNotificationEvents_redeliveredEventsWithLogsAreNotSentAgain() {
+        StubNotificationProvider stubProvider = new StubNotificationProvider(0);
+        ReflectionTestUtils.setField(notificationProcessingService, "senderRegistry",
+                new NotificationSenderRegistry(List.of(stubProvider, new EmailNotificationSender())));
+        when(templateCache.find("TEST_EVENT_EMAIL", null)).thenReturn(Optional.of(CompiledTemplate.compile(emailTemplate)));
+        NotificationEventDto newEvent = NotificationEventDto.builder()
+                .eventId("evt-124")
+                .eventType("TEST_EVENT_EMAIL")
+                .customerId(2L)
+                .payload(Map.of("name", "Second User", "item", "Other Item"))
+                .build();
+        when(logRepository.findEventIdsIn(Set.of("evt-123", "evt-124"))).thenReturn(List.of("evt-123"));
+
+        notificationProcessingService.processNotificationEvents(List.of(eventDto, newEvent, newEvent));
+
+        verify(logRepository).saveAll(notificationLogsCaptor.capture());
+        assertEquals(List.of("evt-124"), notificationLogsCaptor.getValue().stream().map(NotificationLog::getEventId).toList());
+        assertEquals(1, stubProvider.getDelivered());
+    }
+
+    @Test
+    void processNotificationEvents_everyEventAlreadyLogged_sendsAndSavesNothing() {
+        when(logRepository.findEventIdsIn(Set.of("evt-123"))).thenReturn(List.of("evt-123"));
+
+        notificationProcessingService.processNotificationEvents(List.of(eventDto));
+
+        verify(logRepository, never()).saveAll(anyList());
+        verifyNoInteractions(templateCache, notificationDispatcher);
+    }
+
+    @Test
+    void processNotificationEvent_alreadyLogged_isSkipped() {
+        when(logRepository.existsByEventId("evt-123")).thenReturn(true);
+
+        notificationProcessingService.processNotificationEvent(eventDto);
+
+        verify(logRepository, never()).save(any(NotificationLog.class));
+        verifyNoInteractions(templateCache);
+    }
+}
@@ -0,0 +1,100 @@
+package org.ezra.notificationservice.service.impl;
+
+import org.ezra.notificationservice.dto.DeliveryResult;
+import org.ezra.notificationservice.dto.NotificationMessage;
+import org.ezra.notificationservice.enums.NotificationChannel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares blocking one-message sends with batched submissions against the local stub provider,
+ * where every provider call costs one simulated round trip. The unit checks count provider calls;
+ * the wall-clock comparison is tagged {@code benchmark} and only runs with {@code -Pperformance}.
+ */
+class NotificationSenderThroughputTest {
+
+    private static final int MESSAGES = 400;
+    private static final int BATCH_SIZE = 100;
+    private static final long LATENCY_MS = 2;
+
+    private final List<NotificationMessage> messages = IntStream.range(0, MESSAGES).mapToObj(this::message).toList();
+
+    @Test
+    void send_costsOneProviderCallPerMessage() throws Exception {
+        StubNotificationProvider blocking = new StubNotificationProvider(0);
+
+        sendBlocking(blocking);
+
+        assertEquals(MESSAGES, blocking.getCalls());
+        assertEquals(MESSAGES, blocking.getDelivered());
+    }
+
+    @Test
+    void sendBatch_costsOneProviderCallPerBatchAndAnswersEveryMessage() {
+        StubNotificationProvider batching = new StubNotificationProvider(0);
+
+        List<List<DeliveryResult>> results = sendBatched(batching);
+
+        assertEquals(MESSAGES / BATCH_SIZE, batching.getCalls());
+        assertEquals(MESSAGES, batching.getDelivered());
+        assertEquals(MESSAGES / BATCH_SIZE, results.size());
+        for (List<DeliveryResult> batch : results) {
+            assertEquals(BATCH_SIZE, batch.size());
+            assertTrue(batch.stream().allMatch(DeliveryResult::isDelivered));
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void sendBatch_messagesPerSecondAgainstBlockingSends(TestReporter reporter) throws Exception {
+        StubNotificationProvider blocking = new StubNotificationProvider(LATENCY_MS);
+        long start = System.nanoTime();
+        sendBlocking(blocking);
+        long blockingNanos = System.nanoTime() - start;
+
+        StubNotificationProvider batching = new StubNotificationProvider(LATENCY_MS);
+        start = System.nanoTime();
+        sendBatched(batching);
+        long batchNanos = System.nanoTime() - start;
+
+        reporter.publishEntry(Map.of(
+                "blockingMessagesPerSecond", String.format("%.0f", MESSAGES / (blockingNanos / 1e9)),
+                "blockingCalls", String.valueOf(blocking.getCalls()),
+                "batchedMessagesPerSecond", String.format("%.0f", MESSAGES / (batchNanos / 1e9)),
+                "batchedCalls", String.valueOf(batching.getCalls())));
+    }
+
+    private void sendBlocking(StubNotificationProvider provider) throws Exception {
+        for (NotificationMessage message : messages) {
+            provider.send(message.getRecipientAddress(), message.getSubject(), message.getBody(), message.getContextData());
+        }
+    }
+
+    private List<List<DeliveryResult>> sendBatched(StubNotificationProvider provider) {
+        List<CompletableFuture<List<DeliveryResult>>> batches = new ArrayList<>();
+        for (int from = 0; from < MESSAGES; from += BATCH_SIZE) {
+            batches.add(provider.sendBatch(messages.subList(from, from + BATCH_SIZE)).toCompletableFuture());
+        }
+        return batches.stream().map(CompletableFuture::join).toList();
+    }
+
+    private NotificationMessage message(int i) {
+        return NotificationMessage.builder()
+                .eventId("evt-" + i)
+                .channel(NotificationChannel.SMS)
+                .recipientAddress("+2547000000" + i)
+                .body("Your loan is due")
+                .contextData(Map.of())
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package org.ezra.notificationservice.template;
+
+import org.ezra.notificationservice.entity.NotificationTemplate;
+import org.ezra.notificationservice.enums.NotificationChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompiledTemplateTest {
+
+    @Test
+    void render_replacesKnownPlaceholdersAndKeepsUnknownOnes() {
+        CompiledTemplate compiled = compile("Loan {loanId}", "Dear {customerName}, {amount} due {dueDate}.");
+
+        Map<String, String> parameters = Map.of("loanId", "42", "customerName", "Jane", "amount", "$100");
+
+        assertEquals("Loan 42", compiled.renderSubject(parameters));
+        assertEquals("Dear Jane, $100 due {dueDate}.", compiled.renderBody(parameters));
+    }
+
+    @Test
+    void render_withoutParametersReturnsTemplateText() {
+        CompiledTemplate compiled = compile("", "Hello {name}, welcome.");
+
+        assertEquals("", compiled.renderSubject(null));
+        assertEquals("Hello {name}, welcome.", compiled.renderBody(null));
+    }
+
+    @Test
+    void render_matchesFormerPatternEdgeCases() {
+        Map<String, String> parameters = Map.of("a", "A", "}", "BRACE", "b", "B");
+
+        assertEquals("{}", compile("", "{}").renderBody(parameters));
+        assertEquals("BRACE", compile("", "{}}").renderBody(parameters));
+        assertEquals("{{a}", compile("", "{{a}").renderBody(parameters));
+        assertEquals("{\na} B", compile("", "{\na} {b}").renderBody(parameters));
+        assertEquals("x {", compile("", "x {").renderBody(parameters));
+    }
+
+    private CompiledTemplate compile(String subject, String body) {
+        return CompiledTemplate.compile(NotificationTemplate.builder()
+                .templateCode("TEST")
+                .subjectTemplate(subject)
+                .bodyTemplate(body)
+                .defaultChannel(NotificationChannel.EMAIL)
+                .build());
+    }
+}
@@ -0,0 +1,120 @@
+package org.ezra.notificationservice.template;
+
+import org.ezra.notificationservice.entity.NotificationTemplate;
+import org.ezra.notificationservice.enums.NotificationChannel;
+import org.ezra.notificationservice.repository.NotificationTemplateRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationTemplateCacheTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Mock
+    private NotificationTemplateRepository templateRepository;
+
+    @InjectMocks
+    private NotificationTemplateCache templateCache;
+
+    @Test
+    void find_loadsTemplatesOnceAndServesLookupsFromMemory() {
+        when(templateRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                template(1L, "LOAN_DISBURSED", "en-US", "Loan {loanId} disbursed", CREATED),
+                template(2L, "LOAN_OVERDUE", "en-US", "Loan {loanId} overdue", CREATED)));
+
+        templateCache.find("LOAN_DISBURSED", null);
+        Optional<CompiledTemplate> overdue = templateCache.find("LOAN_OVERDUE", null);
+        Optional<CompiledTemplate> unknown = templateCache.find("UNKNOWN", null);
+
+        assertEquals("Loan 7 overdue", overdue.orElseThrow().renderSubject(Map.of("loanId", "7")));
+        assertTrue(unknown.isEmpty());
+        verify(templateRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void find_prefersRequestedLanguageAndFallsBackToDefault() {
+        when(templateRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                template(1L, "LOAN_DISBURSED", "en-US", "Loan disbursed", CREATED),
+                template(2L, "LOAN_DISBURSED", "sw-KE", "Mkopo umetolewa", CREATED)));
+
+        assertEquals("Mkopo umetolewa", templateCache.find("LOAN_DISBURSED", "sw-KE").orElseThrow().renderSubject(Map.of()));
+        assertEquals("Loan disbursed", templateCache.find("LOAN_DISBURSED", "fr-FR").orElseThrow().renderSubject(Map.of()));
+    }
+
+    @Test
+    void find_withoutLanguageServesDefaultLanguageTemplateWhateverItsId() {
+        when(templateRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                template(1L, "LOAN_DISBURSED", "sw-KE", "Mkopo umetolewa", CREATED),
+                template(2L, "LOAN_DISBURSED", "en-US", "Loan disbursed", CREATED),
+                template(3L, "LOAN_OVERDUE", "sw-KE", "Mkopo umechelewa", CREATED)));
+
+        assertEquals("Loan disbursed", templateCache.find("LOAN_DISBURSED", null).orElseThrow().renderSubject(Map.of()));
+        assertEquals("Mkopo umechelewa", templateCache.find("LOAN_OVERDUE", "fr-FR").orElseThrow().renderSubject(Map.of()));
+    }
+
+    @Test
+    void refreshIfChanged_unchangedTemplatesAreNotReloaded() {
+        when(templateRepository.findAll(any(Sort.class))).thenReturn(List.of(template(1L, "LOAN_DISBURSED", "en-US", "v1", CREATED)));
+        templateCache.find("LOAN_DISBURSED", null);
+        when(templateRepository.count()).thenReturn(1L);
+        when(templateRepository.findLatestUpdatedAt()).thenReturn(Optional.of(CREATED));
+
+        templateCache.refreshIfChanged();
+
+        verify(templateRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void refreshIfChanged_recompilesTemplatesWhoseUpdatedAtChanged() {
+        NotificationTemplate disbursed = template(1L, "LOAN_DISBURSED", "en-US", "v1", CREATED);
+        NotificationTemplate overdue = template(2L, "LOAN_OVERDUE", "en-US", "overdue", CREATED);
+        when(templateRepository.findAll(any(Sort.class))).thenReturn(List.of(disbursed, overdue));
+        CompiledTemplate overdueBefore = templateCache.find("LOAN_OVERDUE", null).orElseThrow();
+
+        LocalDateTime updated = CREATED.plusHours(1);
+        when(templateRepository.count()).thenReturn(2L);
+        when(templateRepository.findLatestUpdatedAt()).thenReturn(Optional.of(updated));
+        when(templateRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                template(1L, "LOAN_DISBURSED", "en-US", "v2", updated),
+                template(2L, "LOAN_OVERDUE", "en-US", "overdue", CREATED)));
+
+        templateCache.refreshIfChanged();
+
+        assertEquals("v2", templateCache.find("LOAN_DISBURSED", null).orElseThrow().renderSubject(Map.of()));
+        assertSame(overdueBefore, templateCache.find("LOAN_OVERDUE", null).orElseThrow());
+    }
+
+    @Test
+    void refreshIfChanged_beforeFirstLookupDoesNothing() {
+        templateCache.refreshIfChanged();
+
+        verifyNoInteractions(templateRepository);
+    }
+
+    private NotificationTemplate template(Long id, String code, String languageCode, String subject, LocalDateTime updatedAt) {
+        return NotificationTemplate.builder()
+                .id(id)
+                .templateCode(code)
+                .languageCode(languageCode)
+                .subjectTemplate(subject)
+                .bodyTemplate("Body for {loanId}")
+                .defaultChannel(NotificationChannel.EMAIL)
+                .createdAt(CREATED)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}